@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.benchmark;
+
+/**
+ * Base class for a single benchmark. The runner calls <code>setUp</code>
+ * once, then calls <code>run</code> repeatedly while it measures, and finally
+ * calls <code>tearDown</code>. Each call to <code>run</code> is one operation.
+ * 
+ * @author Jeff Tassin
+ */
+public abstract class Benchmark {
+
+	/**
+	 * The name of the benchmark. For example: layout.layoutContainer
+	 */
+	private String m_name;
+
+	/**
+	 * The parameters of this instance. For example: size=10x10
+	 */
+	private String m_params;
+
+	/**
+	 * ctor
+	 */
+	protected Benchmark(String name, String params) {
+		m_name = name;
+		m_params = (params == null ? "" : params);
+	}
+
+	/**
+	 * @return the name of this benchmark
+	 */
+	public String getName() {
+		return m_name;
+	}
+
+	/**
+	 * @return the parameters of this benchmark instance
+	 */
+	public String getParams() {
+		return m_params;
+	}
+
+	/**
+	 * Prepares the data used by the operation. This is not measured.
+	 */
+	public void setUp() throws Exception {
+	}
+
+	/**
+	 * Runs a single operation.
+	 * 
+	 * @return any result of the operation. The runner consumes it so that the
+	 *         work cannot be optimized away.
+	 */
+	public abstract Object run() throws Exception;
+
+	/**
+	 * Releases the data created in setUp.
+	 */
+	public void tearDown() throws Exception {
+	}
+
+	public String toString() {
+		return m_params.length() == 0 ? m_name : m_name + " [" + m_params + "]";
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedList;
+
+/**
+ * The measurements of a single benchmark. The score is the mean time per
+ * operation in microseconds over all measured iterations.
+ * 
+ * Results are written as JSON with one result object per line so that the
+ * files of two releases can be compared with a plain text diff or with the
+ * -compare option of the runner.
+ * 
+ * @author Jeff Tassin
+ */
+public class BenchmarkResult {
+
+	/**
+	 * The unit of the score
+	 */
+	public static final String UNIT = "us/op";
+
+	private String m_name;
+	private String m_params;
+
+	/**
+	 * The time per operation in microseconds for each measured iteration
+	 */
+	private double[] m_samples;
+
+	/**
+	 * The number of operations over all measured iterations
+	 */
+	private long m_ops;
+
+	/**
+	 * The number of bytes allocated per operation. -1 if the VM does not
+	 * support allocation measurement.
+	 */
+	private long m_alloc_bytes;
+
+	/**
+	 * The mean score. Set directly for results read from a file.
+	 */
+	private double m_score;
+
+	/**
+	 * ctor
+	 */
+	public BenchmarkResult(String name, String params, double[] samples, long ops, long allocBytes) {
+		m_name = name;
+		m_params = params;
+		m_samples = samples;
+		m_ops = ops;
+		m_alloc_bytes = allocBytes;
+		m_score = mean(samples);
+	}
+
+	/**
+	 * ctor for a result read from a file
+	 */
+	private BenchmarkResult(String name, String params, double score, long allocBytes) {
+		this(name, params, new double[0], 0, allocBytes);
+		m_score = score;
+	}
+
+	public String getName() {
+		return m_name;
+	}
+
+	public String getParams() {
+		return m_params;
+	}
+
+	/**
+	 * @return a key that identifies the benchmark and its parameters
+	 */
+	public String getKey() {
+		return m_params.length() == 0 ? m_name : m_name + " [" + m_params + "]";
+	}
+
+	/**
+	 * @return the mean time per operation in microseconds
+	 */
+	public double getScore() {
+		return m_score;
+	}
+
+	/**
+	 * @return the standard deviation of the samples in microseconds
+	 */
+	public double getError() {
+		if (m_samples.length < 2)
+			return 0.0;
+
+		double sum = 0.0;
+		for (int index = 0; index < m_samples.length; index++) {
+			double diff = m_samples[index] - m_score;
+			sum += diff * diff;
+		}
+		return Math.sqrt(sum / (m_samples.length - 1));
+	}
+
+	public double getMin() {
+		double min = Double.MAX_VALUE;
+		for (int index = 0; index < m_samples.length; index++)
+			min = Math.min(min, m_samples[index]);
+		return m_samples.length == 0 ? m_score : min;
+	}
+
+	public double getMax() {
+		double max = 0.0;
+		for (int index = 0; index < m_samples.length; index++)
+			max = Math.max(max, m_samples[index]);
+		return m_samples.length == 0 ? m_score : max;
+	}
+
+	/**
+	 * @return the number of bytes allocated per operation or -1 if unknown
+	 */
+	public long getAllocatedBytes() {
+		return m_alloc_bytes;
+	}
+
+	public long getOperations() {
+		return m_ops;
+	}
+
+	/**
+	 * Appends this result as a single line JSON object.
+	 */
+	public void toJSON(StringBuffer sbuff) {
+		sbuff.append("{\"benchmark\": ");
+		appendString(sbuff, m_name);
+		sbuff.append(", \"params\": ");
+		appendString(sbuff, m_params);
+		sbuff.append(", \"unit\": \"").append(UNIT).append('"');
+		sbuff.append(", \"score\": ").append(format(getScore()));
+		sbuff.append(", \"error\": ").append(format(getError()));
+		sbuff.append(", \"min\": ").append(format(getMin()));
+		sbuff.append(", \"max\": ").append(format(getMax()));
+		sbuff.append(", \"iterations\": ").append(m_samples.length);
+		sbuff.append(", \"operations\": ").append(m_ops);
+		sbuff.append(", \"allocBytesPerOp\": ").append(m_alloc_bytes);
+		sbuff.append('}');
+	}
+
+	/**
+	 * Writes the given results as a JSON array with one result per line.
+	 */
+	public static String toJSON(BenchmarkResult[] results) {
+		StringBuffer sbuff = new StringBuffer();
+		sbuff.append("[\n");
+		for (int index = 0; index < results.length; index++) {
+			sbuff.append("  ");
+			results[index].toJSON(sbuff);
+			if (index < results.length - 1)
+				sbuff.append(',');
+			sbuff.append('\n');
+		}
+		sbuff.append("]\n");
+		return sbuff.toString();
+	}
+
+	/**
+	 * Reads the results from a file written by <code>toJSON</code>. This is
+	 * not a general JSON parser. It expects one result object per line.
+	 * 
+	 * @return the results that were read
+	 */
+	public static BenchmarkResult[] readJSON(Reader reader) throws IOException {
+		LinkedList results = new LinkedList();
+		BufferedReader br = new BufferedReader(reader);
+		String line = br.readLine();
+		while (line != null) {
+			String name = getValue(line, "benchmark");
+			if (name != null) {
+				String params = getValue(line, "params");
+				String score = getValue(line, "score");
+				String alloc = getValue(line, "allocBytesPerOp");
+				try {
+					results.add(new BenchmarkResult(name, params == null ? "" : params, Double.parseDouble(score), alloc == null ? -1 : Long
+							.parseLong(alloc)));
+				} catch (Exception e) {
+					throw new IOException("Invalid benchmark result: " + line);
+				}
+			}
+			line = br.readLine();
+		}
+		return (BenchmarkResult[]) results.toArray(new BenchmarkResult[results.size()]);
+	}
+
+	/**
+	 * @return the value of the given field in a single line JSON object. The
+	 *         quotes are removed from string values.
+	 */
+	private static String getValue(String line, String field) {
+		String key = "\"" + field + "\":";
+		int pos = line.indexOf(key);
+		if (pos < 0)
+			return null;
+
+		pos += key.length();
+		while (pos < line.length() && line.charAt(pos) == ' ')
+			pos++;
+
+		if (pos < line.length() && line.charAt(pos) == '"') {
+			StringBuffer sbuff = new StringBuffer();
+			for (pos++; pos < line.length(); pos++) {
+				char c = line.charAt(pos);
+				if (c == '\\' && pos + 1 < line.length())
+					sbuff.append(line.charAt(++pos));
+				else if (c == '"')
+					break;
+				else
+					sbuff.append(c);
+			}
+			return sbuff.toString();
+		}
+
+		int end = pos;
+		while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '}')
+			end++;
+		return line.substring(pos, end).trim();
+	}
+
+	private static void appendString(StringBuffer sbuff, String value) {
+		sbuff.append('"');
+		for (int index = 0; index < value.length(); index++) {
+			char c = value.charAt(index);
+			if (c == '"' || c == '\\')
+				sbuff.append('\\');
+			sbuff.append(c);
+		}
+		sbuff.append('"');
+	}
+
+	private static String format(double value) {
+		return String.valueOf(Math.round(value * 1000.0) / 1000.0);
+	}
+
+	private static double mean(double[] samples) {
+		if (samples.length == 0)
+			return 0.0;
+
+		double sum = 0.0;
+		for (int index = 0; index < samples.length; index++)
+			sum += samples[index];
+		return sum / samples.length;
+	}
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.benchmark;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.StringTokenizer;
+
+import javax.swing.SwingUtilities;
+
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.swingbuilder.app.MemoryUserProperties;
+import com.jeta.swingbuilder.codegen.builder.PropertyWriterFactory;
+import com.jeta.swingbuilder.interfaces.userprops.TSUserProperties;
+
+/**
+ * Runs the form benchmarks and writes the results as JSON. Each benchmark is
+ * run for a number of warmup iterations followed by measured iterations of a
+ * fixed duration. All benchmarks run on the event dispatch thread, as Swing
+ * code does in an application.
+ * <p>
+ * 
+ * Usage: <code>BenchmarkRunner [options]</code>
+ * <ul>
+ * <li>-sizes 10,25,50,100 the columns and rows of the synthetic grids
+ * <li>-warmup 3 the number of warmup iterations
+ * <li>-iterations 5 the number of measured iterations
+ * <li>-time 500 the duration of an iteration in milliseconds
+ * <li>-filter text only run benchmarks whose name contains the text
+ * <li>-out file write the JSON results to the file
+ * <li>-compare file compare the results with a previous result file
+ * <li>-threshold 10 the slowdown in percent that counts as a regression
+ * <li>-list list the benchmarks without running them
+ * </ul>
+ * The runner exits with status 1 if a compared benchmark regressed.
+ * <p>
+ * 
+ * The benchmarks are not part of the application jar. They are compiled with
+ * the benchmarks profile: <code>mvn -Pbenchmarks compile</code>
+ * 
+ * @author Jeff Tassin
+ */
+public class BenchmarkRunner {
+
+	private int[] m_sizes = { 10, 25, 50, 100 };
+	private int m_warmup = 3;
+	private int m_iterations = 5;
+	private long m_iteration_time = 500;
+	private String m_filter;
+	private String m_out_file;
+	private String m_compare_file;
+	private double m_threshold = 10.0;
+	private boolean m_list;
+
+	/**
+	 * Consumes the results of the operations
+	 */
+	private int m_sink;
+
+	public static void main(String[] args) {
+		if (System.getProperty("java.awt.headless") == null)
+			System.setProperty("java.awt.headless", "true");
+
+		try {
+			BenchmarkRunner runner = new BenchmarkRunner();
+			runner.parseArgs(args);
+			System.exit(runner.runAll() ? 0 : 1);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * Parses the command line options
+	 */
+	private void parseArgs(String[] args) {
+		for (int index = 0; index < args.length; index++) {
+			String arg = args[index];
+			if (arg.equals("-list")) {
+				m_list = true;
+				continue;
+			}
+			if (index + 1 >= args.length)
+				throw new IllegalArgumentException("Missing value for option: " + arg);
+
+			String value = args[++index];
+			try {
+				if (arg.equals("-sizes"))
+					m_sizes = parseSizes(value);
+				else if (arg.equals("-warmup"))
+					m_warmup = Integer.parseInt(value);
+				else if (arg.equals("-iterations"))
+					m_iterations = Math.max(1, Integer.parseInt(value));
+				else if (arg.equals("-time"))
+					m_iteration_time = Math.max(1, Long.parseLong(value));
+				else if (arg.equals("-filter"))
+					m_filter = value;
+				else if (arg.equals("-out"))
+					m_out_file = value;
+				else if (arg.equals("-compare"))
+					m_compare_file = value;
+				else if (arg.equals("-threshold"))
+					m_threshold = Double.parseDouble(value);
+				else
+					throw new IllegalArgumentException("Unknown option: " + arg);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid value for option " + arg + ": " + value);
+			}
+		}
+	}
+
+	private static int[] parseSizes(String value) {
+		StringTokenizer st = new StringTokenizer(value, ",");
+		int[] sizes = new int[st.countTokens()];
+		for (int index = 0; index < sizes.length; index++)
+			sizes[index] = Math.max(1, Integer.parseInt(st.nextToken().trim()));
+		return sizes;
+	}
+
+	/**
+	 * Runs the selected benchmarks, writes the results and compares them with
+	 * the baseline.
+	 * 
+	 * @return false if a benchmark regressed
+	 */
+	private boolean runAll() throws Exception {
+		initialize();
+
+		LinkedList results = new LinkedList();
+		Iterator iter = FormBenchmarks.createBenchmarks(m_sizes).iterator();
+		while (iter.hasNext()) {
+			Benchmark benchmark = (Benchmark) iter.next();
+			if (m_filter != null && benchmark.toString().indexOf(m_filter) < 0)
+				continue;
+
+			if (m_list) {
+				System.out.println(benchmark);
+				continue;
+			}
+
+			BenchmarkResult result = runOnEventThread(benchmark);
+			results.add(result);
+			System.out.println(formatResult(result));
+		}
+
+		if (m_list)
+			return true;
+
+		BenchmarkResult[] res = (BenchmarkResult[]) results.toArray(new BenchmarkResult[results.size()]);
+		String json = BenchmarkResult.toJSON(res);
+		if (m_out_file == null) {
+			System.out.println();
+			System.out.print(json);
+		}
+		else {
+			Writer writer = new FileWriter(m_out_file);
+			try {
+				writer.write(json);
+			} finally {
+				writer.close();
+			}
+		}
+
+		if (m_compare_file != null) {
+			FileReader reader = new FileReader(m_compare_file);
+			try {
+				return compare(BenchmarkResult.readJSON(reader), res);
+			} finally {
+				reader.close();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Registers the components needed to load forms and generate source
+	 * without starting the designer.
+	 */
+	private void initialize() {
+		if (JETARegistry.lookup(TSUserProperties.COMPONENT_ID) == null)
+			JETARegistry.rebind(TSUserProperties.COMPONENT_ID, new MemoryUserProperties());
+
+		com.jeta.forms.defaults.DefaultInitializer.initialize();
+
+		if (JETARegistry.lookup(PropertyWriterFactory.COMPONENT_ID) == null)
+			JETARegistry.rebind(PropertyWriterFactory.COMPONENT_ID, new PropertyWriterFactory());
+	}
+
+	/**
+	 * Runs the given benchmark on the event dispatch thread
+	 */
+	private BenchmarkResult runOnEventThread(final Benchmark benchmark) throws Exception {
+		final Object[] result = new Object[1];
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				try {
+					result[0] = runBenchmark(benchmark);
+				} catch (Exception e) {
+					result[0] = e;
+				}
+			}
+		});
+		if (result[0] instanceof Exception)
+			throw (Exception) result[0];
+		return (BenchmarkResult) result[0];
+	}
+
+	/**
+	 * Runs the warmup and measured iterations of a benchmark
+	 */
+	private BenchmarkResult runBenchmark(Benchmark benchmark) throws Exception {
+		benchmark.setUp();
+		try {
+			for (int index = 0; index < m_warmup; index++) {
+				runIteration(benchmark);
+			}
+
+			double[] samples = new double[m_iterations];
+			long total_ops = 0;
+			long total_bytes = 0;
+			boolean alloc_supported = true;
+			for (int index = 0; index < m_iterations; index++) {
+				long bytes = getAllocatedBytes();
+				long start = System.nanoTime();
+				long ops = runIteration(benchmark);
+				long elapsed = System.nanoTime() - start;
+				long bytes_after = getAllocatedBytes();
+
+				samples[index] = elapsed / 1000.0 / ops;
+				total_ops += ops;
+				if (bytes < 0 || bytes_after < 0)
+					alloc_supported = false;
+				else
+					total_bytes += bytes_after - bytes;
+			}
+			return new BenchmarkResult(benchmark.getName(), benchmark.getParams(), samples, total_ops, alloc_supported ? total_bytes / total_ops : -1);
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+
+	/**
+	 * Runs the operation until the iteration time has elapsed. At least one
+	 * operation is run.
+	 * 
+	 * @return the number of operations
+	 */
+	private long runIteration(Benchmark benchmark) throws Exception {
+		long end = System.nanoTime() + m_iteration_time * 1000000L;
+		long ops = 0;
+		do {
+			Object result = benchmark.run();
+			m_sink += (result == null ? 0 : 1);
+			ops++;
+		} while (System.nanoTime() < end);
+		return ops;
+	}
+
+	/**
+	 * @return the number of bytes allocated by the current thread or -1 if
+	 *         the VM does not support allocation measurement
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+		if (mx instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean smx = (com.sun.management.ThreadMXBean) mx;
+			if (smx.isThreadAllocatedMemorySupported() && smx.isThreadAllocatedMemoryEnabled())
+				return smx.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * Prints the change of each benchmark against the baseline.
+	 * 
+	 * @return false if any benchmark is slower than the threshold allows
+	 */
+	private boolean compare(BenchmarkResult[] baseline, BenchmarkResult[] current) {
+		HashMap base_scores = new HashMap();
+		for (int index = 0; index < baseline.length; index++)
+			base_scores.put(baseline[index].getKey(), baseline[index]);
+
+		System.out.println();
+		System.out.println("Comparison with " + m_compare_file + " (threshold " + m_threshold + "%)");
+		boolean passed = true;
+		for (int index = 0; index < current.length; index++) {
+			BenchmarkResult result = current[index];
+			BenchmarkResult base = (BenchmarkResult) base_scores.get(result.getKey());
+			if (base == null || base.getScore() <= 0.0) {
+				System.out.println(pad(result.getKey(), 60) + "  (no baseline)");
+				continue;
+			}
+
+			double change = (result.getScore() - base.getScore()) * 100.0 / base.getScore();
+			boolean regressed = change > m_threshold;
+			if (regressed)
+				passed = false;
+			System.out.println(pad(result.getKey(), 60) + pad(format(base.getScore()), 12) + " -> " + pad(format(result.getScore()), 12)
+					+ (change >= 0 ? " +" : " ") + format(change) + "%" + (regressed ? "  REGRESSION" : ""));
+		}
+		return passed;
+	}
+
+	private static String formatResult(BenchmarkResult result) {
+		StringBuffer sbuff = new StringBuffer();
+		sbuff.append(pad(result.getKey(), 60));
+		sbuff.append(pad(format(result.getScore()), 12));
+		sbuff.append(" +- ");
+		sbuff.append(pad(format(result.getError()), 10));
+		sbuff.append(' ').append(BenchmarkResult.UNIT);
+		if (result.getAllocatedBytes() >= 0)
+			sbuff.append("  ").append(result.getAllocatedBytes()).append(" B/op");
+		return sbuff.toString();
+	}
+
+	private static String format(double value) {
+		return String.valueOf(Math.round(value * 100.0) / 100.0);
+	}
+
+	private static String pad(String value, int width) {
+		StringBuffer sbuff = new StringBuffer(value);
+		while (sbuff.length() < width)
+			sbuff.append(' ');
+		return sbuff.toString();
+	}
+}
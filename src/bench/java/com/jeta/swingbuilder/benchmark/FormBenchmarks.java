@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.benchmark;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Random;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import com.jeta.forms.gui.beans.JETABean;
+import com.jeta.forms.gui.form.FormComponent;
+import com.jeta.forms.gui.form.GridComponent;
+import com.jeta.forms.gui.form.GridView;
+import com.jeta.forms.gui.form.StandardComponent;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.bean.BeanSerializer;
+import com.jeta.forms.store.bean.BeanSerializerFactory;
+import com.jeta.forms.store.jml.JMLUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.xml.writer.XMLWriter;
+import com.jeta.jgoodies.forms.layout.CellConstraints;
+import com.jeta.jgoodies.forms.layout.FormLayout;
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.swingbuilder.codegen.builder.DefaultSourceBuilder;
+
+/**
+ * The benchmarks for the form runtime. Each benchmark covers one hot path:
+ * loading, building, laying out, painting, storing and generating source for
+ * synthetic forms of different sizes.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormBenchmarks {
+
+	/**
+	 * The container sizes used by the layout benchmarks. The layout is cycled
+	 * through these sizes so that each operation does a real layout.
+	 */
+	private static final int[][] LAYOUT_SIZES = { { 640, 480 }, { 800, 600 }, { 1024, 768 }, { 700, 900 }, { 1280, 1024 }, { 900, 500 },
+			{ 1600, 1200 }, { 500, 700 } };
+
+	/**
+	 * The size of the image used by the paint benchmark
+	 */
+	private static final int PAINT_WIDTH = 1024;
+	private static final int PAINT_HEIGHT = 768;
+
+	/**
+	 * The grid size and the maximum number of wrapper forms of the nested
+	 * forms
+	 */
+	private static final int NESTED_GRID_SIZE = 10;
+	private static final int MAX_NESTED_DEPTH = 4;
+
+	/**
+	 * The columns and rows of the label form (500 text components)
+	 */
+	private static final int LABEL_FORM_COLUMNS = 10;
+	private static final int LABEL_FORM_ROWS = 50;
+
+	/**
+	 * Creates all benchmarks for the given grid sizes.
+	 * 
+	 * @param sizes
+	 *            the number of columns and rows of the synthetic forms
+	 * @return a list of Benchmark objects
+	 */
+	public static LinkedList createBenchmarks(int[] sizes) {
+		LinkedList benchmarks = new LinkedList();
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new LoadBenchmark(sizes[index], false));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new LoadBenchmark(sizes[index], true));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new SetStateBenchmark(sizes[index]));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new LayoutContainerBenchmark(sizes[index]));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new PreferredSizeBenchmark(sizes[index]));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new CellUpdateBenchmark(sizes[index]));
+		for (int index = 0; index < sizes.length; index++) {
+			if (sizes[index] > 1)
+				benchmarks.add(new MultiCellUpdateBenchmark(sizes[index]));
+		}
+		for (int depth = 1; depth <= MAX_NESTED_DEPTH; depth++)
+			benchmarks.add(new NestedResizeBenchmark(depth, false));
+		for (int depth = 1; depth <= MAX_NESTED_DEPTH; depth++)
+			benchmarks.add(new NestedResizeBenchmark(depth, true));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new PaintBenchmark(sizes[index]));
+		benchmarks.add(new TextLayoutBenchmark());
+		benchmarks.add(new TextPaintBenchmark());
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new WriteBeanBenchmark(sizes[index]));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new StoreBenchmark(sizes[index], false));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new StoreBenchmark(sizes[index], true));
+		for (int index = 0; index < sizes.length; index++)
+			benchmarks.add(new BuildSourceBenchmark(sizes[index]));
+		return benchmarks;
+	}
+
+	/**
+	 * Builds a form component from the given memento in run mode.
+	 */
+	static FormComponent openForm(FormMemento fm) throws Exception {
+		FormComponent fc = FormComponent.create();
+		fc.setState(fm);
+		return fc;
+	}
+
+	/**
+	 * Lays out the given container and all of its children.
+	 */
+	static void layoutTree(Container cc) {
+		cc.doLayout();
+		for (int index = 0; index < cc.getComponentCount(); index++) {
+			Component comp = cc.getComponent(index);
+			if (comp instanceof Container)
+				layoutTree((Container) comp);
+		}
+	}
+
+	/**
+	 * Base class for the benchmarks on a synthetic grid of a given size.
+	 */
+	abstract static class GridBenchmark extends Benchmark {
+		protected int m_size;
+
+		/**
+		 * An opened form and its grid. Only set by benchmarks that call
+		 * openGrid.
+		 */
+		protected FormComponent m_form;
+		protected GridView m_view;
+		protected FormLayout m_layout;
+		protected Container m_container;
+
+		GridBenchmark(String name, int size) {
+			this(name, size, null);
+		}
+
+		GridBenchmark(String name, int size, String params) {
+			super(name, "size=" + size + "x" + size + (params == null ? "" : "," + params));
+			m_size = size;
+		}
+
+		/**
+		 * ctor for benchmarks whose form is not a square grid. These must
+		 * override createMemento.
+		 */
+		GridBenchmark(String name, String params) {
+			super(name, params);
+		}
+
+		protected FormMemento createMemento() {
+			return SyntheticForms.createForm(m_size, m_size);
+		}
+
+		/**
+		 * Opens the form for this benchmark and lays it out once.
+		 */
+		protected void openGrid(FormMemento fm) throws Exception {
+			m_form = openForm(fm);
+			m_view = m_form.getChildView();
+			m_layout = m_view.getFormLayout();
+			m_container = m_view.getContainer();
+			m_form.setSize(LAYOUT_SIZES[0][0], LAYOUT_SIZES[0][1]);
+			layoutTree(m_form);
+		}
+
+		public void tearDown() throws Exception {
+			m_form = null;
+			m_view = null;
+			m_layout = null;
+			m_container = null;
+		}
+	}
+
+	/**
+	 * FormManagerUtils.loadForm for a binary or XML form
+	 */
+	static class LoadBenchmark extends GridBenchmark {
+		private boolean m_xml;
+		private byte[] m_data;
+
+		LoadBenchmark(int size, boolean xml) {
+			super(xml ? "load.xml" : "load.binary", size);
+			m_xml = xml;
+		}
+
+		public void setUp() throws Exception {
+			FormMemento fm = createMemento();
+			m_data = m_xml ? SyntheticForms.toXML(fm) : SyntheticForms.toBinary(fm);
+		}
+
+		public Object run() throws Exception {
+			return FormManagerUtils.loadForm(new ByteArrayInputStream(m_data));
+		}
+	}
+
+	/**
+	 * FormComponent.setState: builds the components of a loaded form
+	 */
+	static class SetStateBenchmark extends GridBenchmark {
+		private FormMemento m_memento;
+
+		SetStateBenchmark(int size) {
+			super("form.setState", size);
+		}
+
+		public void setUp() throws Exception {
+			m_memento = createMemento();
+		}
+
+		public Object run() throws Exception {
+			return openForm(m_memento);
+		}
+	}
+
+	/**
+	 * FormLayout.layoutContainer while the form is resized
+	 */
+	static class LayoutContainerBenchmark extends GridBenchmark {
+		private int m_index;
+
+		LayoutContainerBenchmark(int size) {
+			super("layout.layoutContainer", size);
+		}
+
+		public void setUp() throws Exception {
+			openGrid(createMemento());
+		}
+
+		public Object run() throws Exception {
+			int[] size = LAYOUT_SIZES[m_index++ % LAYOUT_SIZES.length];
+			m_container.setSize(size[0], size[1]);
+			m_layout.layoutContainer(m_container);
+			return m_container;
+		}
+	}
+
+	/**
+	 * FormLayout.preferredLayoutSize after all components have changed
+	 */
+	static class PreferredSizeBenchmark extends GridBenchmark {
+
+		PreferredSizeBenchmark(int size) {
+			super("layout.preferredLayoutSize", size);
+		}
+
+		public void setUp() throws Exception {
+			openGrid(createMemento());
+		}
+
+		public Object run() throws Exception {
+			for (int index = 0; index < m_container.getComponentCount(); index++)
+				m_layout.invalidateComponent(m_container.getComponent(index));
+			return m_layout.preferredLayoutSize(m_container);
+		}
+	}
+
+	/**
+	 * Changes the text of a random label and lays out the form again. Only
+	 * the column and row of the label need to be measured.
+	 */
+	static class CellUpdateBenchmark extends GridBenchmark {
+		private Random m_random = new Random(1);
+		private int m_count;
+
+		CellUpdateBenchmark(int size) {
+			super("layout.cellUpdate", size);
+		}
+
+		public void setUp() throws Exception {
+			openGrid(createMemento());
+		}
+
+		public Object run() throws Exception {
+			GridComponent gc = m_view.getGridComponent(1 + m_random.nextInt(m_size), 1 + m_random.nextInt(m_size));
+			Component comp = (gc == null ? null : gc.getBeanDelegate());
+			if (comp instanceof JLabel) {
+				((JLabel) comp).setText("Changed " + (m_count++ % 10));
+				m_layout.invalidateComponent(gc);
+			}
+			m_layout.layoutContainer(m_container);
+			return gc;
+		}
+	}
+
+	/**
+	 * Changes the text of two labels in different columns and validates the
+	 * panel. Only the first label invalidates the layout, so this checks that
+	 * the layout also picks up the size of the second one.
+	 */
+	static class MultiCellUpdateBenchmark extends Benchmark {
+		private int m_size;
+		private JPanel m_panel;
+		private JLabel[] m_labels;
+		private Random m_random = new Random(1);
+		private int m_count;
+
+		MultiCellUpdateBenchmark(int size) {
+			super("layout.multiCellUpdate", "size=" + size + "x" + size);
+			m_size = size;
+		}
+
+		public void setUp() throws Exception {
+			StringBuffer specs = new StringBuffer();
+			for (int index = 0; index < m_size; index++) {
+				if (index > 0)
+					specs.append(',');
+				specs.append("pref");
+			}
+			m_panel = new JPanel(new FormLayout(specs.toString(), specs.toString()));
+			m_labels = new JLabel[m_size * m_size];
+			CellConstraints cc = new CellConstraints();
+			for (int index = 0; index < m_labels.length; index++) {
+				m_labels[index] = new JLabel("Label");
+				m_panel.add(m_labels[index], cc.xy(1 + index % m_size, 1 + index / m_size));
+			}
+			m_panel.addNotify();
+			m_panel.validate();
+		}
+
+		public Object run() throws Exception {
+			int col1 = m_random.nextInt(m_size);
+			int col2 = (col1 + 1 + m_random.nextInt(m_size - 1)) % m_size;
+			JLabel label1 = m_labels[col1 + m_size * m_random.nextInt(m_size)];
+			JLabel label2 = m_labels[col2 + m_size * m_random.nextInt(m_size)];
+			String text = (m_count++ % 2 == 0) ? "A much longer label text" : "Label";
+			label1.setText(text);
+			label2.setText(text);
+			m_panel.setSize(m_panel.getPreferredSize());
+			m_panel.validate();
+			if (label1.getWidth() < label1.getPreferredSize().width || label2.getWidth() < label2.getPreferredSize().width)
+				throw new IllegalStateException("FormLayout used a stale component size");
+			return m_panel;
+		}
+
+		public void tearDown() throws Exception {
+			m_panel.removeNotify();
+			m_panel = null;
+			m_labels = null;
+		}
+	}
+
+	/**
+	 * Resizes a form with nested forms and lays out the whole tree. With
+	 * flattening enabled, the nested forms are merged into the top level form
+	 * when it is opened.
+	 */
+	static class NestedResizeBenchmark extends Benchmark {
+		private int m_depth;
+		private boolean m_flatten;
+		private FormComponent m_form;
+		private int m_index;
+
+		NestedResizeBenchmark(int depth, boolean flatten) {
+			super("layout.nestedResize", "size=" + NESTED_GRID_SIZE + "x" + NESTED_GRID_SIZE + ",depth=" + depth + ",flatten=" + flatten);
+			m_depth = depth;
+			m_flatten = flatten;
+		}
+
+		public void setUp() throws Exception {
+			FormMemento fm = SyntheticForms.createNestedForm(NESTED_GRID_SIZE, NESTED_GRID_SIZE, m_depth);
+			boolean old_flatten = FormManagerUtils.isFlattenEmbeddedForms();
+			FormManagerUtils.setFlattenEmbeddedForms(m_flatten);
+			try {
+				m_form = FormManagerUtils.openForm(new ByteArrayInputStream(SyntheticForms.toBinary(fm)));
+			} finally {
+				FormManagerUtils.setFlattenEmbeddedForms(old_flatten);
+			}
+		}
+
+		public Object run() throws Exception {
+			int[] size = LAYOUT_SIZES[m_index++ % LAYOUT_SIZES.length];
+			m_form.setSize(size[0], size[1]);
+			layoutTree(m_form);
+			return m_form;
+		}
+
+		public void tearDown() throws Exception {
+			m_form = null;
+		}
+	}
+
+	/**
+	 * Paints a form with cell painters. The painters use look and feel colors,
+	 * so this also covers color resolution during repaint.
+	 */
+	static class PaintBenchmark extends GridBenchmark {
+		private BufferedImage m_image;
+
+		PaintBenchmark(int size) {
+			super("paint.cellPainters", size);
+		}
+
+		public void setUp() throws Exception {
+			FormMemento fm = createMemento();
+			SyntheticForms.addCellPainters(fm, m_size, m_size);
+			openGrid(fm);
+			m_form.setSize(PAINT_WIDTH, PAINT_HEIGHT);
+			layoutTree(m_form);
+			m_image = new BufferedImage(PAINT_WIDTH, PAINT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		}
+
+		public Object run() throws Exception {
+			Graphics2D g = m_image.createGraphics();
+			try {
+				m_form.paint(g);
+			} finally {
+				g.dispose();
+			}
+			return m_image;
+		}
+
+		public void tearDown() throws Exception {
+			super.tearDown();
+			m_image = null;
+		}
+	}
+
+	/**
+	 * Base class for the benchmarks on a form with 500 labels, titled
+	 * separators and titled border labels.
+	 */
+	abstract static class TextBenchmark extends GridBenchmark {
+		TextBenchmark(String name) {
+			super(name, "size=" + LABEL_FORM_COLUMNS + "x" + LABEL_FORM_ROWS);
+		}
+
+		protected FormMemento createMemento() {
+			return SyntheticForms.createLabelForm(LABEL_FORM_COLUMNS, LABEL_FORM_ROWS);
+		}
+
+		public void setUp() throws Exception {
+			openGrid(createMemento());
+		}
+	}
+
+	/**
+	 * Measures and lays out every text component of the label form. The
+	 * sizes cached by the layout are discarded, so every component is asked
+	 * for its preferred and minimum size again.
+	 */
+	static class TextLayoutBenchmark extends TextBenchmark {
+		private int m_index;
+
+		TextLayoutBenchmark() {
+			super("text.layout");
+		}
+
+		public Object run() throws Exception {
+			for (int index = 0; index < m_container.getComponentCount(); index++)
+				m_layout.invalidateComponent(m_container.getComponent(index));
+
+			int[] size = LAYOUT_SIZES[m_index++ % LAYOUT_SIZES.length];
+			m_container.setSize(size[0], size[1]);
+			layoutTree(m_container);
+			return m_container;
+		}
+	}
+
+	/**
+	 * Paints the label form
+	 */
+	static class TextPaintBenchmark extends TextBenchmark {
+		private BufferedImage m_image;
+
+		TextPaintBenchmark() {
+			super("text.paint");
+		}
+
+		public void setUp() throws Exception {
+			super.setUp();
+			m_form.setSize(m_form.getPreferredSize());
+			layoutTree(m_form);
+			m_image = new BufferedImage(m_form.getWidth(), m_form.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		}
+
+		public Object run() throws Exception {
+			Graphics2D g = m_image.createGraphics();
+			try {
+				m_form.paint(g);
+			} finally {
+				g.dispose();
+			}
+			return m_image;
+		}
+
+		public void tearDown() throws Exception {
+			super.tearDown();
+			m_image = null;
+		}
+	}
+
+	/**
+	 * BeanSerializer.writeBean for every bean in a form
+	 */
+	static class WriteBeanBenchmark extends GridBenchmark {
+		private JETABean[] m_beans;
+		private BeanSerializer m_serializer;
+
+		WriteBeanBenchmark(int size) {
+			super("store.writeBean", size);
+		}
+
+		public void setUp() throws Exception {
+			openGrid(createMemento());
+			LinkedList beans = new LinkedList();
+			Iterator iter = m_view.gridIterator();
+			while (iter.hasNext()) {
+				Object obj = iter.next();
+				if (obj instanceof StandardComponent) {
+					JETABean jbean = ((StandardComponent) obj).getBean();
+					if (jbean != null && jbean.getDelegate() != null)
+						beans.add(jbean);
+				}
+			}
+			m_beans = (JETABean[]) beans.toArray(new JETABean[beans.size()]);
+			BeanSerializerFactory fac = (BeanSerializerFactory) JETARegistry.lookup(BeanSerializerFactory.COMPONENT_ID);
+			m_serializer = fac.createSerializer();
+		}
+
+		public Object run() throws Exception {
+			Object result = null;
+			for (int index = 0; index < m_beans.length; index++)
+				result = m_serializer.writeBean(m_beans[index]);
+			return result;
+		}
+
+		public void tearDown() throws Exception {
+			super.tearDown();
+			m_beans = null;
+		}
+	}
+
+	/**
+	 * Stores a form in the binary format or with the XMLWriter
+	 */
+	static class StoreBenchmark extends GridBenchmark {
+		private boolean m_xml;
+		private FormMemento m_memento;
+
+		StoreBenchmark(int size, boolean xml) {
+			super(xml ? "store.xml" : "store.binary", size);
+			m_xml = xml;
+		}
+
+		public void setUp() throws Exception {
+			m_memento = createMemento();
+		}
+
+		public Object run() throws Exception {
+			if (m_xml) {
+				StringWriter writer = new StringWriter();
+				new XMLWriter().write(writer, JMLUtils.writeObject(new FormPackage(m_memento)));
+				return writer;
+			}
+			else {
+				return SyntheticForms.toBinary(m_memento);
+			}
+		}
+	}
+
+	/**
+	 * DefaultSourceBuilder.buildSource
+	 */
+	static class BuildSourceBenchmark extends GridBenchmark {
+		private FormMemento m_memento;
+
+		BuildSourceBenchmark(int size) {
+			super("codegen.buildSource", size);
+		}
+
+		public void setUp() throws Exception {
+			m_memento = createMemento();
+		}
+
+		public Object run() throws Exception {
+			return new DefaultSourceBuilder().buildSource(m_memento);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.jeta.forms.gui.beans.JETABean;
+import com.jeta.forms.gui.form.FormComponent;
+import com.jeta.forms.gui.form.GridView;
+import com.jeta.forms.gui.form.StandardComponent;
+import com.jeta.forms.store.jml.JMLException;
+import com.jeta.forms.store.memento.BeanMemento;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.memento.PropertiesMemento;
+import com.jeta.forms.store.properties.ColorProperty;
+import com.jeta.forms.store.properties.effects.GradientProperty;
+import com.jeta.forms.store.properties.effects.PaintProperty;
+import com.jeta.forms.store.properties.effects.SolidProperty;
+import com.jeta.forms.store.support.Matrix;
+import com.jeta.jgoodies.forms.layout.CellConstraints;
+import com.jeta.swingbuilder.gui.utils.FormDesignerUtils;
+
+/**
+ * Generates synthetic forms of a configurable size for the benchmarks. The
+ * forms are built directly as mementos, so they can be loaded, stored and
+ * opened exactly like forms created in the designer.
+ * 
+ * A grid form has <i>cols</i> x <i>rows</i> cells. Every cell holds a label or
+ * a text field. A nested form wraps such a grid in embedded forms that add a
+ * margin around their single child, the way panels are commonly nested in
+ * the designer. The wrappers have no properties, so they can be flattened in
+ * run mode.
+ * 
+ * @author Jeff Tassin
+ */
+public class SyntheticForms {
+
+	/**
+	 * The column and row specs used by every generated cell
+	 */
+	public static final String COLUMN_SPEC = "FILL:DEFAULT:NONE";
+	public static final String ROW_SPEC = "CENTER:DEFAULT:NONE";
+
+	/**
+	 * The specs used for the growing last column and row of a top level form
+	 */
+	public static final String GROW_COLUMN_SPEC = "FILL:DEFAULT:GROW(1.0)";
+	public static final String GROW_ROW_SPEC = "FILL:DEFAULT:GROW(1.0)";
+
+	/**
+	 * The specs of a wrapper form. The child is in the growing center cell.
+	 */
+	public static final String WRAPPER_COLUMN_SPECS = "FILL:4DLU:NONE,FILL:DEFAULT:GROW(1.0),FILL:4DLU:NONE";
+	public static final String WRAPPER_ROW_SPECS = "CENTER:4DLU:NONE,FILL:DEFAULT:GROW(1.0),CENTER:4DLU:NONE";
+
+	/**
+	 * Creates a form with the given number of columns and rows. The last
+	 * column and row grow.
+	 * 
+	 * @param cols
+	 *            the number of columns
+	 * @param rows
+	 *            the number of rows
+	 * @return the form memento
+	 */
+	public static FormMemento createForm(int cols, int rows) {
+		FormMemento fm = createFormMemento(createSpecs(cols, COLUMN_SPEC, GROW_COLUMN_SPEC), createSpecs(rows, ROW_SPEC, GROW_ROW_SPEC), "synthetic");
+		for (int row = 1; row <= rows; row++) {
+			for (int col = 1; col <= cols; col++) {
+				fm.addComponent(createBean(col, row));
+			}
+		}
+		return fm;
+	}
+
+	/**
+	 * Creates a grid form of the given size that is wrapped in embedded
+	 * forms. A depth of zero creates a plain grid form.
+	 * 
+	 * @param cols
+	 *            the number of columns in the innermost form
+	 * @param rows
+	 *            the number of rows in the innermost form
+	 * @param depth
+	 *            the number of wrapper forms around the innermost form
+	 * @return the form memento
+	 */
+	public static FormMemento createNestedForm(int cols, int rows, int depth) {
+		FormMemento fm = createForm(cols, rows);
+		for (int level = 0; level < depth; level++) {
+			fm.getPropertiesMemento().addProperty("name", "");
+			fm.setCellConstraints(new CellConstraints(2, 2));
+
+			FormMemento wrapper = createFormMemento(WRAPPER_COLUMN_SPECS, WRAPPER_ROW_SPECS, "synthetic");
+			wrapper.addComponent(fm);
+			fm = wrapper;
+		}
+		return fm;
+	}
+
+	/**
+	 * Creates a form of text components with the given number of columns and
+	 * rows. Every fifth row contains titled border labels, the row after it
+	 * contains titled separators and the other rows contain labels.
+	 * 
+	 * @param cols
+	 *            the number of columns
+	 * @param rows
+	 *            the number of rows
+	 * @return the form memento
+	 */
+	public static FormMemento createLabelForm(int cols, int rows) {
+		FormMemento fm = createFormMemento(createSpecs(cols, COLUMN_SPEC, GROW_COLUMN_SPEC), createSpecs(rows, ROW_SPEC, GROW_ROW_SPEC), "labels");
+		for (int row = 1; row <= rows; row++) {
+			String bean_class;
+			if (row % 5 == 1)
+				bean_class = "com.jeta.forms.components.border.TitledBorderLabel";
+			else if (row % 5 == 2)
+				bean_class = "com.jeta.forms.components.separator.TitledSeparator";
+			else
+				bean_class = "com.jeta.forms.components.label.JETALabel";
+
+			for (int col = 1; col <= cols; col++) {
+				PropertiesMemento pm = new PropertiesMemento(bean_class);
+				pm.addProperty("name", "text." + col + "." + row);
+				pm.addProperty("text", "Text " + col + "," + row);
+				fm.addComponent(createBeanMemento(bean_class, pm, col, row));
+			}
+		}
+		return fm;
+	}
+
+	/**
+	 * Fills every other cell of the given form with a cell painter. The
+	 * painters alternate between a solid look and feel color and a gradient,
+	 * so painting resolves colors through the color manager.
+	 * 
+	 * @param fm
+	 *            the form to update
+	 * @param cols
+	 *            the number of columns in the form
+	 * @param rows
+	 *            the number of rows in the form
+	 */
+	public static void addCellPainters(FormMemento fm, int cols, int rows) {
+		Matrix painters = new Matrix(rows, cols);
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < cols; col++) {
+				if ((row + col) % 2 != 0)
+					continue;
+
+				if ((row + col) % 4 == 0) {
+					SolidProperty solid = new SolidProperty();
+					solid.setColorProperty(new ColorProperty("control"));
+					painters.setValue(row, col, new PaintProperty(solid));
+				}
+				else {
+					GradientProperty gradient = new GradientProperty(new ColorProperty("control"), new ColorProperty("controlShadow"),
+							GradientProperty.TOP_BOTTOM);
+					painters.setValue(row, col, new PaintProperty(gradient));
+				}
+			}
+		}
+		fm.setCellPainters(painters);
+	}
+
+	/**
+	 * Stores the given form in the binary format used by the designer.
+	 */
+	public static byte[] toBinary(FormMemento fm) throws IOException, JMLException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		FormDesignerUtils.saveForm(bos, new FormPackage(fm), ".jfrm");
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Stores the given form in the XML format used by the designer.
+	 */
+	public static byte[] toXML(FormMemento fm) throws IOException, JMLException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		FormDesignerUtils.saveForm(bos, new FormPackage(fm), ".xml");
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Creates an empty form memento with the given specs.
+	 */
+	private static FormMemento createFormMemento(String colspecs, String rowspecs, String name) {
+		FormMemento fm = new FormMemento();
+		fm.setComponentClass(FormComponent.class.getName());
+		fm.setColumnSpecs(colspecs);
+		fm.setRowSpecs(rowspecs);
+		fm.setCellConstraints(new CellConstraints());
+		PropertiesMemento pm = new PropertiesMemento(GridView.class.getName());
+		pm.addProperty("name", name);
+		fm.setPropertiesMemento(pm);
+		return fm;
+	}
+
+	/**
+	 * Creates the memento for the bean in the given cell. Every third cell
+	 * contains a text field, the others contain labels.
+	 */
+	private static BeanMemento createBean(int col, int row) {
+		boolean textfield = ((col + row) % 3 == 0);
+		String bean_class = textfield ? "javax.swing.JTextField" : "com.jeta.forms.components.label.JETALabel";
+		String name = (textfield ? "field" : "label") + "." + col + "." + row;
+
+		PropertiesMemento pm = new PropertiesMemento(bean_class);
+		pm.addProperty("name", name);
+		pm.addProperty("text", textfield ? "" : "Label " + col + "," + row);
+		return createBeanMemento(bean_class, pm, col, row);
+	}
+
+	/**
+	 * Creates the memento for a bean with the given properties in the given
+	 * cell.
+	 */
+	private static BeanMemento createBeanMemento(String bean_class, PropertiesMemento pm, int col, int row) {
+		BeanMemento bm = new BeanMemento();
+		bm.setComponentClass(StandardComponent.class.getName());
+		bm.setJETABeanClass(JETABean.class.getName());
+		bm.setBeanClass(bean_class);
+		bm.setProperties(pm);
+		bm.setCellConstraints(new CellConstraints(col, row));
+		return bm;
+	}
+
+	/**
+	 * Creates a spec string with the given number of specs. The last spec is
+	 * replaced by <i>last</i> when it is not null.
+	 */
+	private static String createSpecs(int count, String spec, String last) {
+		StringBuffer sbuff = new StringBuffer();
+		for (int index = 0; index < count; index++) {
+			if (index > 0)
+				sbuff.append(',');
+			sbuff.append((last != null && index == count - 1) ? last : spec);
+		}
+		return sbuff.toString();
+	}
+}
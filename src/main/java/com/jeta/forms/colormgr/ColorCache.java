@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.colormgr;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import javax.swing.UIManager;
+
+/**
+ * Tracks the validity of resolved colors. Colors resolved from the
+ * <code>ColorManager</code> depend on the current look and feel, so
+ * <code>ColorProperty</code> and <code>DefaultColorManager</code> cache
+ * resolved colors along with the generation returned by this class. A single
+ * UIManager listener increments the generation when the look and feel
+ * changes, which invalidates all cached colors at once.
+ * 
+ * @author Jeff Tassin
+ */
+public class ColorCache {
+	/**
+	 * The current generation. Cached colors with a different generation are
+	 * stale.
+	 */
+	private static volatile int m_generation;
+
+	static {
+		UIManager.addPropertyChangeListener(new LookAndFeelListener());
+	}
+
+	/**
+	 * Returns the current generation of resolved colors.
+	 */
+	public static int getGeneration() {
+		return m_generation;
+	}
+
+	/**
+	 * Invalidates all cached colors. This is called automatically when the
+	 * look and feel changes. Applications that change UIManager colors
+	 * directly or register a new ColorManager should call this method.
+	 */
+	public static synchronized void invalidate() {
+		m_generation++;
+	}
+
+	/**
+	 * Invalidates the cached colors when the look and feel changes.
+	 */
+	private static class LookAndFeelListener implements PropertyChangeListener {
+		public void propertyChange(PropertyChangeEvent evt) {
+			if ("lookAndFeel".equals(evt.getPropertyName()))
+				invalidate();
+		}
+	}
+}
@@ -31,6 +31,7 @@ package com.jeta.forms.colormgr;
 
 import java.awt.Color;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.TreeSet;
@@ -40,7 +41,8 @@ import javax.swing.UIManager;
 
 /**
  * The default implementation of ColorManager. All calls for getColor are
- * forwarded to UIManager.getColor.
+ * forwarded to UIManager.getColor. The results are cached until the look and
+ * feel changes.
  * 
  * @author Jeff Tassin
  */
@@ -50,6 +52,21 @@ public class DefaultColorManager implements ColorManager {
 	 */
 	private LinkedList m_color_keys;
 
+	/**
+	 * A cache of resolved colors. m_colors<String,Color>
+	 */
+	private HashMap m_colors = new HashMap();
+
+	/**
+	 * The ColorCache generation of the resolved colors.
+	 */
+	private int m_generation = ColorCache.getGeneration();
+
+	/**
+	 * Placeholder for color keys that are not defined by the UIManager.
+	 */
+	private static final Object NULL_COLOR = new Object();
+
 	/**
 	 * ctor
 	 */
@@ -110,17 +127,33 @@ public class DefaultColorManager implements ColorManager {
 	 *         colorNames.
 	 */
 	public Color getColor(String colorKey, Color defaultColor) {
-		Color c = UIManager.getColor(colorKey);
-		if (c != null) {
-			/**
-			 * we need to do this because some look and feels (e.g. Alloy L&F)
-			 * will create their own Color objects that are invalid if the look
-			 * and feel is not available on the deployed system
-			 */
-			c = new Color(c.getRed(), c.getGreen(), c.getBlue());
-		}
+		if (colorKey == null)
+			return defaultColor;
+
+		synchronized (m_colors) {
+			int generation = ColorCache.getGeneration();
+			if (m_generation != generation) {
+				m_colors.clear();
+				m_generation = generation;
+			}
 
-		return (c == null ? defaultColor : c);
+			Object value = m_colors.get(colorKey);
+			if (value == null) {
+				Color c = UIManager.getColor(colorKey);
+				if (c != null) {
+					/**
+					 * we need to do this because some look and feels (e.g.
+					 * Alloy L&F) will create their own Color objects that are
+					 * invalid if the look and feel is not available on the
+					 * deployed system
+					 */
+					c = new Color(c.getRed(), c.getGreen(), c.getBlue());
+				}
+				value = (c == null ? NULL_COLOR : c);
+				m_colors.put(colorKey, value);
+			}
+			return (value == NULL_COLOR ? defaultColor : (Color) value);
+		}
 	}
 
 }
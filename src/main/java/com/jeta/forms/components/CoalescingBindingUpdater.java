@@ -0,0 +1,379 @@
+/**
+ * 
+ */
+package com.jeta.forms.components;
+
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Rate limits the updates made through a SwingComponentBindingSupport. Use
+ * this class when bound components are driven by a high frequency data feed.
+ * <p>
+ * Values passed to <code>postValue</code> can come from any thread. They are
+ * merged per key (the last value wins) and applied on the event dispatch
+ * thread at most <code>framesPerSecond</code> times a second, using one
+ * <code>setValues</code> call per frame. Binding events going out to the
+ * listeners of this updater are merged the same way: each listener gets at
+ * most one event per key and frame, with the first old value and the last new
+ * value.
+ * 
+ * <pre>
+ * CoalescingBindingUpdater updater = new CoalescingBindingUpdater(support, 30);
+ * updater.addListener(listener);
+ * // from the feed thread
+ * updater.postValue("price", price);
+ * </pre>
+ * 
+ * @author Wolcen
+ *
+ */
+public class CoalescingBindingUpdater implements SwingComponentBindingBatchListener {
+	private static final SwingComponentBindingListener[] NO_LISTENERS = new SwingComponentBindingListener[0];
+
+	private SwingComponentBindingSupport support;
+
+	/**
+	 * The listeners of this updater. Copy-on-write, like the listeners of
+	 * SwingComponentBindingSupport.
+	 */
+	private volatile SwingComponentBindingListener[] listeners = NO_LISTENERS;
+
+	/**
+	 * Guards the pending maps, the schedule and the metrics.
+	 */
+	private Object lock = new Object();
+
+	/**
+	 * Values posted since the last frame, by key.
+	 */
+	private Map<String,Object> pendingValues = new LinkedHashMap<String,Object>();
+
+	/**
+	 * Binding events received since the last frame, by key.
+	 */
+	private Map<String,PendingEvent> pendingEvents = new LinkedHashMap<String,PendingEvent>();
+
+	private boolean scheduled = false;
+	private boolean disposed = false;
+	private long lastFrame = 0;
+	private int period;
+	private Timer timer;
+
+	/**
+	 * True while this updater is applying values on the event dispatch
+	 * thread. The batch event for our own push is not forwarded.
+	 */
+	private boolean applying = false;
+
+	private long appliedUpdates = 0;
+	private long coalescedUpdates = 0;
+	private long droppedUpdates = 0;
+	private long firedEvents = 0;
+	private long coalescedEvents = 0;
+
+	private Runnable flusher = new Runnable() {
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * ctor
+	 * 
+	 * @param support
+	 *            the binding support to update
+	 * @param framesPerSecond
+	 *            the maximum number of times per second that values are
+	 *            applied and events are fired
+	 */
+	public CoalescingBindingUpdater(SwingComponentBindingSupport support,int framesPerSecond) {
+		this.support = support;
+		setFrameRate(framesPerSecond);
+		timer = new Timer(period, new ActionListener() {
+			public void actionPerformed(ActionEvent evt) {
+				flush();
+			}
+		});
+		timer.setRepeats(false);
+		support.addListener(this);
+	}
+
+	/**
+	 * Sets the maximum number of frames per second.
+	 */
+	public void setFrameRate(int framesPerSecond){
+		synchronized(lock){
+			period = 1000 / Math.max(1, Math.min(framesPerSecond, 1000));
+		}
+	}
+
+	public int getFrameRate(){
+		synchronized(lock){
+			return 1000 / period;
+		}
+	}
+
+	public synchronized void addListener(SwingComponentBindingListener listener){
+		SwingComponentBindingListener[] current = listeners;
+		for(SwingComponentBindingListener l:current){
+			if(l.equals(listener)) return;
+		}
+		SwingComponentBindingListener[] copy = new SwingComponentBindingListener[current.length + 1];
+		System.arraycopy(current, 0, copy, 0, current.length);
+		copy[current.length] = listener;
+		listeners = copy;
+	}
+
+	public synchronized void removeListener(SwingComponentBindingListener listener){
+		SwingComponentBindingListener[] current = listeners;
+		for(int index = 0; index < current.length; index++){
+			if(current[index].equals(listener)){
+				SwingComponentBindingListener[] copy = new SwingComponentBindingListener[current.length - 1];
+				System.arraycopy(current, 0, copy, 0, index);
+				System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+				listeners = copy;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Posts a value for the given key. This method can be called from any
+	 * thread. The value is applied in the next frame unless another value is
+	 * posted for the key first. Values posted after dispose are dropped.
+	 */
+	public void postValue(String propKey,Object value){
+		synchronized(lock){
+			if(disposed){
+				droppedUpdates++;
+				return;
+			}
+			if(pendingValues.containsKey(propKey)){
+				coalescedUpdates++;
+			}
+			pendingValues.put(propKey, value);
+			schedule();
+		}
+	}
+
+	/**
+	 * Posts a value for each entry in the map. See postValue.
+	 */
+	public void postValues(Map<String,Object> values){
+		synchronized(lock){
+			for(Map.Entry<String,Object> entry:values.entrySet()){
+				postValue(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	@Override
+	public void firePropertyChange(String key,Component comp,String prop,Class clazz,Object oldValue,Object newValue){
+		synchronized(lock){
+			if(disposed) return;
+			PendingEvent pe = pendingEvents.get(key);
+			if(pe == null){
+				pendingEvents.put(key, new PendingEvent(comp, prop, clazz, oldValue, newValue));
+			}else{
+				coalescedEvents++;
+				pe.comp = comp;
+				pe.prop = prop;
+				pe.clazz = clazz;
+				pe.newValue = newValue;
+			}
+			schedule();
+		}
+	}
+
+	@Override
+	public void firePropertiesChange(Map<String,Object> oldValues,Map<String,Object> newValues){
+		synchronized(lock){
+			if(applying) return;
+		}
+		for(Map.Entry<String,Object> entry:newValues.entrySet()){
+			String key = entry.getKey();
+			SwingComponentBindingSupport.ComponentBindingInfo cbi = support.getBinding(key);
+			if(cbi != null){
+				firePropertyChange(key, cbi.comp, cbi.prop, cbi.clazz, oldValues.get(key), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Schedules the next frame. Must be called with the lock held.
+	 */
+	private void schedule(){
+		if(scheduled) return;
+		scheduled = true;
+		long delay = lastFrame + period - System.currentTimeMillis();
+		if(delay <= 0){
+			SwingUtilities.invokeLater(flusher);
+		}else{
+			timer.setInitialDelay((int)delay);
+			timer.restart();
+		}
+	}
+
+	/**
+	 * Applies the pending values and fires the pending events. Called on the
+	 * event dispatch thread.
+	 */
+	private void flush(){
+		Map<String,Object> values;
+		Map<String,PendingEvent> events;
+		synchronized(lock){
+			values = pendingValues;
+			events = pendingEvents;
+			pendingValues = new LinkedHashMap<String,Object>();
+			pendingEvents = new LinkedHashMap<String,PendingEvent>();
+			scheduled = false;
+			lastFrame = System.currentTimeMillis();
+			if(disposed) return;
+
+			Iterator<String> iter = values.keySet().iterator();
+			while(iter.hasNext()){
+				if(!support.isBound(iter.next())){
+					iter.remove();
+					droppedUpdates++;
+				}
+			}
+			appliedUpdates += values.size();
+			applying = true;
+		}
+
+		try {
+			if(!values.isEmpty()){
+				support.setValues(values);
+			}
+		} finally {
+			synchronized(lock){
+				applying = false;
+			}
+		}
+
+		if(events.isEmpty()) return;
+
+		Map<String,Object> oldValues = new LinkedHashMap<String,Object>();
+		Map<String,Object> newValues = new LinkedHashMap<String,Object>();
+		for(Map.Entry<String,PendingEvent> entry:events.entrySet()){
+			PendingEvent pe = entry.getValue();
+			if(SwingComponentBindingSupport.isChanged(pe.oldValue, pe.newValue)){
+				oldValues.put(entry.getKey(), pe.oldValue);
+				newValues.put(entry.getKey(), pe.newValue);
+			}
+		}
+		synchronized(lock){
+			coalescedEvents += events.size() - newValues.size();
+			firedEvents += newValues.size();
+		}
+
+		for(SwingComponentBindingListener listener:listeners){
+			if(listener instanceof SwingComponentBindingBatchListener){
+				((SwingComponentBindingBatchListener)listener).firePropertiesChange(oldValues, newValues);
+			}else{
+				for(Map.Entry<String,Object> entry:newValues.entrySet()){
+					PendingEvent pe = events.get(entry.getKey());
+					listener.firePropertyChange(entry.getKey(), pe.comp, pe.prop, pe.clazz, pe.oldValue, pe.newValue);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops this updater. Pending values and events are discarded and the
+	 * updater stops listening to the binding support.
+	 */
+	public void dispose(){
+		synchronized(lock){
+			disposed = true;
+			droppedUpdates += pendingValues.size();
+			pendingValues.clear();
+			pendingEvents.clear();
+		}
+		timer.stop();
+		support.removeListener(this);
+	}
+
+	/**
+	 * Returns the number of values that were applied to the components.
+	 */
+	public long getAppliedUpdates(){
+		synchronized(lock){
+			return appliedUpdates;
+		}
+	}
+
+	/**
+	 * Returns the number of values that were replaced by a newer value for the
+	 * same key before they were applied.
+	 */
+	public long getCoalescedUpdates(){
+		synchronized(lock){
+			return coalescedUpdates;
+		}
+	}
+
+	/**
+	 * Returns the number of values that were discarded because their key is
+	 * not bound or the updater was disposed.
+	 */
+	public long getDroppedUpdates(){
+		synchronized(lock){
+			return droppedUpdates;
+		}
+	}
+
+	/**
+	 * Returns the number of events fired to the listeners, counting one per
+	 * key and frame.
+	 */
+	public long getFiredEvents(){
+		synchronized(lock){
+			return firedEvents;
+		}
+	}
+
+	/**
+	 * Returns the number of events that were merged into another event or
+	 * cancelled out because the value returned to its old value.
+	 */
+	public long getCoalescedEvents(){
+		synchronized(lock){
+			return coalescedEvents;
+		}
+	}
+
+	public void resetMetrics(){
+		synchronized(lock){
+			appliedUpdates = 0;
+			coalescedUpdates = 0;
+			droppedUpdates = 0;
+			firedEvents = 0;
+			coalescedEvents = 0;
+		}
+	}
+
+	private static class PendingEvent{
+		Component comp;
+		String prop;
+		Class clazz;
+		Object oldValue;
+		Object newValue;
+
+		PendingEvent(Component comp,String prop,Class clazz,Object oldValue,Object newValue){
+			this.comp = comp;
+			this.prop = prop;
+			this.clazz = clazz;
+			this.oldValue = oldValue;
+			this.newValue = newValue;
+		}
+	}
+}
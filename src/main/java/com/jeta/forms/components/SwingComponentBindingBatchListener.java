@@ -0,0 +1,18 @@
+/**
+ * 
+ */
+package com.jeta.forms.components;
+
+import java.util.Map;
+
+/**
+ * A SwingComponentBindingListener that is also notified once when
+ * SwingComponentBindingSupport.setValues pushes a set of values to the
+ * components. The maps contain only the keys whose values changed.
+ * 
+ * @author Wolcen
+ *
+ */
+public interface SwingComponentBindingBatchListener extends SwingComponentBindingListener {
+	public void firePropertiesChange(Map<String,Object> oldValues,Map<String,Object> newValues);
+}
@@ -6,36 +6,85 @@ package com.jeta.forms.components;
 import java.awt.Component;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.jeta.forms.gui.form.BatchUpdate;
 
 /**
  * @author Wolcen
  *
  */
 public class SwingComponentBindingSupport implements PropertyChangeListener {
-	private List listeners = new ArrayList();
+	private static final SwingComponentBindingListener[] NO_LISTENERS = new SwingComponentBindingListener[0];
+
+	/**
+	 * The listeners. This array is replaced (never modified) when a listener is
+	 * added or removed, so events can be fired without copying or locking.
+	 */
+	private volatile SwingComponentBindingListener[] listeners = NO_LISTENERS;
+
 	private List<ComponentBindingInfo> infos;
+
+	/**
+	 * The bindings indexed by component identity and then by property name.
+	 * Built on demand and discarded whenever the bindings change.
+	 */
+	private volatile Map<Component, Map<String, ComponentBindingInfo[]>> compIndex;
+
+	/**
+	 * The bindings indexed by key. Built on demand and discarded whenever the
+	 * bindings change.
+	 */
+	private volatile Map<String, ComponentBindingInfo[]> keyIndex;
+
+	/**
+	 * The thread that is pushing values in setValues. Property changes fired
+	 * on this thread are echoes of the push and are not sent to listeners.
+	 */
+	private volatile Thread pushThread;
+
 	/**
 	 * 
 	 */
 	public SwingComponentBindingSupport() {
 	}
-	
-	public void clearListeners(){
-		listeners.clear();
+
+	public synchronized void clearListeners(){
+		listeners = NO_LISTENERS;
 	}
-	
-	public void addListener(SwingComponentBindingListener listener){
-		if(!listeners.contains(listener)){
-			listeners.add(listener);
+
+	public synchronized void addListener(SwingComponentBindingListener listener){
+		SwingComponentBindingListener[] current = listeners;
+		for(SwingComponentBindingListener l:current){
+			if(l.equals(listener)) return;
 		}
+		SwingComponentBindingListener[] copy = new SwingComponentBindingListener[current.length + 1];
+		System.arraycopy(current, 0, copy, 0, current.length);
+		copy[current.length] = listener;
+		listeners = copy;
 	}
-	public void removeListener(SwingComponentBindingListener listener){
-		if(listeners.contains(listener)){
-			listeners.remove(listener);
+
+	public synchronized void removeListener(SwingComponentBindingListener listener){
+		SwingComponentBindingListener[] current = listeners;
+		for(int index = 0; index < current.length; index++){
+			if(current[index].equals(listener)){
+				SwingComponentBindingListener[] copy = new SwingComponentBindingListener[current.length - 1];
+				System.arraycopy(current, 0, copy, 0, index);
+				System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+				listeners = copy;
+				return;
+			}
 		}
 	}
 
@@ -46,61 +95,165 @@ public class SwingComponentBindingSupport implements PropertyChangeListener {
 	      Object oldValue = evt.getOldValue();
 	      Object newValue = evt.getNewValue();
 	      if(propName == null) return;
-	      if(oldValue == null && newValue == null)
-	      {
-	         	return;
-	      }if(oldValue != null&&newValue!=null&&oldValue.equals(newValue))
-	      {
-	         	return;
-	      }if((oldValue instanceof Date) && (newValue instanceof Date))
-	      {
-	         	if(((Date)oldValue).getTime() == ((Date)newValue).getTime()) return;
+	      if(!isChanged(oldValue, newValue)) return;
+	      if(pushThread == Thread.currentThread()) return;
+	      SwingComponentBindingListener[] current = listeners;
+	      if(current.length == 0) return;
+
+	      Map<String, ComponentBindingInfo[]> props = getComponentIndex().get(source);
+	      if(props == null) return;
+	      ComponentBindingInfo[] cbis = props.get(propName);
+	      if(cbis == null) return;
+
+	      for(ComponentBindingInfo cbi:cbis){
+	    	  for(SwingComponentBindingListener listener:current){
+	    		  listener.firePropertyChange(cbi.key, cbi.comp, cbi.prop, cbi.clazz,oldValue, newValue);
+	    	  }
 	      }
-			for(ComponentBindingInfo cbi:infos){
-				if(cbi.comp.equals(source) && cbi.prop.equals(propName)){
-					for(Object o:listeners){
-						SwingComponentBindingListener listener = (SwingComponentBindingListener)o;
-						listener.firePropertyChange(cbi.key, cbi.comp, cbi.prop, cbi.clazz,oldValue, newValue);
-					}
-					
-				}
-			}
 	}
-	
+
 	public void setPropertyValue(String propKey,Object value){
-		for(ComponentBindingInfo cbi:infos){
-			if(cbi.key.equals(propKey) && cbi.method != null && cbi.clazz != null){
-				Object newValue = ObjectConvert.Converter(cbi.clazz, value);
+		ComponentBindingInfo[] cbis = getKeyIndex().get(propKey);
+		if(cbis == null) return;
+
+		for(ComponentBindingInfo cbi:cbis){
+			if(cbi.setter != null){
 				try {
-					cbi.method.invoke(cbi.comp, newValue);
-				} catch (Exception e) {
+					cbi.setter.invokeExact((Object)cbi.comp, cbi.convert(value));
+				} catch (Throwable e) {
 					e.printStackTrace();
 				}
-				 
 			}
 		}
 	}
-	
-	public void registerBindings(Component comp,String bindings){
-		if(infos == null){
-			infos = new ArrayList<ComponentBindingInfo>();
+
+	/**
+	 * Sets the values of many keys at once. The values are applied in a
+	 * BatchUpdate, and property changes caused by the push are not sent back
+	 * to the listeners. When all values are applied, the listeners that are
+	 * SwingComponentBindingBatchListeners get one event with the old and new
+	 * values of the keys that changed.
+	 */
+	public void setValues(Map<String,Object> values){
+		Map<String, ComponentBindingInfo[]> index = getKeyIndex();
+		Map<String,Object> oldValues = new LinkedHashMap<String,Object>();
+		Map<String,Object> newValues = new LinkedHashMap<String,Object>();
+
+		Thread oldPushThread = pushThread;
+		pushThread = Thread.currentThread();
+		BatchUpdate.begin();
+		try {
+			for(Map.Entry<String,Object> entry:values.entrySet()){
+				ComponentBindingInfo[] cbis = index.get(entry.getKey());
+				if(cbis == null) continue;
+
+				for(ComponentBindingInfo cbi:cbis){
+					if(cbi.setter == null) continue;
+					try {
+						Object oldValue = cbi.getValue();
+						cbi.setter.invokeExact((Object)cbi.comp, cbi.convert(entry.getValue()));
+						Object newValue = cbi.getValue();
+						if(isChanged(oldValue, newValue) && !newValues.containsKey(cbi.key)){
+							oldValues.put(cbi.key, oldValue);
+							newValues.put(cbi.key, newValue);
+						}
+					} catch (Throwable e) {
+						e.printStackTrace();
+					}
+				}
+			}
+		} finally {
+			BatchUpdate.end();
+			pushThread = oldPushThread;
 		}
-		String[] binddefs = bindings.split(";");
-		for(String binddef:binddefs){
-			String key = comp+".getName()";
-			String prop = binddef;
-			if(binddef.indexOf("=") != -1){
-				key  = binddef.substring(0,binddef.indexOf("="));
-				prop = binddef.substring(binddef.indexOf("=") + 1);
+
+		if(newValues.isEmpty()) return;
+		for(SwingComponentBindingListener listener:listeners){
+			if(listener instanceof SwingComponentBindingBatchListener){
+				((SwingComponentBindingBatchListener)listener).firePropertiesChange(oldValues, newValues);
+			}
+		}
+	}
+
+	/**
+	 * Returns the current value of every key in registration order. If more
+	 * than one component is bound to a key, the value of the first one is
+	 * returned.
+	 */
+	public Map<String,Object> getValues(){
+		Map<String,Object> values = new LinkedHashMap<String,Object>();
+		for(Map.Entry<String, ComponentBindingInfo[]> entry:getKeyIndex().entrySet()){
+			for(ComponentBindingInfo cbi:entry.getValue()){
+				if(cbi.getter != null){
+					try {
+						values.put(entry.getKey(), cbi.getValue());
+					} catch (Throwable e) {
+						e.printStackTrace();
+					}
+					break;
+				}
 			}
-			infos.add(new ComponentBindingInfo(key,comp,prop));
 		}
+		return values;
 	}
-	
-	public void replaceBindings(Component compOld,Component comp,String bindings){
+
+	/**
+	 * Returns true if a property change from oldValue to newValue is a real
+	 * change.
+	 */
+	static boolean isChanged(Object oldValue,Object newValue){
+		if(oldValue == null && newValue == null)
+		{
+			return false;
+		}if(oldValue != null&&newValue!=null&&oldValue.equals(newValue))
+		{
+			return false;
+		}if((oldValue instanceof Date) && (newValue instanceof Date))
+		{
+			if(((Date)oldValue).getTime() == ((Date)newValue).getTime()) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if a component is bound to the given key.
+	 */
+	public boolean isBound(String propKey){
+		return getKeyIndex().containsKey(propKey);
+	}
+
+	/**
+	 * Returns the first binding for the given key or null if the key is not
+	 * bound.
+	 */
+	ComponentBindingInfo getBinding(String propKey){
+		ComponentBindingInfo[] cbis = getKeyIndex().get(propKey);
+		return cbis == null ? null : cbis[0];
+	}
+
+	public synchronized void registerBindings(Component comp,String bindings){
 		if(infos == null){
 			infos = new ArrayList<ComponentBindingInfo>();
 		}
+		addBindings(comp, bindings);
+		clearIndexes();
+	}
+
+	public synchronized void replaceBindings(Component compOld,Component comp,String bindings){
+		if(infos == null){
+			infos = new ArrayList<ComponentBindingInfo>();
+		}
+		Iterator<ComponentBindingInfo> iter = infos.iterator();
+		while(iter.hasNext()){
+			if(iter.next().comp == compOld){
+				iter.remove();
+			}
+		}
+		addBindings(comp, bindings);
+		clearIndexes();
+	}
+
+	private void addBindings(Component comp,String bindings){
 		String[] binddefs = bindings.split(";");
 		for(String binddef:binddefs){
 			String key = comp+".getName()";
@@ -111,21 +264,101 @@ public class SwingComponentBindingSupport implements PropertyChangeListener {
 			}
 			infos.add(new ComponentBindingInfo(key,comp,prop));
 		}
-		for(ComponentBindingInfo cbi:infos){
-			if(cbi.comp.equals(compOld)){
-				infos.remove(cbi);
+	}
+
+	private void clearIndexes(){
+		compIndex = null;
+		keyIndex = null;
+	}
+
+	private Map<Component, Map<String, ComponentBindingInfo[]>> getComponentIndex(){
+		Map<Component, Map<String, ComponentBindingInfo[]>> index = compIndex;
+		if(index == null){
+			synchronized(this){
+				if(compIndex == null){
+					buildIndexes();
+				}
+				index = compIndex;
+			}
+		}
+		return index;
+	}
+
+	private Map<String, ComponentBindingInfo[]> getKeyIndex(){
+		Map<String, ComponentBindingInfo[]> index = keyIndex;
+		if(index == null){
+			synchronized(this){
+				if(keyIndex == null){
+					buildIndexes();
+				}
+				index = keyIndex;
 			}
 		}
+		return index;
+	}
+
+	/**
+	 * Builds both indexes from the list of bindings. The bindings for each
+	 * component/property pair and for each key keep their registration order.
+	 */
+	private void buildIndexes(){
+		Map<Component, Map<String, List<ComponentBindingInfo>>> byComp = new IdentityHashMap<Component, Map<String, List<ComponentBindingInfo>>>();
+		Map<String, List<ComponentBindingInfo>> byKey = new LinkedHashMap<String, List<ComponentBindingInfo>>();
+		if(infos != null){
+			for(ComponentBindingInfo cbi:infos){
+				Map<String, List<ComponentBindingInfo>> props = byComp.get(cbi.comp);
+				if(props == null){
+					props = new HashMap<String, List<ComponentBindingInfo>>();
+					byComp.put(cbi.comp, props);
+				}
+				add(props, cbi.prop, cbi);
+				add(byKey, cbi.key, cbi);
+			}
+		}
+
+		Map<Component, Map<String, ComponentBindingInfo[]>> comps = new IdentityHashMap<Component, Map<String, ComponentBindingInfo[]>>();
+		for(Map.Entry<Component, Map<String, List<ComponentBindingInfo>>> entry:byComp.entrySet()){
+			comps.put(entry.getKey(), toArrays(entry.getValue()));
+		}
+		keyIndex = toArrays(byKey);
+		compIndex = comps;
+	}
+
+	private static void add(Map<String, List<ComponentBindingInfo>> map,String name,ComponentBindingInfo cbi){
+		List<ComponentBindingInfo> list = map.get(name);
+		if(list == null){
+			list = new ArrayList<ComponentBindingInfo>(1);
+			map.put(name, list);
+		}
+		list.add(cbi);
+	}
+
+	private static Map<String, ComponentBindingInfo[]> toArrays(Map<String, List<ComponentBindingInfo>> map){
+		Map<String, ComponentBindingInfo[]> result = new LinkedHashMap<String, ComponentBindingInfo[]>();
+		for(Map.Entry<String, List<ComponentBindingInfo>> entry:map.entrySet()){
+			List<ComponentBindingInfo> list = entry.getValue();
+			result.put(entry.getKey(), list.toArray(new ComponentBindingInfo[list.size()]));
+		}
+		return result;
 	}
-	
 
 	class ComponentBindingInfo{
 		public String key = null;
 		public Component comp = null;
 		public String prop = null;
-		public Method method = null;
 		public Class  clazz = null;
-		
+		/**
+		 * The setter and getter as (Object,Object)void and (Object)Object
+		 * handles. Null if the property does not have them.
+		 */
+		MethodHandle setter = null;
+		MethodHandle getter = null;
+		/**
+		 * The wrapper type of clazz. Values of this type or of clazz are
+		 * passed to the setter without going through ObjectConvert.
+		 */
+		private Class boxedClazz = null;
+
 		private ComponentBindingInfo(String key, Component comp,String prop){
 			this.key = key;
 			this.comp = comp;
@@ -135,11 +368,33 @@ public class SwingComponentBindingSupport implements PropertyChangeListener {
 				Class type = comp.getClass();
 				Method method0 = type.getMethod("get"+name);
 				this.clazz = method0.getReturnType();
-				this.method = type.getMethod("set"+name,this.clazz);
-				this.method.setAccessible(true);
+				this.boxedClazz = MethodType.methodType(this.clazz).wrap().returnType();
+				method0.setAccessible(true);
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				this.getter = lookup.unreflect(method0).asType(MethodType.methodType(Object.class, Object.class));
+				Method method = type.getMethod("set"+name,this.clazz);
+				method.setAccessible(true);
+				this.setter = lookup.unreflect(method).asType(MethodType.methodType(void.class, Object.class, Object.class));
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
 		}
+
+		/**
+		 * Returns the current value of the property.
+		 */
+		Object getValue() throws Throwable{
+			return getter.invokeExact((Object)comp);
+		}
+
+		/**
+		 * Converts a value to the property type.
+		 */
+		Object convert(Object value){
+			if(value == null) return null;
+			Class sourceType = value.getClass();
+			if(sourceType == clazz || sourceType == boxedClazz) return value;
+			return ObjectConvert.Converter(clazz, value);
+		}
 	}
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.components.border;
+
+import java.util.HashMap;
+
+import javax.swing.LookAndFeel;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+
+/**
+ * A flyweight cache of Swing borders. Forms generally use only a handful of
+ * distinct border styles across many components, so border properties with
+ * the same values share a single border instance. Borders are keyed by a
+ * string that encodes the value of the border property (see
+ * {@link com.jeta.forms.store.properties.BorderProperty#getBorder}).
+ * 
+ * Some borders resolve fonts and colors from the UIManager when they are
+ * created, so the cache is cleared whenever the look and feel changes.
+ * 
+ * @author Jeff Tassin
+ */
+public class BorderCache {
+	/**
+	 * A map of border keys to shared borders. m_borders<String,Border>
+	 */
+	private static HashMap m_borders = new HashMap();
+
+	/**
+	 * The maximum number of borders in the cache. The cache is cleared if this
+	 * is exceeded. This should never happen at runtime, but can happen in the
+	 * designer as the user edits borders.
+	 */
+	private static final int MAX_SIZE = 256;
+
+	/**
+	 * The look and feel that was in effect when the cached borders were
+	 * created.
+	 */
+	private static LookAndFeel m_look_and_feel;
+
+	/**
+	 * Returns the shared border for the given key. Null is returned if the
+	 * border is not in the cache.
+	 */
+	public static Border getBorder(String key) {
+		synchronized (m_borders) {
+			if (isLookAndFeelChanged())
+				m_borders.clear();
+
+			return (Border) m_borders.get(key);
+		}
+	}
+
+	/**
+	 * Adds a border to the cache.
+	 */
+	public static void putBorder(String key, Border border) {
+		synchronized (m_borders) {
+			if (m_borders.size() >= MAX_SIZE)
+				m_borders.clear();
+
+			m_borders.put(key, border);
+		}
+	}
+
+	/**
+	 * Removes all borders from the cache.
+	 */
+	public static void clear() {
+		synchronized (m_borders) {
+			m_borders.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of borders in the cache.
+	 */
+	public static int size() {
+		synchronized (m_borders) {
+			return m_borders.size();
+		}
+	}
+
+	private static boolean isLookAndFeelChanged() {
+		LookAndFeel lf = UIManager.getLookAndFeel();
+		if (m_look_and_feel != lf) {
+			m_look_and_feel = lf;
+			return true;
+		}
+		return false;
+	}
+}
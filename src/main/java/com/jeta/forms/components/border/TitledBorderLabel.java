@@ -30,12 +30,14 @@
 package com.jeta.forms.components.border;
 
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Font;
 
 import javax.swing.JComponent;
 import javax.swing.UIManager;
 import javax.swing.border.TitledBorder;
 
+import com.jeta.forms.components.label.CachedTextMetrics;
 import com.jeta.open.i18n.I18N;
 
 /**
@@ -69,6 +71,18 @@ public class TitledBorderLabel extends JComponent {
 	 */
 	private int m_justification = TitledBorder.DEFAULT_JUSTIFICATION;
 
+	/**
+	 * The measured width and glyphs of the title. Used by the UI.
+	 */
+	private transient CachedTextMetrics m_text_metrics;
+
+	/**
+	 * The preferred and minimum sizes calculated by the UI. These are
+	 * discarded when the title or font changes.
+	 */
+	private transient Dimension m_pref_size;
+	private transient Dimension m_min_size;
+
 	/**
 	 * ctor
 	 */
@@ -83,6 +97,15 @@ public class TitledBorderLabel extends JComponent {
 		return m_title;
 	}
 
+	/**
+	 * Returns the cached metrics for the title text.
+	 */
+	CachedTextMetrics getTextMetrics() {
+		if (m_text_metrics == null)
+			m_text_metrics = new CachedTextMetrics();
+		return m_text_metrics;
+	}
+
 	/**
 	 * Returns the title text color.
 	 */
@@ -111,6 +134,48 @@ public class TitledBorderLabel extends JComponent {
 		return f;
 	}
 
+	/**
+	 * Override getMinimumSize to return the cached value if available.
+	 */
+	public Dimension getMinimumSize() {
+		if (isMinimumSizeSet())
+			return super.getMinimumSize();
+
+		if (m_min_size == null)
+			m_min_size = super.getMinimumSize();
+		return new Dimension(m_min_size);
+	}
+
+	/**
+	 * Override getPreferredSize to return the cached value if available.
+	 */
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet())
+			return super.getPreferredSize();
+
+		if (m_pref_size == null)
+			m_pref_size = super.getPreferredSize();
+		return new Dimension(m_pref_size);
+	}
+
+	/**
+	 * Override invalidate to discard the cached sizes.
+	 */
+	public void invalidate() {
+		super.invalidate();
+		clearTextMetrics();
+	}
+
+	/**
+	 * Discards the cached sizes and text metrics.
+	 */
+	private void clearTextMetrics() {
+		m_pref_size = null;
+		m_min_size = null;
+		if (m_text_metrics != null)
+			m_text_metrics.invalidate();
+	}
+
 	/**
 	 * Resets the UI property to a value from the current look and feel.
 	 * 
@@ -118,6 +183,7 @@ public class TitledBorderLabel extends JComponent {
 	 */
 	public void updateUI() {
 		setUI(new TitledBorderLabelUI());
+		clearTextMetrics();
 	}
 
 	/**
@@ -125,6 +191,7 @@ public class TitledBorderLabel extends JComponent {
 	 */
 	public void setText(String title) {
 		m_title = title;
+		clearTextMetrics();
 	}
 
 	/**
@@ -139,6 +206,7 @@ public class TitledBorderLabel extends JComponent {
 	 */
 	public void setFont(Font font) {
 		m_font = font;
+		clearTextMetrics();
 	}
 
 	/**
@@ -34,6 +34,7 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Rectangle;
 
@@ -43,6 +44,8 @@ import javax.swing.border.Border;
 import javax.swing.border.TitledBorder;
 import javax.swing.plaf.ComponentUI;
 
+import com.jeta.forms.components.label.CachedTextMetrics;
+
 /**
  * The UI for a component that simulates the top part of a TitledBorder. This
  * component is useful when flattening layouts. It allows a titled border to be
@@ -92,7 +95,7 @@ public class TitledBorderLabelUI extends ComponentUI {
 				/** add 4 pixels to line height for padding */
 				int line_height = metrics.getHeight() + 4;
 				/** add 10 pixels to label width for padding */
-				int line_width = metrics.stringWidth(title) + 10;
+				int line_width = label.getTextMetrics().stringWidth(metrics, title) + 10;
 				return new Dimension(line_width, line_height);
 			}
 		}
@@ -124,7 +127,8 @@ public class TitledBorderLabelUI extends ComponentUI {
 
 			g.setFont(bordercomp.getFont());
 			FontMetrics fm = g.getFontMetrics();
-			int stringWidth = fm.stringWidth(title);
+			CachedTextMetrics text_metrics = bordercomp.getTextMetrics();
+			int stringWidth = text_metrics.stringWidth(fm, title);
 
 			int border_y = fm.getAscent() / 2 + VERTICAL_PADDING;
 			int text_y = (border_y - fm.getDescent()) + (insets.top + fm.getAscent() + fm.getDescent()) / 2;
@@ -184,7 +188,7 @@ public class TitledBorderLabelUI extends ComponentUI {
 				g.setClip(oldclip);
 
 				g.setColor(bordercomp.getTitleColor());
-				g.drawString(title, text_x, text_y);
+				text_metrics.drawString((Graphics2D) g, title, text_x, text_y);
 			}
 
 			/** restore original font and color */
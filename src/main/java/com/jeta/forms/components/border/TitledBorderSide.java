@@ -57,6 +57,12 @@ public class TitledBorderSide extends JComponent {
 	 */
 	private int m_orientation;
 
+	/**
+	 * The ascent of the font. This is cached because it is needed with every
+	 * paint. 0 if it has not been calculated.
+	 */
+	private transient int m_font_ascent;
+
 	public static final int LEFT = 0;
 	public static final int RIGHT = 1;
 
@@ -79,6 +85,24 @@ public class TitledBorderSide extends JComponent {
 		return f;
 	}
 
+	/**
+	 * Returns the ascent of the font for this component. The ascent is used
+	 * to align the top of this component with the TitledBorderLabel.
+	 */
+	int getFontAscent() {
+		if (m_font_ascent <= 0)
+			m_font_ascent = getFontMetrics(getFont()).getAscent();
+		return m_font_ascent;
+	}
+
+	/**
+	 * Override invalidate to discard the cached font ascent.
+	 */
+	public void invalidate() {
+		super.invalidate();
+		m_font_ascent = 0;
+	}
+
 	/**
 	 * Returns the orienation for this component: LEFT or RIGHT
 	 */
@@ -92,6 +116,7 @@ public class TitledBorderSide extends JComponent {
 	 */
 	public void setFont(Font font) {
 		m_font = font;
+		m_font_ascent = 0;
 	}
 
 	/**
@@ -114,6 +139,7 @@ public class TitledBorderSide extends JComponent {
 	 */
 	public void updateUI() {
 		setUI(new TitledBorderSideUI());
+		m_font_ascent = 0;
 	}
 
 }
@@ -30,8 +30,6 @@
 package com.jeta.forms.components.border;
 
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 
 import javax.swing.JComponent;
@@ -78,10 +76,7 @@ public class TitledBorderSideUI extends ComponentUI {
 		if (c instanceof TitledBorderSide && border != null) {
 			TitledBorderSide tb = (TitledBorderSide) c;
 
-			Font font = tb.getFont();
-			FontMetrics fm = c.getFontMetrics(font);
-
-			int border_y = fm.getAscent() / 2 + TitledBorderLabelUI.VERTICAL_PADDING;
+			int border_y = tb.getFontAscent() / 2 + TitledBorderLabelUI.VERTICAL_PADDING;
 			int border_height = c.getHeight() - border_y;
 
 			if (tb.getOrientation() == TitledBorderSide.LEFT) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.components.label;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+
+/**
+ * Caches the measured width and the glyph vector of a single line of text for
+ * a component that renders its own text. The values are kept for one
+ * combination of text, font and font render context. The render context
+ * includes the anti-aliasing and fractional metrics settings, so the values
+ * are recalculated if any of these change. Components should also call
+ * <code>invalidate</code> when their text or font properties change so that
+ * the old values can be released.
+ * 
+ * @author Jeff Tassin
+ */
+public class CachedTextMetrics {
+	/**
+	 * The text, font and render context of the cached width
+	 */
+	private String m_width_text;
+	private Font m_width_font;
+	private FontRenderContext m_width_frc;
+
+	/**
+	 * The cached width of the text in pixels.
+	 */
+	private int m_width;
+
+	/**
+	 * The text, font and render context of the cached glyph vector
+	 */
+	private String m_glyphs_text;
+	private Font m_glyphs_font;
+	private FontRenderContext m_glyphs_frc;
+
+	/**
+	 * The cached glyph vector
+	 */
+	private GlyphVector m_glyphs;
+
+	/**
+	 * Returns the width of the given text for the given font metrics. This is
+	 * the same value as <code>FontMetrics.stringWidth</code>.
+	 * 
+	 * @param fm
+	 *            the metrics of the font used to render the text
+	 * @param text
+	 *            the text to measure
+	 * @return the advance width of the text in pixels
+	 */
+	public int stringWidth(FontMetrics fm, String text) {
+		Font font = fm.getFont();
+		FontRenderContext frc = fm.getFontRenderContext();
+		if (m_width_text == null || !m_width_text.equals(text) || !m_width_font.equals(font) || !m_width_frc.equals(frc)) {
+			m_width = fm.stringWidth(text);
+			m_width_text = text;
+			m_width_font = font;
+			m_width_frc = frc;
+		}
+		return m_width;
+	}
+
+	/**
+	 * Draws the given text using the cached glyph vector. The glyph vector is
+	 * created for the font render context of the graphics context, so the
+	 * result is the same as <code>Graphics.drawString</code>. Text that may
+	 * need bidi reordering or shaping is passed to <code>drawString</code>.
+	 * 
+	 * @param g
+	 *            the graphics context. The text is drawn with the current
+	 *            font and color of the context.
+	 * @param text
+	 *            the text to draw
+	 * @param x
+	 *            the x coordinate of the text baseline
+	 * @param y
+	 *            the y coordinate of the text baseline
+	 */
+	public void drawString(Graphics2D g, String text, int x, int y) {
+		Font font = g.getFont();
+		if (font.hasLayoutAttributes() || !isSimpleText(text)) {
+			g.drawString(text, x, y);
+			return;
+		}
+
+		FontRenderContext frc = g.getFontRenderContext();
+		if (m_glyphs_text == null || !m_glyphs_text.equals(text) || !m_glyphs_font.equals(font) || !m_glyphs_frc.equals(frc)) {
+			m_glyphs = font.createGlyphVector(frc, text);
+			m_glyphs_text = text;
+			m_glyphs_font = font;
+			m_glyphs_frc = frc;
+		}
+		g.drawGlyphVector(m_glyphs, x, y);
+	}
+
+	/**
+	 * Returns true if the given text only contains characters that are
+	 * rendered one glyph per character from left to right. Combining marks
+	 * and right to left or complex scripts all start at or above U+0300.
+	 */
+	private static boolean isSimpleText(String text) {
+		for (int index = 0; index < text.length(); index++) {
+			if (text.charAt(index) >= 0x0300)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Releases the cached values. Called when the text or font of the
+	 * component changes.
+	 */
+	public void invalidate() {
+		m_width_text = null;
+		m_width_font = null;
+		m_width_frc = null;
+		m_glyphs_text = null;
+		m_glyphs_font = null;
+		m_glyphs_frc = null;
+		m_glyphs = null;
+	}
+}
@@ -29,10 +29,14 @@
 
 package com.jeta.forms.components.label;
 
+import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 
 import javax.swing.JLabel;
 
@@ -61,10 +65,27 @@ public class JETALabel extends JLabel implements Paintable {
 	 */
 	private boolean m_antialiased = false;
 
+	/**
+	 * The preferred and minimum sizes calculated by the label UI. Measuring
+	 * the text is the most expensive part of laying out a form with many
+	 * labels, so the sizes are kept until a property of this label changes or
+	 * the label is invalidated.
+	 */
+	private transient Dimension m_pref_size;
+	private transient Dimension m_min_size;
+
+	/**
+	 * The font used to calculate the cached sizes. The font can be inherited
+	 * from the parent, and an invalid label is not invalidated again when the
+	 * parent font changes. So, we also check the font.
+	 */
+	private transient Font m_size_font;
+
 	/**
 	 * Default <code>JETALabel</code> constructor.
 	 */
 	public JETALabel() {
+		addSizeListener();
 	}
 
 	/**
@@ -75,6 +96,62 @@ public class JETALabel extends JLabel implements Paintable {
 	 */
 	public JETALabel(String txt) {
 		super(txt);
+		addSizeListener();
+	}
+
+	/**
+	 * Adds a listener that discards the cached sizes when any property of
+	 * this label changes (text, font, icon, border, alignment, look and feel,
+	 * rendering hints, etc).
+	 */
+	private void addSizeListener() {
+		addPropertyChangeListener(new PropertyChangeListener() {
+			public void propertyChange(PropertyChangeEvent evt) {
+				m_pref_size = null;
+				m_min_size = null;
+			}
+		});
+	}
+
+	/**
+	 * Override getMinimumSize to return the cached value if available.
+	 */
+	public Dimension getMinimumSize() {
+		if (isMinimumSizeSet())
+			return super.getMinimumSize();
+
+		if (m_min_size == null || m_size_font != getFont()) {
+			m_pref_size = null;
+			m_min_size = super.getMinimumSize();
+			m_size_font = getFont();
+		}
+		return new Dimension(m_min_size);
+	}
+
+	/**
+	 * Override getPreferredSize to return the cached value if available.
+	 */
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet())
+			return super.getPreferredSize();
+
+		if (m_pref_size == null || m_size_font != getFont()) {
+			m_min_size = null;
+			m_pref_size = super.getPreferredSize();
+			m_size_font = getFont();
+		}
+		return new Dimension(m_pref_size);
+	}
+
+	/**
+	 * Override invalidate to discard the cached sizes. The label is
+	 * invalidated when an inherited property such as the font of the parent
+	 * changes.
+	 */
+	public void invalidate() {
+		super.invalidate();
+		m_pref_size = null;
+		m_min_size = null;
 	}
 
 	/**
@@ -46,11 +46,17 @@ import com.jeta.forms.gui.common.FormException;
 import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.gui.form.FormAccessor;
 import com.jeta.forms.gui.form.FormComponent;
+import com.jeta.forms.gui.form.FormComponentFinder;
 import com.jeta.forms.gui.form.FormIterator;
+import com.jeta.forms.gui.form.GridView;
 import com.jeta.forms.gui.formmgr.FormManagerUtils;
 import com.jeta.open.gui.framework.JETAPanel;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.i18n.I18NUtils;
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.support.ComponentFinder;
+import com.jeta.open.support.ComponentFinderFactory;
+import com.jeta.open.support.DefaultComponentFinderFactory;
 
 /**
  * This is the main panel class used to load and view a form during runtime.
@@ -195,6 +201,20 @@ public class FormPanel extends JETAPanel {
 		m_form_comp = fc;
 	}
 
+	/**
+	 * Override JETAPanel implementation so we can use a FormComponentFinder
+	 * when the default finder is registered. The FormComponentFinder does not
+	 * attach listeners to the containers on the form.
+	 */
+	protected ComponentFinder createComponentFinder() {
+		if (m_form_comp != null && m_form_comp.getChildView() != null) {
+			Object ff = JETARegistry.lookup(ComponentFinderFactory.COMPONENT_ID);
+			if (ff == null || ff.getClass() == DefaultComponentFinderFactory.class)
+				return new FormComponentFinder(this, m_form_comp.getChildView());
+		}
+		return super.createComponentFinder();
+	}
+
 	/**
 	 * Adds the form to this panel using the given layout manager and
 	 * constraints
@@ -276,7 +296,17 @@ public class FormPanel extends JETAPanel {
 	 *         component is not a FormAccessor object.
 	 */
 	public FormAccessor getFormAccessor(String compName) {
-		Component comp = getComponentByName(compName);
+		GridView view = (m_form_comp == null ? null : m_form_comp.getChildView());
+		Component comp = null;
+		if (view != null) {
+			if (compName != null && compName.equals(view.getFormName()))
+				comp = view;
+			else
+				comp = view.getBean(compName);
+		}
+
+		if (comp == null)
+			comp = getComponentByName(compName);
 		if (comp instanceof FormAccessor)
 			return (FormAccessor) comp;
 		else
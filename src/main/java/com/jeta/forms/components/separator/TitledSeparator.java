@@ -42,6 +42,7 @@ import javax.swing.JSeparator;
 import javax.swing.SwingConstants;
 import javax.swing.UIManager;
 
+import com.jeta.forms.components.label.JETALabel;
 import com.jeta.jgoodies.forms.layout.Sizes;
 
 /**
@@ -227,8 +228,9 @@ public class TitledSeparator extends JPanel {
 		m_label.setText(title);
 	}
 
-	// A label that uses the TitleBorder font and color
-	private class TitleLabel extends JLabel {
+	// A label that uses the TitleBorder font and color. JETALabel caches the
+	// measured size of the title.
+	private class TitleLabel extends JETALabel {
 		private TitleLabel() {
 			// Just invoke the super constructor.
 		}
@@ -339,8 +341,6 @@ public class TitledSeparator extends JPanel {
 				Component separator1 = parent.getComponent(1);
 				int separatorHeight = separator1.getPreferredSize().height;
 
-				java.awt.FontMetrics metrics = label.getFontMetrics(label.getFont());
-				int ascent = metrics.getMaxAscent();
 				int hGapDlu = 3;
 				int hGap = Sizes.dialogUnitXAsPixel(hGapDlu, label);
 				int vOffset = 1 + (labelHeight - separatorHeight) / 2;
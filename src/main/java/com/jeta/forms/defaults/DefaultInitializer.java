@@ -31,6 +31,7 @@ package com.jeta.forms.defaults;
 
 import java.util.logging.Logger;
 
+import com.jeta.forms.colormgr.ColorCache;
 import com.jeta.forms.colormgr.ColorManager;
 import com.jeta.forms.colormgr.DefaultColorManager;
 import com.jeta.forms.gui.common.FormUtils;
@@ -66,6 +67,7 @@ public class DefaultInitializer {
 				/** required for the forms framework */
 				com.jeta.open.defaults.DefaultInitializer.initialize();
 				JETARegistry.rebind(ColorManager.COMPONENT_ID, new DefaultColorManager());
+				ColorCache.invalidate();
 				JETARegistry.rebind(BeanSerializerFactory.COMPONENT_ID, new DefaultBeanSerializerFactory());
 				JETARegistry.rebind(FormComponentFactory.COMPONENT_ID, new DefaultFormComponentFactory());
 				JETARegistry.rebind(INIT_FLAG, Boolean.TRUE);
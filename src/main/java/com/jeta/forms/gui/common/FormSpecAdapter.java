@@ -32,6 +32,7 @@ package com.jeta.forms.gui.common;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.HashMap;
 
 import com.jeta.forms.gui.common.parsers.FormSpecParser;
 import com.jeta.forms.logger.FormsLogger;
@@ -99,6 +100,24 @@ public class FormSpecAdapter implements FormSpecDefinition, Externalizable {
 	 */
 	private double m_resize_weight = 1.0;
 
+	/**
+	 * The maximum number of entries in each of the caches below.
+	 */
+	private static final int MAX_CACHE_SIZE = 2048;
+
+	/**
+	 * Shared adapters keyed by the encoded spec they were parsed from. The
+	 * same specs are used in every form, so each one is parsed only once.
+	 * m_adapters<String,FormSpecAdapter>
+	 */
+	private static HashMap m_adapters = new HashMap();
+
+	/**
+	 * The results of fixup and fixupSpecs keyed by their input.
+	 * m_fixups<String,String>
+	 */
+	private static HashMap m_fixups = new HashMap();
+
 	/**
 	 * ctor
 	 */
@@ -151,12 +170,54 @@ public class FormSpecAdapter implements FormSpecDefinition, Externalizable {
 	 * constructor cannot handle this form.
 	 */
 	public static String fixup(String enc) {
-		try {
-			FormSpecAdapter adapter = new FormSpecAdapter(enc);
-			return FormUtils.toEncodedString(adapter);
-		} catch (Exception e) {
-			return enc;
+		String result = (String) getCached(m_fixups, enc);
+		if (result == null) {
+			try {
+				result = FormUtils.toEncodedString(getAdapter(enc));
+			} catch (Exception e) {
+				result = enc;
+			}
+			putCached(m_fixups, enc, result);
 		}
+		return result;
+	}
+
+	/**
+	 * Returns a shared adapter for the given encoded spec. The spec is parsed
+	 * only the first time it is requested. The returned adapter is shared and
+	 * must not be modified.
+	 */
+	public static FormSpecAdapter getAdapter(String enc) {
+		FormSpecAdapter adapter = (FormSpecAdapter) getCached(m_adapters, enc);
+		if (adapter == null) {
+			adapter = new FormSpecAdapter(enc);
+			putCached(m_adapters, enc, adapter);
+		}
+		return adapter;
+	}
+
+	/**
+	 * Returns a shared adapter for the given column spec.
+	 */
+	public static FormSpecAdapter getAdapter(ColumnSpec spec) {
+		return getAdapter(spec.toString());
+	}
+
+	/**
+	 * Returns a shared adapter for the given row spec.
+	 */
+	public static FormSpecAdapter getAdapter(RowSpec spec) {
+		return getAdapter(spec.toString());
+	}
+
+	private static synchronized Object getCached(HashMap cache, String key) {
+		return cache.get(key);
+	}
+
+	private static synchronized void putCached(HashMap cache, String key, Object value) {
+		if (cache.size() >= MAX_CACHE_SIZE)
+			cache.clear();
+		cache.put(key, value);
 	}
 
 	/**
@@ -169,15 +230,20 @@ public class FormSpecAdapter implements FormSpecDefinition, Externalizable {
 			FormUtils.safeAssert(false);
 		}
 		// System.out.println( "FormSpecAdapter:fixupSpecs: " + specs );
-		StringBuffer sbuff = new StringBuffer();
-		java.util.StringTokenizer st = new java.util.StringTokenizer(specs, ",");
-		while (st.hasMoreTokens()) {
-			String spec = st.nextToken();
-			sbuff.append(FormSpecAdapter.fixup(spec));
-			if (st.hasMoreTokens())
-				sbuff.append(",");
+		String result = (String) getCached(m_fixups, specs);
+		if (result == null) {
+			StringBuffer sbuff = new StringBuffer();
+			java.util.StringTokenizer st = new java.util.StringTokenizer(specs, ",");
+			while (st.hasMoreTokens()) {
+				String spec = st.nextToken();
+				sbuff.append(FormSpecAdapter.fixup(spec));
+				if (st.hasMoreTokens())
+					sbuff.append(",");
+			}
+			result = sbuff.toString();
+			putCached(m_fixups, specs, result);
 		}
-		return sbuff.toString();
+		return result;
 	}
 
 	/**
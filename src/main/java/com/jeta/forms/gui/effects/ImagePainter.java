@@ -39,6 +39,7 @@ import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.store.properties.ImageProperty;
 import com.jeta.open.registry.JETARegistry;
 import com.jeta.open.resources.AppResourceLoader;
+import com.jeta.open.resources.ImageCache;
 import com.jeta.open.resources.ResourceLoader;
 
 /**
@@ -111,7 +112,7 @@ public class ImagePainter implements Painter {
 						ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
 						FormUtils.safeAssert(loader != null);
 						if (loader != null) {
-							m_design_icon = loader.loadImage("images/general/16x16/portrait.png");
+							m_design_icon = ImageCache.getImage(loader, "images/general/16x16/portrait.png");
 						}
 					}
 					else {
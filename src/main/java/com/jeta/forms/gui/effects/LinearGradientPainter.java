@@ -36,9 +36,6 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.Rectangle;
 
-import javax.swing.LookAndFeel;
-import javax.swing.UIManager;
-
 import org.apache.batik.ext.awt.LinearGradientPaint;
 
 import com.jeta.forms.store.properties.effects.GradientProperty;
@@ -57,25 +54,6 @@ public class LinearGradientPainter implements Painter {
 	 */
 	private GradientProperty m_gradient_prop;
 
-	/**
-	 * A paint object derived from the gradient property. It is cached so we
-	 * don't have to re-instantiate with every paint.
-	 */
-	private Paint m_cached_paint;
-
-	/**
-	 * A rectangle used as a basis for the gradient paint. This value is checked
-	 * everytime the paint method is called. If the paint area has changed, we
-	 * regenerate the Paint object.
-	 */
-	private Rectangle m_last_rect = new Rectangle();
-
-	/**
-	 * We keep track of the look and feel. If it changes, we need to regenerate
-	 * the paint
-	 */
-	private LookAndFeel m_look_and_feel;
-
 	/**
 	 * Creates a <code>LinearGradientProperty</code> instance with no paint
 	 * attributes.
@@ -162,7 +140,8 @@ public class LinearGradientPainter implements Painter {
 
 	/**
 	 * Painter Implementation. Paints a linear gradient on a given graphics
-	 * context.
+	 * context. The gradient is rendered once for each size and then copied
+	 * from the {@link PaintCache}.
 	 * 
 	 * @param g
 	 *            the graphics context
@@ -177,18 +156,19 @@ public class LinearGradientPainter implements Painter {
 		Graphics2D g2 = (Graphics2D) g;
 		Paint old_paint = g2.getPaint();
 
-		LookAndFeel lf = UIManager.getLookAndFeel();
-		if (m_look_and_feel != lf) {
-			m_cached_paint = null;
-			m_look_and_feel = lf;
-		}
+		GradientProperty gp = m_gradient_prop;
+		PaintCache.Key key = new PaintCache.Key(LinearGradientPainter.class, gp.getStartColor().getColor(), gp.getEndColor().getColor(), gp
+				.getDirection(), gp.getMagnitude(), 0);
 
-		if (m_cached_paint == null || !rect.equals(m_last_rect)) {
-			m_last_rect.setBounds(rect.x, rect.y, rect.width, rect.height);
-			m_cached_paint = createPaint(rect, m_gradient_prop);
-		}
+		/** repaints are a copy of the rendered gradient if it can be cached */
+		if (PaintCache.paint(g2, rect, key))
+			return;
+
+		Paint paint = createPaint(rect, gp);
+		if (PaintCache.paint(g2, rect, key, paint))
+			return;
 
-		g2.setPaint(m_cached_paint);
+		g2.setPaint(paint);
 
 		Rectangle clip_rect = g.getClipBounds();
 		if (rect.intersects(clip_rect)) {
@@ -205,7 +185,6 @@ public class LinearGradientPainter implements Painter {
 	 *            the gradient property to associate with this painter.
 	 */
 	public void setGradientProperty(GradientProperty prop) {
-		m_cached_paint = null;
 		m_gradient_prop = prop;
 	}
 }
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.effects;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A shared cache of rasterized fill effects. Gradient and texture paints are
+ * expensive to render because every pixel is computed on every paint. Instead,
+ * painters render their paint once into a compatible image for a given size,
+ * scale, and set of paint attributes, and subsequent repaints simply copy the
+ * image to the graphics context. All painters share a single memory budget.
+ * When the budget is exceeded, the least recently used images are discarded.
+ * 
+ * @author Jeff Tassin
+ */
+public class PaintCache {
+	/**
+	 * The default memory budget in bytes.
+	 */
+	public static final long DEFAULT_MEMORY_BUDGET = 8 * 1024 * 1024;
+
+	/**
+	 * The maximum number of bytes in all cached images.
+	 */
+	private static long m_budget = DEFAULT_MEMORY_BUDGET;
+
+	/**
+	 * The current number of bytes in all cached images.
+	 */
+	private static long m_size;
+
+	/**
+	 * A map of Key objects to BufferedImages. The map is in access order so
+	 * the first entry is the least recently used.
+	 */
+	private static LinkedHashMap m_images = new LinkedHashMap(16, 0.75f, true);
+
+	/**
+	 * Removes all cached images.
+	 */
+	public static synchronized void clear() {
+		m_images.clear();
+		m_size = 0;
+	}
+
+	/**
+	 * Returns the maximum number of bytes used by all cached images.
+	 */
+	public static synchronized long getMemoryBudget() {
+		return m_budget;
+	}
+
+	/**
+	 * Sets the maximum number of bytes used by all cached images. A budget of
+	 * zero disables the cache and painters render directly to the graphics
+	 * context.
+	 */
+	public static synchronized void setMemoryBudget(long budget) {
+		m_budget = Math.max(0, budget);
+		evict();
+	}
+
+	/**
+	 * Returns the number of bytes currently used by all cached images.
+	 */
+	public static synchronized long getMemorySize() {
+		return m_size;
+	}
+
+	/**
+	 * Returns the number of images in the cache.
+	 */
+	public static synchronized int size() {
+		return m_images.size();
+	}
+
+	/**
+	 * Paints the given rectangle using the cached image for the given key.
+	 * 
+	 * @param g2
+	 *            the graphics context
+	 * @param rect
+	 *            the rectangle to fill
+	 * @param key
+	 *            the key that identifies the rendered paint. Two keys must
+	 *            only be equal if filling the rectangle with their paints
+	 *            produces the same pixels.
+	 * @return false if the image is not in the cache. In this case, the caller
+	 *         should create the paint and call
+	 *         {@link #paint(Graphics2D, Rectangle, Key, Paint)}.
+	 */
+	static boolean paint(Graphics2D g2, Rectangle rect, Key key) {
+		if (rect.width <= 0 || rect.height <= 0)
+			return true;
+
+		Key image_key = getImageKey(g2, rect, key);
+		if (image_key == null)
+			return false;
+
+		BufferedImage img = getImage(image_key);
+		if (img == null)
+			return false;
+
+		drawImage(g2, rect, img, image_key.m_scale);
+		return true;
+	}
+
+	/**
+	 * Renders the given paint into an image, adds the image to the cache, and
+	 * paints the given rectangle using the image.
+	 * 
+	 * @param g2
+	 *            the graphics context
+	 * @param rect
+	 *            the rectangle to fill
+	 * @param key
+	 *            the key that identifies the rendered paint.
+	 * @param paint
+	 *            the paint used to render the image
+	 * @return false if the paint could not be cached because the rectangle is
+	 *         too large or the graphics context is rotated or sheared. In this
+	 *         case, the caller should paint directly to the graphics context.
+	 */
+	static boolean paint(Graphics2D g2, Rectangle rect, Key key, Paint paint) {
+		if (rect.width <= 0 || rect.height <= 0)
+			return true;
+
+		Key image_key = getImageKey(g2, rect, key);
+		if (image_key == null)
+			return false;
+
+		int width = image_key.m_width;
+		int height = image_key.m_height;
+		double scale = image_key.m_scale;
+
+		BufferedImage img;
+		GraphicsConfiguration gc = g2.getDeviceConfiguration();
+		if (gc == null)
+			img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		else
+			img = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+		Graphics2D ig = img.createGraphics();
+		ig.setRenderingHints(g2.getRenderingHints());
+		ig.scale(scale, scale);
+		ig.translate(-rect.x, -rect.y);
+		ig.setPaint(paint);
+		ig.fillRect(rect.x, rect.y, rect.width, rect.height);
+		ig.dispose();
+		putImage(image_key, img, (long) width * (long) height * 4);
+
+		drawImage(g2, rect, img, scale);
+		return true;
+	}
+
+	/**
+	 * Returns the key for the image that fills the given rectangle on the
+	 * given graphics context. Null is returned if the image cannot be cached
+	 * because it is too large or the graphics context is rotated or sheared.
+	 */
+	private static Key getImageKey(Graphics2D g2, Rectangle rect, Key key) {
+		AffineTransform tx = g2.getTransform();
+		if ((tx.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE)) != 0)
+			return null;
+
+		double scale = tx.getScaleX();
+		int width = (int) Math.ceil(rect.width * scale);
+		int height = (int) Math.ceil(rect.height * scale);
+		long bytes = (long) width * (long) height * 4;
+		if (width <= 0 || height <= 0 || bytes > getMemoryBudget() / 4)
+			return null;
+
+		return key.resize(width, height, scale);
+	}
+
+	/**
+	 * Copies a cached image to the given rectangle.
+	 */
+	private static void drawImage(Graphics2D g2, Rectangle rect, BufferedImage img, double scale) {
+		if (scale == 1.0) {
+			g2.drawImage(img, rect.x, rect.y, null);
+		}
+		else {
+			/** copy the image pixels directly to the device */
+			AffineTransform tx = g2.getTransform();
+			g2.setTransform(AffineTransform.getTranslateInstance(tx.getTranslateX(), tx.getTranslateY()));
+			g2.drawImage(img, (int) Math.floor(rect.x * scale), (int) Math.floor(rect.y * scale), null);
+			g2.setTransform(tx);
+		}
+	}
+
+	/**
+	 * Returns the cached image for the given key or null if the image is not
+	 * in the cache.
+	 */
+	private static synchronized BufferedImage getImage(Key key) {
+		Entry entry = (Entry) m_images.get(key);
+		return entry == null ? null : entry.m_image;
+	}
+
+	/**
+	 * Adds an image to the cache and evicts the least recently used images if
+	 * the cache exceeds its budget.
+	 */
+	private static synchronized void putImage(Key key, BufferedImage img, long bytes) {
+		Entry old = (Entry) m_images.put(key, new Entry(img, bytes));
+		if (old != null)
+			m_size -= old.m_bytes;
+		m_size += bytes;
+		evict();
+	}
+
+	/**
+	 * Removes the least recently used images until the cache is within its
+	 * budget.
+	 */
+	private static void evict() {
+		Iterator iter = m_images.entrySet().iterator();
+		while (m_size > m_budget && iter.hasNext()) {
+			Map.Entry me = (Map.Entry) iter.next();
+			m_size -= ((Entry) me.getValue()).m_bytes;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * A cached image along with its size in bytes.
+	 */
+	private static class Entry {
+		BufferedImage m_image;
+		long m_bytes;
+
+		Entry(BufferedImage img, long bytes) {
+			m_image = img;
+			m_bytes = bytes;
+		}
+	}
+
+	/**
+	 * Identifies a rendered paint. A key is made up of the painter type, the
+	 * attributes of the paint, and the size and scale of the image.
+	 */
+	static class Key {
+		private Class m_type;
+		private Object m_source;
+		private int m_start_rgb;
+		private int m_end_rgb;
+		private int m_style;
+		private float m_magnitude;
+		private int m_offset;
+		private int m_width;
+		private int m_height;
+		private double m_scale;
+
+		/**
+		 * Creates a key for a gradient
+		 * 
+		 * @param type
+		 *            the painter class
+		 * @param start
+		 *            the resolved start color
+		 * @param end
+		 *            the resolved end color
+		 * @param style
+		 *            the direction, position or other painter specific flags
+		 * @param magnitude
+		 *            the magnitude of the gradient
+		 * @param offset
+		 *            the component of the paint origin that the rendered
+		 *            pixels depend on. This is zero for paints that do not
+		 *            depend on the position of the rectangle.
+		 */
+		Key(Class type, Color start, Color end, int style, float magnitude, int offset) {
+			m_type = type;
+			m_start_rgb = start == null ? Color.white.getRGB() : start.getRGB();
+			m_end_rgb = end == null ? Color.white.getRGB() : end.getRGB();
+			m_style = style;
+			m_magnitude = magnitude;
+			m_offset = offset;
+		}
+
+		/**
+		 * Creates a key for a paint that is based on an image such as a
+		 * texture.
+		 */
+		Key(Class type, Object source) {
+			m_type = type;
+			m_source = source;
+		}
+
+		/**
+		 * Returns a copy of this key for an image of the given size and scale.
+		 */
+		Key resize(int width, int height, double scale) {
+			Key key = new Key(m_type, m_source);
+			key.m_start_rgb = m_start_rgb;
+			key.m_end_rgb = m_end_rgb;
+			key.m_style = m_style;
+			key.m_magnitude = m_magnitude;
+			key.m_offset = m_offset;
+			key.m_width = width;
+			key.m_height = height;
+			key.m_scale = scale;
+			return key;
+		}
+
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+
+			Key key = (Key) obj;
+			return m_type == key.m_type && m_source == key.m_source && m_start_rgb == key.m_start_rgb && m_end_rgb == key.m_end_rgb
+					&& m_style == key.m_style && m_magnitude == key.m_magnitude && m_offset == key.m_offset && m_width == key.m_width
+					&& m_height == key.m_height && m_scale == key.m_scale;
+		}
+
+		public int hashCode() {
+			int hash = m_type.hashCode();
+			hash = hash * 31 + (m_source == null ? 0 : System.identityHashCode(m_source));
+			hash = hash * 31 + m_start_rgb;
+			hash = hash * 31 + m_end_rgb;
+			hash = hash * 31 + m_style;
+			hash = hash * 31 + Float.floatToIntBits(m_magnitude);
+			hash = hash * 31 + m_offset;
+			hash = hash * 31 + m_width;
+			hash = hash * 31 + m_height;
+			long bits = Double.doubleToLongBits(m_scale);
+			hash = hash * 31 + (int) (bits ^ (bits >>> 32));
+			return hash;
+		}
+	}
+}
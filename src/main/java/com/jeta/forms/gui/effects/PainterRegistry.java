@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.effects;
+
+import java.util.HashMap;
+
+/**
+ * A flyweight registry of painters. Forms generally use only a handful of
+ * distinct fills across many cells, so paint properties with the same values
+ * share a single painter instance. Painters are keyed by a string that
+ * encodes the value of the paint property (see
+ * {@link com.jeta.forms.store.properties.effects.GradientProperty#createPainter}).
+ * 
+ * Shared painters must not keep state that depends on the area being painted.
+ * Rendered fills are cached by size in the {@link PaintCache}, so painters
+ * that share a registry entry also share the cached images.
+ * 
+ * @author Jeff Tassin
+ */
+public class PainterRegistry {
+	/**
+	 * A map of painter keys to shared painters. m_painters<String,Painter>
+	 */
+	private static HashMap m_painters = new HashMap();
+
+	/**
+	 * The maximum number of painters in the registry. The registry is cleared
+	 * if this is exceeded. This should never happen at runtime, but can happen
+	 * in the designer as the user edits fills.
+	 */
+	private static final int MAX_SIZE = 256;
+
+	/**
+	 * Returns the shared painter for the given key. Null is returned if the
+	 * painter is not in the registry.
+	 */
+	public static Painter getPainter(String key) {
+		synchronized (m_painters) {
+			return (Painter) m_painters.get(key);
+		}
+	}
+
+	/**
+	 * Adds a painter to the registry.
+	 */
+	public static void putPainter(String key, Painter painter) {
+		synchronized (m_painters) {
+			if (m_painters.size() >= MAX_SIZE)
+				m_painters.clear();
+
+			m_painters.put(key, painter);
+		}
+	}
+
+	/**
+	 * Removes all painters from the registry.
+	 */
+	public static void clear() {
+		synchronized (m_painters) {
+			m_painters.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of painters in the registry.
+	 */
+	public static int size() {
+		synchronized (m_painters) {
+			return m_painters.size();
+		}
+	}
+}
@@ -36,9 +36,6 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.Rectangle;
 
-import javax.swing.LookAndFeel;
-import javax.swing.UIManager;
-
 import org.apache.batik.ext.awt.RadialGradientPaint;
 
 import com.jeta.forms.store.properties.effects.RadialGradientProperty;
@@ -57,25 +54,6 @@ public class RadialGradientPainter implements Painter {
 	 */
 	private RadialGradientProperty m_gradient_prop;
 
-	/**
-	 * A paint object derived from the gradient property. It is cached so we
-	 * don't have to re-instantiate with every paint.
-	 */
-	private Paint m_cached_paint;
-
-	/**
-	 * A rectangle used as a basis for the gradient paint. This value is checked
-	 * everytime the paint method is called. If the paint area has changed, we
-	 * regenerate the Paint object.
-	 */
-	private Rectangle m_last_rect = new Rectangle();
-
-	/**
-	 * We keep track of the look and feel. If it changes, we need to regenerate
-	 * the paint
-	 */
-	private LookAndFeel m_look_and_feel;
-
 	/**
 	 * Flag that determines how the radius of this gradient is calculated
 	 */
@@ -195,7 +173,8 @@ public class RadialGradientPainter implements Painter {
 
 	/**
 	 * Painter implementation. Paints a radial gradient on a given graphics
-	 * context.
+	 * context. The gradient is rendered once for each size and then copied
+	 * from the {@link PaintCache}.
 	 * 
 	 * @param g
 	 *            the graphics context
@@ -210,18 +189,25 @@ public class RadialGradientPainter implements Painter {
 		Graphics2D g2 = (Graphics2D) g;
 		Paint old_paint = g2.getPaint();
 
-		LookAndFeel lf = UIManager.getLookAndFeel();
-		if (m_look_and_feel != lf) {
-			m_cached_paint = null;
-			m_look_and_feel = lf;
-		}
+		/**
+		 * The center of top and bottom centered gradients depends on the x
+		 * position of the rectangle, so it is part of the key.
+		 */
+		RadialGradientProperty gp = m_gradient_prop;
+		int position = gp.getPosition();
+		int offset = (position == RadialGradientProperty.TOP_CENTER || position == RadialGradientProperty.BOTTOM_CENTER) ? rect.x : 0;
+		PaintCache.Key key = new PaintCache.Key(RadialGradientPainter.class, gp.getStartColor().getColor(), gp.getEndColor().getColor(),
+				(m_radius_type << 16) | position, gp.getMagnitude(), offset);
+
+		/** repaints are a copy of the rendered gradient if it can be cached */
+		if (PaintCache.paint(g2, rect, key))
+			return;
 
-		if (m_cached_paint == null || !rect.equals(m_last_rect)) {
-			m_last_rect.setBounds(rect.x, rect.y, rect.width, rect.height);
-			m_cached_paint = createPaint(rect, m_gradient_prop);
-		}
+		Paint paint = createPaint(rect, gp);
+		if (PaintCache.paint(g2, rect, key, paint))
+			return;
 
-		g2.setPaint(m_cached_paint);
+		g2.setPaint(paint);
 
 		Rectangle clip_rect = g.getClipBounds();
 		if (rect.intersects(clip_rect)) {
@@ -240,7 +226,6 @@ public class RadialGradientPainter implements Painter {
 	 *            the gradient property to associate with this painter.
 	 */
 	public void setGradientProperty(RadialGradientProperty prop) {
-		m_cached_paint = null;
 		m_gradient_prop = prop;
 	}
 
@@ -37,7 +37,9 @@ import java.awt.Rectangle;
 import java.awt.TexturePaint;
 import java.awt.image.BufferedImage;
 
+import com.jeta.forms.store.properties.IconProperty;
 import com.jeta.forms.store.properties.effects.TextureProperty;
+import com.jeta.open.resources.AsyncImageIcon;
 
 /**
  * This class is an implementation of a Painter that renders a texture on a
@@ -53,19 +55,6 @@ public class TexturePainter implements Painter {
 	 */
 	private TextureProperty m_texture_prop;
 
-	/**
-	 * A paint object derived from the texture property. It is cached so we
-	 * don't have to re-instantiate with every paint.
-	 */
-	private Paint m_cached_paint;
-
-	/**
-	 * A rectangle used as a basis for the texture paint paint. This value is
-	 * checked everytime the paint method is called. If the paint area has
-	 * changed, we regenerate the Paint object.
-	 */
-	private Rectangle m_last_rect;
-
 	/**
 	 * Creates a <code>TexturePainter</code> instance with no paint
 	 * attributes.
@@ -83,22 +72,24 @@ public class TexturePainter implements Painter {
 	}
 
 	/**
-	 * Creates a paint object based on the given texture property.
+	 * Creates a paint object based on the given texture image.
 	 * 
-	 * @param tp
-	 *            the texture property used to create the paint. This object
-	 *            specifies the image for the texture.
+	 * @param rect
+	 *            the rectangle that defines the area for the texture. The
+	 *            texture is anchored at the top left corner of this area.
+	 * @param bi
+	 *            the image for the texture.
 	 * @return the Paint object used to render the texture.
 	 */
-	private Paint createPaint(Rectangle rect, TextureProperty tp) {
-		BufferedImage bi = tp.getBufferedImage();
-		rect = new Rectangle(0, 0, bi.getWidth(), bi.getHeight());
-		return new TexturePaint(bi, rect);
+	private Paint createPaint(Rectangle rect, BufferedImage bi) {
+		Rectangle anchor = new Rectangle(rect.x, rect.y, bi.getWidth(), bi.getHeight());
+		return new TexturePaint(bi, anchor);
 	}
 
 	/**
 	 * Painter implementation. Paints a texture pattern on a given graphics
-	 * context.
+	 * context. The texture is rendered once for each size and then copied
+	 * from the {@link PaintCache}.
 	 * 
 	 * @param g
 	 *            the graphics context
@@ -113,14 +104,29 @@ public class TexturePainter implements Painter {
 		Graphics2D g2 = (Graphics2D) g;
 		Paint old_paint = g2.getPaint();
 
-		if (m_cached_paint == null || !rect.equals(m_last_rect)) {
-			m_last_rect = rect;
-			m_cached_paint = createPaint(rect, m_texture_prop);
+		BufferedImage bi = m_texture_prop.getBufferedImage();
+		if (bi == null) {
+			/** the texture image is still being decoded */
+			IconProperty icon = m_texture_prop.getIconProperty();
+			if (icon != null && icon.imageIcon() instanceof AsyncImageIcon)
+				((AsyncImageIcon) icon.imageIcon()).repaintWhenLoaded(c);
+			return;
 		}
-		g2.setPaint(m_cached_paint);
-		g2.translate(rect.x, rect.y);
-		g.fillRect(0, 0, rect.width, rect.height);
-		g2.translate(-rect.x, -rect.y);
+
+		/**
+		 * the texture is anchored at the origin of the rectangle, so the
+		 * rendered pixels only depend on the image and the size
+		 */
+		PaintCache.Key key = new PaintCache.Key(TexturePainter.class, bi);
+		if (PaintCache.paint(g2, rect, key))
+			return;
+
+		Paint paint = createPaint(rect, bi);
+		if (PaintCache.paint(g2, rect, key, paint))
+			return;
+
+		g2.setPaint(paint);
+		g.fillRect(rect.x, rect.y, rect.width, rect.height);
 		g2.setPaint(old_paint);
 	}
 
@@ -131,7 +137,6 @@ public class TexturePainter implements Painter {
 	 *            the texture property to set.
 	 */
 	public void setTextureProperty(TextureProperty prop) {
-		m_cached_paint = null;
 		m_texture_prop = prop;
 	}
 }
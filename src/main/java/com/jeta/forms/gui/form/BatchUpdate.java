@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.form;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import com.jeta.forms.logger.FormsLogger;
+
+/**
+ * Defines a batch scope for making many changes to one or more forms. While a
+ * batch is active on the current thread, GridViews defer their layout
+ * invalidation, repaint requests, cell assignment resyncs and GridViewEvents.
+ * When the outermost batch ends, each modified view is refreshed once and the
+ * deferred events are sent to the listeners. Batches can be nested.
+ * 
+ * <pre>
+ * BatchUpdate.begin();
+ * try {
+ * 	// add, remove or replace components
+ * } finally {
+ * 	BatchUpdate.end();
+ * }
+ * </pre>
+ * 
+ * FormComponent.setState uses a batch when building a form.
+ * 
+ * @author Jeff Tassin
+ */
+public class BatchUpdate {
+	/**
+	 * The batch state for the current thread.
+	 */
+	private static ThreadLocal m_batch = new ThreadLocal();
+
+	/**
+	 * The nesting depth of the batch.
+	 */
+	private int m_depth;
+
+	/**
+	 * The views that were modified during the batch and their deferred events.
+	 * m_views<GridView,LinkedList(GridViewEvent)>
+	 */
+	private LinkedHashMap m_views = new LinkedHashMap();
+
+	private BatchUpdate() {
+
+	}
+
+	/**
+	 * Starts a batch on the current thread. Each call must be matched by a
+	 * call to <code>end</code>.
+	 */
+	public static void begin() {
+		BatchUpdate batch = (BatchUpdate) m_batch.get();
+		if (batch == null) {
+			batch = new BatchUpdate();
+			m_batch.set(batch);
+		}
+		batch.m_depth++;
+	}
+
+	/**
+	 * Ends a batch on the current thread. If this is the outermost batch, all
+	 * modified views are refreshed and any deferred events are fired.
+	 */
+	public static void end() {
+		BatchUpdate batch = (BatchUpdate) m_batch.get();
+		if (batch == null) {
+			FormsLogger.debug("BatchUpdate.end called without a matching begin");
+			return;
+		}
+
+		batch.m_depth--;
+		if (batch.m_depth <= 0) {
+			m_batch.set(null);
+			batch.flush();
+		}
+	}
+
+	/**
+	 * Returns true if a batch is active on the current thread.
+	 */
+	public static boolean isActive() {
+		return (m_batch.get() != null);
+	}
+
+	/**
+	 * Records that the given view needs to be refreshed when the batch ends.
+	 * 
+	 * @return true if the refresh was deferred. False is returned if no batch
+	 *         is active, in which case the caller should refresh immediately.
+	 */
+	static boolean deferRefresh(GridView view) {
+		BatchUpdate batch = (BatchUpdate) m_batch.get();
+		if (batch == null)
+			return false;
+
+		batch.getEvents(view);
+		return true;
+	}
+
+	/**
+	 * Records an event that will be fired when the batch ends. The view is
+	 * also refreshed when the batch ends.
+	 * 
+	 * @return true if the event was deferred. False is returned if no batch is
+	 *         active, in which case the caller should fire the event
+	 *         immediately.
+	 */
+	static boolean deferEvent(GridView view, GridViewEvent evt) {
+		BatchUpdate batch = (BatchUpdate) m_batch.get();
+		if (batch == null)
+			return false;
+
+		batch.getEvents(view).add(evt);
+		return true;
+	}
+
+	/**
+	 * Returns the list of deferred events for the given view.
+	 */
+	private LinkedList getEvents(GridView view) {
+		LinkedList events = (LinkedList) m_views.get(view);
+		if (events == null) {
+			events = new LinkedList();
+			m_views.put(view, events);
+		}
+		return events;
+	}
+
+	/**
+	 * Refreshes the modified views and fires the deferred events. A failure
+	 * in one view is logged so that the remaining views are still refreshed.
+	 */
+	private void flush() {
+		Iterator iter = m_views.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry entry = (Map.Entry) iter.next();
+			GridView view = (GridView) entry.getKey();
+			try {
+				try {
+					view.refreshView();
+				} finally {
+					view.fireDeferredEvents((LinkedList) entry.getValue());
+				}
+			} catch (RuntimeException e) {
+				FormsLogger.severe(e);
+			}
+		}
+		m_views.clear();
+	}
+}
@@ -169,6 +169,29 @@ public class CellAssignmentCache {
 		return null;
 	}
 
+	/**
+	 * Returns the component that occupies the given cell. This is the
+	 * component whose first cell is the given cell or, if there is none, a
+	 * component that spans the cell.
+	 * 
+	 * @param col
+	 *            the 1-based column
+	 * @param row
+	 *            the 1-based row
+	 * @return the component that occupies the cell. Null is returned if the
+	 *         cell is empty or outside the grid.
+	 */
+	public GridComponent getOccupyingComponent(int col, int row) {
+		checkGrid();
+		if (row < 1 || row > m_grid.length || col < 1 || col > m_grid[row - 1].length)
+			return null;
+
+		CellAssignment ca = m_grid[row - 1][col - 1];
+		if (ca == null)
+			return null;
+		return (ca.m_comp == null ? ca.m_overlap : ca.m_comp);
+	}
+
 	/**
 	 * Marks the cache as invalid.
 	 */
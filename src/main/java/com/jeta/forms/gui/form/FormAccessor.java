@@ -33,6 +33,8 @@ import java.awt.Component;
 import java.awt.Container;
 import java.util.Iterator;
 
+import javax.swing.JScrollPane;
+
 import com.jeta.jgoodies.forms.layout.CellConstraints;
 import com.jeta.open.support.SwingComponentSupport;
 
@@ -176,6 +178,55 @@ public interface FormAccessor extends SwingComponentSupport {
 	 */
 	public Component removeBean(Component comp);
 
+	/**
+	 * Returns the bean with the given name. The bean must be contained within
+	 * the current form unless the name is a dotted path such as
+	 * "address.street", where each part but the last is the name of a nested
+	 * form. If the bean is contained by an implicit JScrollPane, the bean
+	 * itself is returned.
+	 * <p>
+	 * 
+	 * The default implementation scans the beans returned by
+	 * <code>beanIterator(false)</code>. GridView answers from its name index.
+	 * 
+	 * @param compName
+	 *            the name of the Java Bean to find.
+	 * @return the named bean. Null is returned if the bean cannot be found.
+	 */
+	public default Component getBean(String compName) {
+		if (compName == null)
+			return null;
+
+		Iterator iter = beanIterator(false);
+		while (iter.hasNext()) {
+			Component comp = (Component) iter.next();
+			if (compName.equals(comp.getName()))
+				return comp;
+
+			if (comp instanceof JScrollPane) {
+				Component view = ((JScrollPane) comp).getViewport().getView();
+				if (view != null && compName.equals(view.getName()))
+					return view;
+			}
+		}
+
+		int pos = compName.indexOf('.');
+		while (pos > 0) {
+			String form_name = compName.substring(0, pos);
+			iter = beanIterator(false);
+			while (iter.hasNext()) {
+				Component comp = (Component) iter.next();
+				if (comp instanceof FormAccessor && form_name.equals(comp.getName())) {
+					Component bean = ((FormAccessor) comp).getBean(compName.substring(pos + 1));
+					if (bean != null)
+						return bean;
+				}
+			}
+			pos = compName.indexOf('.', pos + 1);
+		}
+		return null;
+	}
+
 	/**
 	 * Removes a bean with the given name from the container associated with
 	 * this accessor. The bean must be contained within the current form. This
@@ -687,11 +687,25 @@ public class FormComponent extends GridComponent {
 	}
 
 	/**
-	 * Resets this component from a previously saved state.
+	 * Resets this component from a previously saved state. Layout, repaints
+	 * and GridViewEvents are deferred until the form and all of its nested
+	 * forms have been built.
 	 * 
 	 * @param memento
 	 */
 	public void setState(ComponentMemento memento) throws FormException {
+		BatchUpdate.begin();
+		try {
+			setFormState(memento);
+		} finally {
+			BatchUpdate.end();
+		}
+	}
+
+	/**
+	 * Builds this form from a previously saved state.
+	 */
+	private void setFormState(ComponentMemento memento) throws FormException {
 		FormMemento state = (FormMemento) memento;
 		
 		setCodeModel(state.getCodeModel());
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.form;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedList;
+
+import javax.swing.JMenu;
+
+import com.jeta.open.support.ComponentFinder;
+import com.jeta.open.support.EmptyCollection;
+
+/**
+ * A ComponentFinder for forms at runtime. Unlike the DefaultComponentFinder,
+ * this class does not register listeners on the containers it searches.
+ * Instead, it builds a sorted array of the named components in the container
+ * the first time a component is requested. The array is rebuilt only if beans
+ * are added or removed using the FormAccessor methods of the form (or
+ * {@link #reset()} is called). Components that are added directly to a
+ * container on the form are not found until the finder is reset.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormComponentFinder implements ComponentFinder {
+	/**
+	 * The container that we search.
+	 */
+	private Container m_container;
+
+	/**
+	 * The top level form in the container.
+	 */
+	private GridView m_view;
+
+	/**
+	 * The bean version of the view when the index was built.
+	 */
+	private int m_bean_version;
+
+	/**
+	 * The component names sorted in ascending order. Null if the index needs
+	 * to be built.
+	 */
+	private String[] m_names;
+
+	/**
+	 * The components that correspond to m_names. Components with the same name
+	 * are stored in the order they were found in the container.
+	 */
+	private Component[] m_components;
+
+	/**
+	 * Compares components by name.
+	 */
+	private static final Comparator NAME_COMPARATOR = new Comparator() {
+		public int compare(Object o1, Object o2) {
+			return ((Component) o1).getName().compareTo(((Component) o2).getName());
+		}
+	};
+
+	/**
+	 * ctor
+	 * 
+	 * @param container
+	 *            the container to search.
+	 * @param view
+	 *            the top level form in the container.
+	 */
+	public FormComponentFinder(Container container, GridView view) {
+		m_container = container;
+		m_view = view;
+	}
+
+	/**
+	 * Builds the name index if it has not been built or if the form has been
+	 * changed since it was built.
+	 */
+	private void validateIndex() {
+		if (m_names != null && m_bean_version == m_view.getBeanVersion())
+			return;
+
+		m_bean_version = m_view.getBeanVersion();
+
+		ArrayList list = new ArrayList();
+		collectNames(m_container, list);
+
+		Component[] components = (Component[]) list.toArray(new Component[list.size()]);
+		/** this is a stable sort, so duplicates keep their container order */
+		Arrays.sort(components, NAME_COMPARATOR);
+
+		String[] names = new String[components.length];
+		for (int index = 0; index < components.length; index++) {
+			names[index] = components[index].getName();
+		}
+		m_components = components;
+		m_names = names;
+	}
+
+	/**
+	 * Recursively adds all named components owned by the given container to
+	 * the list. This searches the same components as the
+	 * DefaultComponentFinder.
+	 */
+	private static void collectNames(Container container, ArrayList list) {
+		addNamedComponent(container, list);
+		if (container instanceof JMenu) {
+			collectNames(((JMenu) container).getPopupMenu(), list);
+		}
+		else {
+			int count = container.getComponentCount();
+			for (int index = 0; index < count; index++) {
+				Component comp = container.getComponent(index);
+				if (comp instanceof Container)
+					collectNames((Container) comp, list);
+				else
+					addNamedComponent(comp, list);
+			}
+		}
+	}
+
+	private static void addNamedComponent(Component comp, ArrayList list) {
+		String name = comp.getName();
+		if (name != null && name.length() > 0)
+			list.add(comp);
+	}
+
+	/**
+	 * @return the index of the first component with the given name. If no
+	 *         component has the name, a negative value is returned.
+	 */
+	private int firstIndexOf(String compName) {
+		int index = Arrays.binarySearch(m_names, compName);
+		while (index > 0 && m_names[index - 1].equals(compName))
+			index--;
+		return index;
+	}
+
+	/**
+	 * Returns the component with the given name. If more than one component
+	 * has the name, the last one found in the container is returned. This is
+	 * the same component returned by the DefaultComponentFinder.
+	 */
+	public Component getComponentByName(String compName) {
+		if (compName == null)
+			return null;
+
+		validateIndex();
+		int index = Arrays.binarySearch(m_names, compName);
+		if (index < 0)
+			return null;
+
+		while (index + 1 < m_names.length && m_names[index + 1].equals(compName))
+			index++;
+		return m_components[index];
+	}
+
+	/**
+	 * Returns all components with the given name. An empty collection is
+	 * returned if no components are found with the given name.
+	 */
+	public Collection getComponentsByName(String compName) {
+		if (compName == null)
+			return EmptyCollection.getInstance();
+
+		validateIndex();
+		int index = firstIndexOf(compName);
+		if (index < 0)
+			return EmptyCollection.getInstance();
+
+		LinkedList list = new LinkedList();
+		for (; index < m_names.length && m_names[index].equals(compName); index++) {
+			list.add(m_components[index]);
+		}
+		return list;
+	}
+
+	/**
+	 * Returns one component for each name in the container. An empty
+	 * collection is returned if no named components exist.
+	 */
+	public Collection getAllNamedComponents() {
+		validateIndex();
+		LinkedList list = new LinkedList();
+		for (int index = 0; index < m_names.length; index++) {
+			if (index + 1 == m_names.length || !m_names[index].equals(m_names[index + 1]))
+				list.add(m_components[index]);
+		}
+		return list;
+	}
+
+	/**
+	 * Tells the finder to rebuild its index on the next lookup.
+	 */
+	public void reset() {
+		m_names = null;
+		m_components = null;
+	}
+}
@@ -452,7 +452,14 @@ abstract public class GridComponent extends JPanel {
 	 * Sets the JETABean associated with this component.
 	 */
 	protected void setBean(JETABean jbean) {
+		GridView view = getParentView();
+		if (view != null)
+			view.unindexChild(this);
+
 		m_jetabean = jbean;
+
+		if (view != null)
+			view.indexChild(this);
 	}
 
 	/**
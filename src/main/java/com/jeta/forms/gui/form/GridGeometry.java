@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.form;
+
+import java.awt.Rectangle;
+
+import com.jeta.jgoodies.forms.layout.FormLayout;
+
+/**
+ * Maps pixel locations in a GridView to cells. The column and row origins of
+ * the layout are sorted, so a location is found with a binary search instead
+ * of scanning every column and row. This is used when painting cells that
+ * intersect a clip rectangle and when hit testing mouse events.
+ * 
+ * A geometry is immutable and belongs to a single
+ * <code>FormLayout.LayoutInfo</code>. The GridView creates a new geometry
+ * whenever its layout info changes.
+ * 
+ * @author Jeff Tassin
+ */
+public class GridGeometry {
+
+	/**
+	 * The layout info this geometry was created from
+	 */
+	private FormLayout.LayoutInfo m_layoutinfo;
+
+	/**
+	 * Used to find the component in a cell
+	 */
+	private CellAssignmentCache m_assignment_cache;
+
+	/**
+	 * Creates a geometry for the given layout info.
+	 */
+	GridGeometry(FormLayout.LayoutInfo linfo, CellAssignmentCache cache) {
+		m_layoutinfo = linfo;
+		m_assignment_cache = cache;
+	}
+
+	/**
+	 * @return true if this geometry was created from the given layout info.
+	 */
+	boolean isCreatedFrom(FormLayout.LayoutInfo linfo) {
+		return m_layoutinfo == linfo;
+	}
+
+	/**
+	 * Returns the column that contains the given x location. A column
+	 * contains its left edge but not its right edge.
+	 * 
+	 * @param x
+	 *            the x location in view coordinates
+	 * @return the 1-based column or 0 if the location is outside the grid
+	 */
+	public int getColumnAt(int x) {
+		return indexAt(m_layoutinfo.columnOrigins, x);
+	}
+
+	/**
+	 * Returns the row that contains the given y location. A row contains its
+	 * top edge but not its bottom edge.
+	 * 
+	 * @param y
+	 *            the y location in view coordinates
+	 * @return the 1-based row or 0 if the location is outside the grid
+	 */
+	public int getRowAt(int y) {
+		return indexAt(m_layoutinfo.rowOrigins, y);
+	}
+
+	/**
+	 * Returns the component whose cells contain the given location.
+	 * 
+	 * @param x
+	 *            the x location in view coordinates
+	 * @param y
+	 *            the y location in view coordinates
+	 * @return the component at the given location. Null is returned if the
+	 *         location is outside the grid or the cell is empty.
+	 */
+	public GridComponent getComponentAt(int x, int y) {
+		int col = getColumnAt(x);
+		int row = getRowAt(y);
+		if (col == 0 || row == 0)
+			return null;
+		return m_assignment_cache.getOccupyingComponent(col, row);
+	}
+
+	/**
+	 * Returns the range of cells that intersect the given rectangle. Cells
+	 * that only touch an edge of the rectangle are included, so painting a
+	 * clip rectangle also covers the grid lines on its border.
+	 * 
+	 * @param rect
+	 *            the rectangle in view coordinates
+	 * @return the range of cells in cell coordinates: x and y are the first
+	 *         1-based column and row, width and height are the number of
+	 *         columns and rows. Null is returned if no cell intersects the
+	 *         rectangle.
+	 */
+	public Rectangle cellsIntersecting(Rectangle rect) {
+		int[] cols = m_layoutinfo.columnOrigins;
+		int[] rows = m_layoutinfo.rowOrigins;
+		int min_col = firstIndexEndingAtOrAfter(cols, rect.x);
+		int max_col = lastIndexStartingAtOrBefore(cols, rect.x + rect.width);
+		int min_row = firstIndexEndingAtOrAfter(rows, rect.y);
+		int max_row = lastIndexStartingAtOrBefore(rows, rect.y + rect.height);
+		if (min_col > max_col || min_row > max_row)
+			return null;
+
+		return new Rectangle(min_col, min_row, max_col - min_col + 1, max_row - min_row + 1);
+	}
+
+	/**
+	 * @return the 1-based index of the interval [origins[i-1], origins[i])
+	 *         that contains the location or 0 if there is none.
+	 */
+	private static int indexAt(int[] origins, int loc) {
+		int count = origins.length - 1;
+		if (count < 1 || loc < origins[0] || loc >= origins[count])
+			return 0;
+
+		/** find the last origin that is at or before the location */
+		int low = 0;
+		int high = count - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (origins[mid] <= loc)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low + 1;
+	}
+
+	/**
+	 * @return the first 1-based index whose interval ends at or after the
+	 *         location. Returns count + 1 if there is none.
+	 */
+	private static int firstIndexEndingAtOrAfter(int[] origins, int loc) {
+		int low = 1;
+		int high = origins.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (origins[mid] >= loc)
+				high = mid;
+			else
+				low = mid + 1;
+		}
+		return low;
+	}
+
+	/**
+	 * @return the last 1-based index whose interval starts at or before the
+	 *         location. Returns 0 if there is none.
+	 */
+	private static int lastIndexStartingAtOrBefore(int[] origins, int loc) {
+		int low = 0;
+		int high = origins.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (origins[mid - 1] <= loc)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+}
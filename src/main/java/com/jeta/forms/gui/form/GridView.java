@@ -33,7 +33,10 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Rectangle;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 
@@ -136,6 +139,12 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 */
 	private FormLayout.LayoutInfo m_layoutinfo = null;
 
+	/**
+	 * Maps locations to cells for the cached layout info. Recreated when the
+	 * layout info changes.
+	 */
+	private GridGeometry m_geometry = null;
+
 	/**
 	 * Paints effects for individual cells in the grid.
 	 */
@@ -178,6 +187,34 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 */
 	private LinkedList m_listeners = new LinkedList();
 
+	/**
+	 * An index of names to the named beans in this view
+	 * (HashMap&lt;String,Component&gt;). This includes beans contained by
+	 * implicit scroll panes as well as nested forms, but not the beans inside
+	 * nested forms. The index is updated as components are added, removed and
+	 * renamed, so lookups by name don't have to scan the form container.
+	 */
+	private HashMap m_name_index = new HashMap();
+
+	/**
+	 * Flag that indicates if more than one bean in this view has the same
+	 * name. Only the first is indexed, so if it is removed we need to look
+	 * for the next one.
+	 */
+	private boolean m_shadowed_names = false;
+
+	/**
+	 * Keeps the name index up to date when an indexed bean is renamed.
+	 */
+	private PropertyChangeListener m_name_listener = new NameListener();
+
+	/**
+	 * Incremented whenever beans are added or removed through the
+	 * FormAccessor methods of this view or any nested view. This tells
+	 * component finders when they need to rebuild their index.
+	 */
+	private int m_bean_version = 0;
+
 	/**
 	 * The various layers in this view
 	 */
@@ -236,7 +273,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		m_form.add(gc, cc);
 		m_assignment_cache.addComponent(gc);
 
-		m_form.revalidate();
+		revalidateForm();
 		fireGridEvent(new GridViewEvent(this, GridViewEvent.CELL_CHANGED));
 		unitTest();
 	}
@@ -371,26 +408,50 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 */
 	public void fireGridEvent(GridViewEvent evt) {
 		if (isEventsEnabled()) {
+			if (BatchUpdate.deferEvent(this, evt))
+				return;
+
 			if (evt.getId() != GridViewEvent.EDIT_COMPONENT && evt.getId() != GridViewEvent.CELL_SELECTED) {
 				refreshView();
 			}
-			
-			if(evt.getComponentEvent() != null && GridCellEvent.COMPONENT_MULT_SELECTED.equals(evt.getComponentEvent().getCommand())){
-				evt.setGridComponentList(m_mult_comps);
-			}else{
-				evt.setGridComponentList(null);
-			}
-			
+			notifyListeners(evt);
+		}
+	}
 
-			m_layoutinfo = null;
-			Iterator iter = m_listeners.iterator();
+	/**
+	 * Sends the events that were deferred during a batch update to all
+	 * registered listeners. The view has already been refreshed by the batch.
+	 * 
+	 * @param events
+	 *            a list of GridViewEvent objects.
+	 */
+	void fireDeferredEvents(LinkedList events) {
+		if (isEventsEnabled()) {
+			Iterator iter = events.iterator();
 			while (iter.hasNext()) {
-				try {
-					GridViewListener listener = (GridViewListener) iter.next();
-					listener.gridChanged(evt);
-				} catch (Exception e) {
-					FormsLogger.debug(e);
-				}
+				notifyListeners((GridViewEvent) iter.next());
+			}
+		}
+	}
+
+	/**
+	 * Sends a GridViewEvent to all registered listeners.
+	 */
+	private void notifyListeners(GridViewEvent evt) {
+		if(evt.getComponentEvent() != null && GridCellEvent.COMPONENT_MULT_SELECTED.equals(evt.getComponentEvent().getCommand())){
+			evt.setGridComponentList(m_mult_comps);
+		}else{
+			evt.setGridComponentList(null);
+		}
+
+		m_layoutinfo = null;
+		Iterator iter = m_listeners.iterator();
+		while (iter.hasNext()) {
+			try {
+				GridViewListener listener = (GridViewListener) iter.next();
+				listener.gridChanged(evt);
+			} catch (Exception e) {
+				FormsLogger.debug(e);
 			}
 		}
 	}
@@ -584,6 +645,31 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		return m_nested_mod_stamp;
 	}
 
+	/**
+	 * Returns a counter that is incremented whenever beans are added to or
+	 * removed from this form or a nested form using the FormAccessor methods.
+	 * 
+	 * @return the bean version of this view.
+	 */
+	int getBeanVersion() {
+		return m_bean_version;
+	}
+
+	/**
+	 * Increments the bean version of this view and all parent views.
+	 */
+	private void beansChanged() {
+		Container c = this;
+		while (c != null) {
+			if (c instanceof GridView)
+				((GridView) c).m_bean_version++;
+
+			c = c.getParent();
+			if (c instanceof java.awt.Window || c instanceof javax.swing.JInternalFrame)
+				break;
+		}
+	}
+
 	/**
 	 * Returns the number of rows in this view.
 	 * 
@@ -676,6 +762,21 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		return m_layoutinfo;
 	}
 
+	/**
+	 * Returns the geometry that maps locations in this view to cells and
+	 * components. Use this instead of scanning the column and row origins
+	 * when painting or hit testing.
+	 * 
+	 * @return the geometry for the current layout of this view.
+	 */
+	public GridGeometry getGeometry() {
+		FormLayout.LayoutInfo linfo = getLayoutInfo();
+		if (m_geometry == null || !m_geometry.isCreatedFrom(linfo))
+			m_geometry = new GridGeometry(linfo, m_assignment_cache);
+
+		return m_geometry;
+	}
+
 	/**
 	 * Return the fill property for the cell at the given column and row.
 	 * 
@@ -1109,11 +1210,23 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	 * as adding/deleting/editing a component, row, or column.
 	 */
 	public void refreshView() {
+		if (BatchUpdate.deferRefresh(this))
+			return;
+
 		syncCellAssignments();
 		revalidate();
 		repaint();
 	}
 
+	/**
+	 * Invalidates the layout of the form container. If a batch update is
+	 * active, the view is refreshed when the batch ends instead.
+	 */
+	private void revalidateForm() {
+		if (!BatchUpdate.deferRefresh(this))
+			m_form.revalidate();
+	}
+
 	/**
 	 * Removes the given column from the layout/view. Note that all components
 	 * in the column are removed as well.
@@ -1264,7 +1377,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		FormLayout layout = getFormLayout();
 		ColumnSpec newspec = new ColumnSpec(colspec.getDefaultAlignment(), colspec.getSize(), colspec.getResizeWeight());
 		layout.setColumnSpec(col, newspec);
-		m_form.revalidate();
+		revalidateForm();
 		fireGridEvent(new GridViewEvent(this, GridViewEvent.COLUMN_SPEC_CHANGED));
 	}
 
@@ -1281,7 +1394,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 		gc.addListener(this);
 		m_form.add(gc, cc);
-		m_form.revalidate();
+		revalidateForm();
 		syncCellAssignments();
 
 		fireGridEvent(new GridViewEvent(this, GridViewEvent.CELL_CHANGED));
@@ -1314,7 +1427,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 	public void setConstraints(GridComponent gc, CellConstraints cc) {
 		m_formlayout.setConstraints(gc, cc);
 		syncCellAssignments();
-		m_form.revalidate();
+		revalidateForm();
 		fireGridEvent(new GridViewEvent(this, GridViewEvent.CELL_CHANGED, gc));
 	}
 
@@ -1422,7 +1535,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 
 		RowSpec newspec = new RowSpec(rowspec.getDefaultAlignment(), rowspec.getSize(), rowspec.getResizeWeight());
 		layout.setRowSpec(row, newspec);
-		m_form.revalidate();
+		revalidateForm();
 		fireGridEvent(new GridViewEvent(this, GridViewEvent.ROW_SPEC_CHANGED));
 	}
 
@@ -1455,6 +1568,7 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 
 		m_form.add(comp, cc);
+		beansChanged();
 		refreshView();
 	}
 
@@ -1521,6 +1635,156 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		return replaceBean(comp, null);
 	}
 
+	/**
+	 * FormAccessor implementation. Returns the bean with the given name. The
+	 * name can be a dotted path to a bean in a nested form (e.g.
+	 * "address.street"), where each part but the last is the name of a nested
+	 * form. Names that contain dots are matched as a whole first.
+	 * 
+	 * @param compName
+	 *            the name of the Java Bean to find.
+	 * @return the named bean. If this method fails for any reason then null
+	 *         is returned.
+	 */
+	public Component getBean(String compName) {
+		if (compName == null)
+			return null;
+
+		Component comp = (Component) m_name_index.get(compName);
+		if (comp != null)
+			return comp;
+
+		int pos = compName.indexOf('.');
+		while (pos > 0) {
+			Object form = m_name_index.get(compName.substring(0, pos));
+			if (form instanceof GridView) {
+				comp = ((GridView) form).getBean(compName.substring(pos + 1));
+				if (comp != null)
+					return comp;
+			}
+			pos = compName.indexOf('.', pos + 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the child of the form container that holds the given bean. This
+	 * is either the bean itself or the GridComponent or JScrollPane that
+	 * contains it.
+	 * 
+	 * @return the form container child for the given bean. Null is returned
+	 *         if the bean is not a (possibly scrolled) bean in this view.
+	 */
+	private Component getFormChild(Component bean) {
+		Component child = bean;
+		while (child != null && child.getParent() != m_form) {
+			child = child.getParent();
+		}
+
+		if (child == bean)
+			return child;
+
+		if (child instanceof GridComponent) {
+			Component gc_bean = ((GridComponent) child).getBeanChildComponent();
+			if (gc_bean == bean || getScrollView(gc_bean) == bean)
+				return child;
+		}
+		else if (getScrollView(child) == bean) {
+			return child;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the view of the given component if it is a JScrollPane.
+	 *         Otherwise null is returned.
+	 */
+	private static Component getScrollView(Component comp) {
+		if (comp instanceof JScrollPane) {
+			JViewport viewport = ((JScrollPane) comp).getViewport();
+			if (viewport != null)
+				return viewport.getView();
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the beans that can be looked up by name for a child of the form
+	 * container in the given array. These are the child itself or the bean in
+	 * the GridComponent, and the view if either is a JScrollPane.
+	 */
+	private static void getNamedBeans(Component child, Component[] beans) {
+		Component bean = child;
+		if (child instanceof GridComponent)
+			bean = ((GridComponent) child).getBeanChildComponent();
+
+		beans[0] = bean;
+		beans[1] = getScrollView(bean);
+	}
+
+	/**
+	 * Adds the beans of the given form container child to the name index.
+	 */
+	void indexChild(Component child) {
+		if (child.getParent() != m_form)
+			return;
+
+		Component[] beans = new Component[2];
+		getNamedBeans(child, beans);
+		for (int index = 0; index < beans.length; index++) {
+			Component bean = beans[index];
+			if (bean != null) {
+				bean.addPropertyChangeListener("name", m_name_listener);
+				indexName(bean.getName(), bean);
+			}
+		}
+	}
+
+	/**
+	 * Removes the beans of the given form container child from the name index.
+	 */
+	void unindexChild(Component child) {
+		Component[] beans = new Component[2];
+		getNamedBeans(child, beans);
+		for (int index = 0; index < beans.length; index++) {
+			Component bean = beans[index];
+			if (bean != null) {
+				bean.removePropertyChangeListener("name", m_name_listener);
+				unindexName(bean.getName(), bean);
+			}
+		}
+	}
+
+	private void indexName(String name, Component bean) {
+		if (name == null)
+			return;
+
+		Object current = m_name_index.get(name);
+		if (current == null)
+			m_name_index.put(name, bean);
+		else if (current != bean)
+			m_shadowed_names = true;
+	}
+
+	private void unindexName(String name, Component bean) {
+		if (name == null || m_name_index.get(name) != bean)
+			return;
+
+		m_name_index.remove(name);
+		if (m_shadowed_names) {
+			Component[] beans = new Component[2];
+			for (int index = 0; index < m_form.getComponentCount(); index++) {
+				getNamedBeans(m_form.getComponent(index), beans);
+				for (int bindex = 0; bindex < beans.length; bindex++) {
+					if (beans[bindex] != null && beans[bindex] != bean && name.equals(beans[bindex].getName())) {
+						m_name_index.put(name, beans[bindex]);
+						return;
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * FormAccessor implementation. Removes a bean with the given name from this
 	 * container.
@@ -1536,49 +1800,14 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 			return null;
 		}
 
-		for (int index = 0; index < m_form.getComponentCount(); index++) {
-			Component comp = m_form.getComponent(index);
-			if (compName.equals(comp.getName())) {
-				m_form.remove(comp);
-				refreshView();
-				return comp;
-			}
-			else if (comp instanceof GridComponent) {
-				GridComponent gc = (GridComponent) comp;
-				Component bean = gc.getBeanChildComponent();
-				if (bean != null && compName.equals(bean.getName())) {
-					m_form.remove(comp);
-					refreshView();
-					return comp;
-				}
-				else if (bean instanceof JScrollPane) {
-					JScrollPane scroll = (JScrollPane) bean;
-					JViewport viewport = scroll.getViewport();
-					if (viewport != null) {
-						bean = viewport.getView();
-						if (bean != null && compName.equals(bean.getName())) {
-							m_form.remove(scroll);
-							refreshView();
-							return scroll;
-						}
-					}
-				}
-
-			}
-			else if (comp instanceof JScrollPane) {
-				JScrollPane scroll = (JScrollPane) comp;
-				JViewport viewport = scroll.getViewport();
-				if (viewport != null) {
-					Component bean = viewport.getView();
-					if (bean != null && compName.equals(bean.getName())) {
-						m_form.remove(comp);
-						refreshView();
-						return comp;
-					}
-				}
-			}
+		Component bean = (Component) m_name_index.get(compName);
+		Component comp = (bean == null) ? null : getFormChild(bean);
+		if (comp != null) {
+			m_form.remove(comp);
+			beansChanged();
+			refreshView();
 		}
-		return null;
+		return comp;
 	}
 
 	/**
@@ -1598,54 +1827,14 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 			return null;
 		}
 
-		Component comp = null;
-		CellConstraints cc = null;
-
-		for (int index = 0; index < m_form.getComponentCount(); index++) {
-			comp = m_form.getComponent(index);
-			cc = m_formlayout.getConstraints(comp);
-
-			if (oldComp == comp) {
-				break;
-			}
-			else if (comp instanceof GridComponent) {
-				GridComponent gc = (GridComponent) comp;
-				Component bean = gc.getBeanChildComponent();
-				if (bean instanceof JScrollPane) {
-					JScrollPane scroll = (JScrollPane) bean;
-					JViewport viewport = scroll.getViewport();
-					if (viewport != null) {
-						Component vbean = viewport.getView();
-						if (vbean == oldComp) {
-							comp = scroll;
-							break;
-						}
-					}
-				}
-
-				if (bean == oldComp) {
-					break;
-				}
-
-			}
-			else if (comp instanceof JScrollPane) {
-				JScrollPane scroll = (JScrollPane) comp;
-				JViewport viewport = scroll.getViewport();
-				if (viewport != null) {
-					Component bean = viewport.getView();
-					if (bean == oldComp) {
-						break;
-					}
-				}
-			}
-			comp = null;
-		}
-
+		Component comp = getFormChild(oldComp);
 		if (comp != null) {
+			CellConstraints cc = m_formlayout.getConstraints(comp);
 			m_form.remove(comp);
 			if (newComponent != null) {
 				m_form.add(newComponent, cc);
 			}
+			beansChanged();
 			refreshView();
 			return comp;
 		}
@@ -1672,12 +1861,9 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 			return null;
 		}
 
-		Iterator iter = beanIterator(false);
-		while (iter.hasNext()) {
-			Component comp = (Component) iter.next();
-			if (compName.equals(comp.getName())) {
-				return replaceBean(comp, newComponent);
-			}
+		Component comp = (Component) m_name_index.get(compName);
+		if (comp != null) {
+			return replaceBean(comp, newComponent);
 		}
 		System.err.println("replaceBean failed.  Unable to find compName: " + compName);
 		return null;
@@ -1762,6 +1948,17 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 		}
 	}
 
+	/**
+	 * Updates the name index when an indexed bean is renamed.
+	 */
+	private class NameListener implements PropertyChangeListener {
+		public void propertyChange(PropertyChangeEvent evt) {
+			Component bean = (Component) evt.getSource();
+			unindexName((String) evt.getOldValue(), bean);
+			indexName(bean.getName(), bean);
+		}
+	}
+
 	/**
 	 * Used for iterating over the GridComponents in this view. This iterator
 	 * accesses all child components of the form container. Only components that
@@ -1814,18 +2011,26 @@ public class GridView extends JETAPanel implements Paintable, FormAccessor, Grid
 
 		protected void addImpl(Component comp, Object constraints, int index) {
 			super.addImpl(comp, constraints, index);
+			indexChild(comp);
 			m_mod_stamp = System.currentTimeMillis();
 			updateParentModicationStamps(GridView.this.getParent(), m_mod_stamp);
 		}
 
 		public void remove(int index) {
+			Component comp = getComponent(index);
 			super.remove(index);
+			unindexChild(comp);
 			m_mod_stamp = System.currentTimeMillis();
 			updateParentModicationStamps(GridView.this.getParent(), m_mod_stamp);
 		}
 
 		public void removeAll() {
+			for (int index = 0; index < getComponentCount(); index++) {
+				unindexChild(getComponent(index));
+			}
 			super.removeAll();
+			m_name_index.clear();
+			m_shadowed_names = false;
 			m_mod_stamp = System.currentTimeMillis();
 			updateParentModicationStamps(GridView.this.getParent(), m_mod_stamp);
 		}
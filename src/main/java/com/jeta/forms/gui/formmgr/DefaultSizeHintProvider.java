@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.HashMap;
+
+import javax.swing.Icon;
+
+import com.jeta.forms.store.memento.BeanMemento;
+import com.jeta.forms.store.memento.ComponentMemento;
+import com.jeta.forms.store.memento.PropertiesMemento;
+import com.jeta.forms.store.properties.FontProperty;
+
+/**
+ * A size hint provider that estimates component sizes from the bean
+ * properties stored in a form. Text is measured with a
+ * <code>FontRenderContext</code>; the space a component class adds around
+ * its text (margins, borders, check box icons) is taken from a table of the
+ * standard Swing components. The hints for a bean class are resolved once by
+ * walking its superclasses and then cached.
+ * <p>
+ * 
+ * No components are created, so this provider can be used headless and from
+ * multiple threads. The sizes are approximations of the Metal look and feel.
+ * 
+ * @author Jeff Tassin
+ */
+public class DefaultSizeHintProvider implements SizeHintProvider {
+	/**
+	 * Flag: the component displays its text property.
+	 */
+	private static final int TEXT = 1;
+
+	/**
+	 * Flag: the component height follows the font height.
+	 */
+	private static final int FONT = 2;
+
+	/**
+	 * Flag: the component displays its icon property.
+	 */
+	private static final int ICON = 4;
+
+	/**
+	 * Class name, flags, horizontal padding, vertical padding, width and
+	 * height when the component has no text.
+	 */
+	private static final Object[][] KNOWN_HINTS = {
+			{ "javax.swing.JLabel", new int[] { TEXT | FONT | ICON, 0, 0, 0, 0 } },
+			{ "javax.swing.AbstractButton", new int[] { TEXT | FONT | ICON, 34, 10, 0, 0 } },
+			{ "javax.swing.JCheckBox", new int[] { TEXT | FONT | ICON, 25, 8, 0, 0 } },
+			{ "javax.swing.JRadioButton", new int[] { TEXT | FONT | ICON, 25, 8, 0, 0 } },
+			{ "javax.swing.JTextField", new int[] { TEXT | FONT, 6, 6, 0, 0 } },
+			{ "javax.swing.JPasswordField", new int[] { FONT, 6, 6, 0, 0 } },
+			{ "javax.swing.JComboBox", new int[] { FONT, 24, 8, 40, 0 } },
+			{ "javax.swing.JSpinner", new int[] { FONT, 24, 6, 20, 0 } },
+			{ "javax.swing.JTextArea", new int[] { 0, 0, 0, 100, 60 } },
+			{ "javax.swing.JEditorPane", new int[] { 0, 0, 0, 100, 60 } },
+			{ "javax.swing.JList", new int[] { 0, 0, 0, 100, 60 } },
+			{ "javax.swing.JTable", new int[] { 0, 0, 0, 100, 60 } },
+			{ "javax.swing.JTree", new int[] { 0, 0, 0, 100, 60 } },
+			{ "javax.swing.JTabbedPane", new int[] { 0, 0, 0, 100, 60 } },
+			{ "javax.swing.JProgressBar", new int[] { 0, 0, 0, 146, 12 } },
+			{ "javax.swing.JSlider", new int[] { 0, 0, 0, 200, 16 } },
+			{ "javax.swing.JSeparator", new int[] { 0, 0, 0, 2, 2 } },
+			{ "com.jeta.forms.components.separator.TitledSeparator", new int[] { TEXT | FONT, 8, 4, 0, 0 } },
+			{ "com.jeta.forms.components.image.ImageComponent", new int[] { ICON, 0, 0, 0, 0 } },
+			{ "java.lang.Object", new int[] { 0, 0, 0, 0, 0 } } };
+
+	/**
+	 * Maps bean class names to their resolved hints (int[]). Shared by all
+	 * instances.
+	 */
+	private static final HashMap m_class_hints = new HashMap();
+
+	/**
+	 * Measures text as Swing does with the default rendering hints.
+	 */
+	private static final FontRenderContext FRC = new FontRenderContext(null, false, false);
+
+	/**
+	 * The font used if a bean does not define one.
+	 */
+	private final Font m_default_font;
+
+	/**
+	 * Creates a provider that uses a 12pt dialog font by default.
+	 */
+	public DefaultSizeHintProvider() {
+		this(new Font("Dialog", Font.PLAIN, 12));
+	}
+
+	/**
+	 * ctor
+	 * 
+	 * @param defaultFont
+	 *            the font used if a bean does not define one
+	 */
+	public DefaultSizeHintProvider(Font defaultFont) {
+		m_default_font = defaultFont;
+	}
+
+	/**
+	 * SizeHintProvider implementation. Answers the preferred size since the
+	 * estimated sizes have no slack.
+	 */
+	public Dimension getMinimumSize(ComponentMemento memento) {
+		return getPreferredSize(memento);
+	}
+
+	/**
+	 * SizeHintProvider implementation. Answers null for anything but beans.
+	 */
+	public Dimension getPreferredSize(ComponentMemento memento) {
+		if (!(memento instanceof BeanMemento))
+			return null;
+
+		BeanMemento bm = (BeanMemento) memento;
+		int[] hints = getClassHints(bm.getBeanClass());
+		int flags = hints[0];
+		PropertiesMemento pm = bm.getProperties();
+
+		Font font = m_default_font;
+		Object fontprop = getProperty(pm, "font");
+		if (fontprop instanceof FontProperty && ((FontProperty) fontprop).getFont() != null)
+			font = ((FontProperty) fontprop).getFont();
+
+		int width = hints[3];
+		int height = hints[4];
+		if ((flags & FONT) != 0) {
+			height = (int) Math.ceil(font.getLineMetrics("Xg", FRC).getHeight());
+		}
+
+		Object text = getProperty(pm, "text");
+		boolean has_text = (flags & TEXT) != 0 && text instanceof String && ((String) text).length() > 0;
+		if (has_text) {
+			String str = (String) text;
+			width = (int) Math.ceil(font.getStringBounds(str, FRC).getWidth());
+			height = Math.max(height, (int) Math.ceil(font.getLineMetrics(str, FRC).getHeight()));
+		}
+
+		Object icon = getProperty(pm, "icon");
+		if ((flags & ICON) != 0 && icon instanceof Icon && ((Icon) icon).getIconWidth() > 0) {
+			Icon ic = (Icon) icon;
+			width += ic.getIconWidth() + (has_text ? 4 : 0);
+			height = Math.max(height, ic.getIconHeight());
+		}
+
+		return new Dimension(width + hints[1], height + hints[2]);
+	}
+
+	/**
+	 * @return the value of the given property or null if not defined
+	 */
+	private static Object getProperty(PropertiesMemento pm, String propName) {
+		if (pm == null || !pm.containsProperty(propName))
+			return null;
+		return pm.getPropertyValue(propName);
+	}
+
+	/**
+	 * Returns the hints for the given bean class. Resolves the class and walks
+	 * its superclasses to find the closest known class the first time a class
+	 * is requested.
+	 */
+	private static synchronized int[] getClassHints(String className) {
+		int[] hints = (int[]) m_class_hints.get(className);
+		if (hints == null) {
+			hints = findKnownHints(className);
+			if (hints == null) {
+				try {
+					Class c = Class.forName(className, false, DefaultSizeHintProvider.class.getClassLoader());
+					while (hints == null && c != null) {
+						hints = findKnownHints(c.getName());
+						c = c.getSuperclass();
+					}
+				} catch (Throwable t) {
+					// unknown bean class
+				}
+			}
+			if (hints == null)
+				hints = findKnownHints("java.lang.Object");
+			m_class_hints.put(className, hints);
+		}
+		return hints;
+	}
+
+	/**
+	 * @return the hints in the known hints table for the given class name.
+	 *         Null if not found.
+	 */
+	private static int[] findKnownHints(String className) {
+		for (int index = 0; index < KNOWN_HINTS.length; index++) {
+			if (KNOWN_HINTS[index][0].equals(className))
+				return (int[]) KNOWN_HINTS[index][1];
+		}
+		return null;
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+/**
+ * A snapshot of the statistics gathered while merging embedded forms into
+ * their parents. Obtained from {@link FormManagerUtils#getFlattenStats()}.
+ * 
+ * @author Jeff Tassin
+ */
+public class FlattenStats {
+	/**
+	 * The number of forms opened with flattening enabled since the last
+	 * reset.
+	 */
+	private long m_forms_flattened;
+
+	/**
+	 * The number of FormLayouts (one per form and embedded form) before and
+	 * after flattening.
+	 */
+	private long m_layouts_before;
+	private long m_layouts_after;
+
+	/**
+	 * The number of form components (forms, embedded forms and the beans in
+	 * their cells) before and after flattening.
+	 */
+	private long m_components_before;
+	private long m_components_after;
+
+	/**
+	 * The number of Swing components created for the flattened forms.
+	 */
+	private long m_swing_components;
+
+	/**
+	 * Creates a <code>FlattenStats</code> instance with the specified values.
+	 */
+	public FlattenStats(long formsFlattened, long layoutsBefore, long layoutsAfter, long componentsBefore, long componentsAfter, long swingComponents) {
+		m_forms_flattened = formsFlattened;
+		m_layouts_before = layoutsBefore;
+		m_layouts_after = layoutsAfter;
+		m_components_before = componentsBefore;
+		m_components_after = componentsAfter;
+		m_swing_components = swingComponents;
+	}
+
+	/**
+	 * Returns the number of forms opened with flattening enabled.
+	 */
+	public long getFormsFlattened() {
+		return m_forms_flattened;
+	}
+
+	/**
+	 * Returns the number of embedded forms merged into their parent.
+	 */
+	public long getFormsMerged() {
+		return m_layouts_before - m_layouts_after;
+	}
+
+	/**
+	 * Returns the number of FormLayouts the forms would have without
+	 * flattening.
+	 */
+	public long getLayoutsBefore() {
+		return m_layouts_before;
+	}
+
+	/**
+	 * Returns the number of FormLayouts that run in a layout pass of the
+	 * flattened forms.
+	 */
+	public long getLayoutsAfter() {
+		return m_layouts_after;
+	}
+
+	/**
+	 * Returns the number of form components (forms, embedded forms and the
+	 * beans in their cells) the forms have without flattening. Empty cells are
+	 * not counted.
+	 */
+	public long getComponentsBefore() {
+		return m_components_before;
+	}
+
+	/**
+	 * Returns the number of form components left after flattening. Every
+	 * merged form removes one.
+	 */
+	public long getComponentsAfter() {
+		return m_components_after;
+	}
+
+	/**
+	 * Returns the number of Swing components created for the flattened forms.
+	 * This includes the containers and painters of the remaining forms and the
+	 * placeholders for empty rows and columns.
+	 */
+	public long getSwingComponents() {
+		return m_swing_components;
+	}
+
+	public String toString() {
+		return "forms: " + m_forms_flattened + "  layouts: " + m_layouts_before + " -> " + m_layouts_after + "  components: " + m_components_before + " -> "
+				+ m_components_after + "  swing components: " + m_swing_components;
+	}
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.StringTokenizer;
+
+import com.jeta.forms.gui.common.FormSpecAdapter;
+import com.jeta.forms.gui.form.StandardComponent;
+import com.jeta.forms.store.memento.BeanMemento;
+import com.jeta.forms.store.memento.CellConstraintsMemento;
+import com.jeta.forms.store.memento.ComponentMemento;
+import com.jeta.forms.store.memento.FormGroupSet;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.forms.store.memento.PropertiesMemento;
+import com.jeta.forms.store.properties.CompoundBorderProperty;
+import com.jeta.forms.store.properties.ScrollBarsProperty;
+import com.jeta.forms.store.properties.effects.PaintProperty;
+import com.jeta.forms.store.support.Matrix;
+import com.jeta.jgoodies.forms.layout.CellConstraints;
+import com.jeta.jgoodies.forms.layout.ColumnSpec;
+import com.jeta.jgoodies.forms.layout.FormSpec;
+import com.jeta.jgoodies.forms.layout.RowSpec;
+import com.jeta.jgoodies.forms.layout.Sizes;
+
+/**
+ * Merges embedded forms into the grid of their parent form. This is an
+ * optional pass that is only used when forms are opened in run mode (see
+ * {@link FormManagerUtils#setFlattenEmbeddedForms(boolean)}). Each embedded
+ * form normally creates its own FormComponent, GridView, layered pane,
+ * painters and FormContainer and runs its own FormLayout. When an embedded
+ * form is merged, its column and row specs are spliced into the parent specs
+ * at the cell it occupied and its components are added directly to the
+ * parent.
+ * <p>
+ * 
+ * An embedded form is merged only when the result lays out the same as the
+ * nested form whenever the parent is at least its minimum size and the
+ * columns are not compressed. The conditions are:
+ * <ul>
+ * <li>the form is embedded (not linked), unnamed, has no border, fill,
+ * cell painters, scroll bars or any other property of its own</li>
+ * <li>it occupies a single cell and is the only component in that column and
+ * in that row of the parent</li>
+ * <li>the parent column and row are component sized (preferred or default),
+ * are not grouped and have no cell painters</li>
+ * <li>if the parent column/row grows, it must be the only one in the parent
+ * that does and the embedded form must have a growing column/row. If it does
+ * not grow, neither may any column/row of the embedded form. A column/row
+ * that does not grow may use any alignment, otherwise the form must fill its
+ * cell.</li>
+ * <li>no component in the embedded form spans a growing column/row</li>
+ * </ul>
+ * When the parent is squeezed below its preferred size, the merged columns
+ * compress individually rather than as a unit.
+ * <p>
+ * 
+ * The mementos are modified in place, so only pass forms that were freshly
+ * loaded.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormFlattener {
+	/**
+	 * Returns the number of forms in the given form including the form itself
+	 * and all embedded forms. This is the number of FormLayouts that are run
+	 * in a layout pass. Linked forms are not part of the memento and are not
+	 * counted.
+	 */
+	public static int countForms(FormMemento form) {
+		int count = 1;
+		Iterator iter = form.iterator();
+		while (iter.hasNext()) {
+			Object obj = iter.next();
+			if (obj instanceof FormMemento && ((FormMemento) obj).getRelativePath() == null)
+				count += countForms((FormMemento) obj);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of components in the given form including the form
+	 * itself, all embedded forms and their components. Empty cells are not
+	 * counted because they are ignored in run mode.
+	 */
+	public static int countComponents(FormMemento form) {
+		int count = 1;
+		Iterator iter = form.iterator();
+		while (iter.hasNext()) {
+			ComponentMemento cm = (ComponentMemento) iter.next();
+			if (cm instanceof FormMemento && ((FormMemento) cm).getRelativePath() == null)
+				count += countComponents((FormMemento) cm);
+			else if (!isEmptyComponent(cm))
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Merges all eligible embedded forms (at any depth) into their parents.
+	 * 
+	 * @param form
+	 *            the top level form. This memento is modified in place.
+	 * @return the number of embedded forms that were merged
+	 */
+	public static int flatten(FormMemento form) {
+		int merged = 0;
+		Iterator iter = form.iterator();
+		while (iter.hasNext()) {
+			Object obj = iter.next();
+			if (obj instanceof FormMemento && ((FormMemento) obj).getRelativePath() == null)
+				merged += flatten((FormMemento) obj);
+		}
+
+		/**
+		 * Merging a form changes the parent specs, so rescan the children
+		 * after each merge.
+		 */
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			iter = form.iterator();
+			while (iter.hasNext()) {
+				Object obj = iter.next();
+				if (obj instanceof FormMemento) {
+					FormMemento child = (FormMemento) obj;
+					if (canMerge(form, child)) {
+						merge(form, child);
+						merged++;
+						changed = true;
+						break;
+					}
+				}
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * @return true if the child form can be merged into the parent without
+	 *         changing the layout.
+	 */
+	private static boolean canMerge(FormMemento parent, FormMemento child) {
+		if (child.getRelativePath() != null || child.getCellConstraintsMemento() == null)
+			return false;
+
+		CellConstraints cc = child.getCellConstraintsMemento().createCellConstraints();
+		if (cc.gridWidth != 1 || cc.gridHeight != 1 || !isZero(cc.insets))
+			return false;
+
+		if (!hasDefaultProperties(child) || !isEmpty(child.getCellPainters(), 0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE))
+			return false;
+
+		/**
+		 * An opaque form paints the look and feel background over its cell.
+		 * This is only invisible if the parent paints the same.
+		 */
+		if (isOpaque(child.getPropertiesMemento()) && !paintsDefaultBackground(parent.getPropertiesMemento()))
+			return false;
+
+		Matrix painters = parent.getCellPainters();
+		if (!isEmpty(painters, cc.gridY - 1, 0, 1, Integer.MAX_VALUE) || !isEmpty(painters, 0, cc.gridX - 1, Integer.MAX_VALUE, 1))
+			return false;
+
+		ArrayList parent_comps = getComponents(parent, child);
+		ArrayList child_comps = getComponents(child, null);
+		return canMergeAxis(parent.getColumnSpecs(), parent.getColumnGroups(), child.getColumnSpecs(), cc.gridX, cc.hAlign, parent_comps, child_comps, true)
+				&& canMergeAxis(parent.getRowSpecs(), parent.getRowGroups(), child.getRowSpecs(), cc.gridY, cc.vAlign, parent_comps, child_comps, false);
+	}
+
+	/**
+	 * Checks the merge conditions along a single axis.
+	 * 
+	 * @param index
+	 *            the 1-based column or row of the child form in the parent
+	 */
+	private static boolean canMergeAxis(String parentSpecs, FormGroupSet parentGroups, String childSpecs, int index, CellConstraints.Alignment alignment,
+			ArrayList parentComps, ArrayList childComps, boolean horizontal) {
+		FormSpec[] pspecs = decodeSpecs(parentSpecs, horizontal);
+		FormSpec[] cspecs = decodeSpecs(childSpecs, horizontal);
+		if (index < 1 || index > pspecs.length || cspecs.length == 0)
+			return false;
+
+		FormSpec spec = pspecs[index - 1];
+		if (spec.getSize() != Sizes.PREFERRED && spec.getSize() != Sizes.DEFAULT)
+			return false;
+
+		if (parentGroups != null && parentGroups.getGroupId(index) != null)
+			return false;
+
+		for (int i = 0; i < parentComps.size(); i++) {
+			CellConstraints cc = (CellConstraints) parentComps.get(i);
+			int start = horizontal ? cc.gridX : cc.gridY;
+			int span = horizontal ? cc.gridWidth : cc.gridHeight;
+			if (start <= index && index < start + span)
+				return false;
+		}
+
+		boolean parent_grows = spec.getResizeWeight() != FormSpec.NO_GROW;
+		boolean child_grows = false;
+		for (int i = 0; i < cspecs.length; i++) {
+			if (cspecs[i].getResizeWeight() != FormSpec.NO_GROW)
+				child_grows = true;
+		}
+
+		if (parent_grows) {
+			if (!child_grows)
+				return false;
+
+			for (int i = 0; i < pspecs.length; i++) {
+				if (i != index - 1 && pspecs[i].getResizeWeight() != FormSpec.NO_GROW)
+					return false;
+			}
+
+			/**
+			 * The cell is larger than the form only if it grows
+			 */
+			FormSpec.DefaultAlignment fill = horizontal ? ColumnSpec.FILL : RowSpec.FILL;
+			if (alignment != CellConstraints.FILL && (alignment != CellConstraints.DEFAULT || spec.getDefaultAlignment() != fill))
+				return false;
+		}
+		else if (child_grows) {
+			return false;
+		}
+
+		/**
+		 * A component that spans a growing column adds to the preferred size
+		 * of the form, but not to the sum of its columns.
+		 */
+		for (int i = 0; i < childComps.size(); i++) {
+			CellConstraints cc = (CellConstraints) childComps.get(i);
+			int start = horizontal ? cc.gridX : cc.gridY;
+			int span = horizontal ? cc.gridWidth : cc.gridHeight;
+			if (span > 1) {
+				for (int j = start - 1; j < start - 1 + span && j < cspecs.length; j++) {
+					if (j >= 0 && cspecs[j].getResizeWeight() != FormSpec.NO_GROW)
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces the child form with its components.
+	 */
+	private static void merge(FormMemento parent, FormMemento child) {
+		CellConstraints fcc = child.getCellConstraintsMemento().createCellConstraints();
+		int col = fcc.gridX;
+		int row = fcc.gridY;
+		String[] pcols = tokenize(parent.getColumnSpecs());
+		String[] prows = tokenize(parent.getRowSpecs());
+		String[] ccols = tokenize(child.getColumnSpecs());
+		String[] crows = tokenize(child.getRowSpecs());
+		int dcol = ccols.length - 1;
+		int drow = crows.length - 1;
+
+		ArrayList comps = new ArrayList();
+		Iterator iter = parent.iterator();
+		while (iter.hasNext()) {
+			ComponentMemento cm = (ComponentMemento) iter.next();
+			iter.remove();
+			if (cm == child) {
+				Iterator citer = child.iterator();
+				while (citer.hasNext()) {
+					ComponentMemento ccm = (ComponentMemento) citer.next();
+					if (!isEmptyComponent(ccm)) {
+						translate(ccm, 0, col - 1, 0, row - 1);
+						comps.add(ccm);
+					}
+				}
+			}
+			else {
+				translate(cm, col, dcol, row, drow);
+				comps.add(cm);
+			}
+		}
+
+		for (int index = 0; index < comps.size(); index++) {
+			parent.addComponent((ComponentMemento) comps.get(index));
+		}
+
+		parent.setColumnSpecs(splice(pcols, col, ccols));
+		parent.setRowSpecs(splice(prows, row, crows));
+		parent.setColumnGroups(mergeGroups(parent.getColumnGroups(), pcols.length, col, child.getColumnGroups(), ccols.length));
+		parent.setRowGroups(mergeGroups(parent.getRowGroups(), prows.length, row, child.getRowGroups(), crows.length));
+
+		Matrix painters = parent.getCellPainters();
+		if (painters != null) {
+			Matrix result = new Matrix(prows.length + drow, pcols.length + dcol);
+			for (int r = 0; r < painters.getRowCount(); r++) {
+				for (int c = 0; c < painters.getColumnCount(); c++) {
+					Object value = painters.getValue(r, c);
+					if (value != null)
+						result.setValue(r < row ? r : r + drow, c < col ? c : c + dcol, value);
+				}
+			}
+			parent.setCellPainters(result);
+		}
+	}
+
+	/**
+	 * Moves a component that is after the given column/row by the given
+	 * amount.
+	 */
+	private static void translate(ComponentMemento cm, int col, int dcol, int row, int drow) {
+		CellConstraintsMemento ccm = cm.getCellConstraintsMemento();
+		if (ccm == null)
+			return;
+
+		CellConstraints cc = ccm.createCellConstraints();
+		if (cc.gridX > col)
+			cc.gridX += dcol;
+		if (cc.gridY > row)
+			cc.gridY += drow;
+		cm.setCellConstraintsMemento(new CellConstraintsMemento(cc));
+	}
+
+	/**
+	 * @return the encoded specs with the spec at the given 1-based index
+	 *         replaced by the given specs.
+	 */
+	private static String splice(String[] specs, int index, String[] replacement) {
+		StringBuffer sbuff = new StringBuffer();
+		for (int i = 0; i < specs.length; i++) {
+			if (i == index - 1) {
+				for (int j = 0; j < replacement.length; j++) {
+					if (sbuff.length() > 0)
+						sbuff.append(',');
+					sbuff.append(replacement[j]);
+				}
+			}
+			else {
+				if (sbuff.length() > 0)
+					sbuff.append(',');
+				sbuff.append(specs[i]);
+			}
+		}
+		return sbuff.toString();
+	}
+
+	/**
+	 * Combines the groups of the parent with the groups of the merged form.
+	 * The child groups get new keys so they stay separate from the parent
+	 * groups.
+	 */
+	private static FormGroupSet mergeGroups(FormGroupSet parentGroups, int parentCount, int index, FormGroupSet childGroups, int childCount) {
+		FormGroupSet result = new FormGroupSet();
+		int next_key = 1;
+		if (parentGroups != null) {
+			for (int i = 1; i <= parentCount; i++) {
+				Integer key = parentGroups.getGroupId(i);
+				if (key != null) {
+					result.assignToGroup(key, i < index ? i : i + childCount - 1);
+					next_key = Math.max(next_key, key.intValue() + 1);
+				}
+			}
+		}
+
+		if (childGroups != null) {
+			for (int i = 1; i <= childCount; i++) {
+				Integer key = childGroups.getGroupId(i);
+				if (key != null)
+					result.assignToGroup(new Integer(next_key + key.intValue()), i + index - 1);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the cell constraints of all non-empty components in the form
+	 *         except the given one.
+	 */
+	private static ArrayList getComponents(FormMemento form, ComponentMemento exclude) {
+		ArrayList result = new ArrayList();
+		Iterator iter = form.iterator();
+		while (iter.hasNext()) {
+			ComponentMemento cm = (ComponentMemento) iter.next();
+			if (cm != exclude && !isEmptyComponent(cm) && cm.getCellConstraintsMemento() != null)
+				result.add(cm.getCellConstraintsMemento().createCellConstraints());
+		}
+		return result;
+	}
+
+	/**
+	 * @return true if the memento is an empty cell. These are ignored in run
+	 *         mode.
+	 */
+	private static boolean isEmptyComponent(ComponentMemento cm) {
+		return StandardComponent.class.getName().equals(cm.getComponentClass()) && cm instanceof BeanMemento && ((BeanMemento) cm).getBeanClass() == null;
+	}
+
+	/**
+	 * @return true if the form only has the default values for its
+	 *         properties.
+	 */
+	private static boolean hasDefaultProperties(FormMemento form) {
+		if (form.getPropertiesMemento() == null)
+			return false;
+
+		Iterator iter = form.getPropertiesMemento().getPropertyNames().iterator();
+		while (iter.hasNext()) {
+			String name = (String) iter.next();
+			Object value = form.getPropertiesMemento().getPropertyValue(name);
+			if (value == null || "opaque".equals(name))
+				continue;
+
+			if ("name".equals(name)) {
+				if (value.toString().length() > 0)
+					return false;
+			}
+			else if (value instanceof CompoundBorderProperty) {
+				if (((CompoundBorderProperty) value).size() > 0)
+					return false;
+			}
+			else if (value instanceof PaintProperty) {
+				if (((PaintProperty) value).getPaintDelegate() != null)
+					return false;
+			}
+			else if (value instanceof ScrollBarsProperty) {
+				if (((ScrollBarsProperty) value).isScrollable())
+					return false;
+			}
+			else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the form paints its background. Forms are opaque by
+	 *         default.
+	 */
+	private static boolean isOpaque(PropertiesMemento pm) {
+		Object value = (pm == null ? null : pm.getPropertyValue("opaque"));
+		return !Boolean.FALSE.equals(value);
+	}
+
+	/**
+	 * @return true if the form is opaque and paints the look and feel
+	 *         background color without any fill.
+	 */
+	private static boolean paintsDefaultBackground(PropertiesMemento pm) {
+		if (pm == null || !isOpaque(pm) || pm.getPropertyValue("background") != null)
+			return false;
+
+		Object fill = pm.getPropertyValue(PaintProperty.PROPERTY_ID);
+		return !(fill instanceof PaintProperty) || ((PaintProperty) fill).getPaintDelegate() == null;
+	}
+
+	/**
+	 * @return true if the given block of the matrix has no values.
+	 */
+	private static boolean isEmpty(Matrix matrix, int row, int col, int rows, int cols) {
+		if (matrix == null)
+			return true;
+
+		int last_row = (int) Math.min((long) row + rows, matrix.getRowCount());
+		int last_col = (int) Math.min((long) col + cols, matrix.getColumnCount());
+		for (int r = row; r < last_row; r++) {
+			for (int c = col; c < last_col; c++) {
+				if (matrix.getValue(r, c) != null)
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isZero(Insets insets) {
+		return insets == null || (insets.top == 0 && insets.left == 0 && insets.bottom == 0 && insets.right == 0);
+	}
+
+	/**
+	 * Splits encoded specs into the individual specs. The specs are left in
+	 * their stored form; they are fixed up when the form is created.
+	 */
+	private static String[] tokenize(String specs) {
+		StringTokenizer st = new StringTokenizer(specs, ",");
+		String[] result = new String[st.countTokens()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = st.nextToken();
+		}
+		return result;
+	}
+
+	private static FormSpec[] decodeSpecs(String specs, boolean horizontal) {
+		String fixed = FormSpecAdapter.fixupSpecs(specs);
+		if (horizontal)
+			return ColumnSpec.decodeSpecs(fixed);
+		else
+			return RowSpec.decodeSpecs(fixed);
+	}
+}
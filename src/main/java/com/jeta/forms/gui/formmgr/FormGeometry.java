@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+
+import com.jeta.forms.store.memento.ComponentMemento;
+import com.jeta.forms.store.memento.FormMemento;
+
+/**
+ * The geometry of a form computed by {@link FormGeometrySolver}. Holds the
+ * column and row origins of the form and the cell and component bounds of
+ * each child component. All coordinates are relative to the form.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormGeometry {
+	/**
+	 * The form that was solved.
+	 */
+	private FormMemento m_form;
+
+	/**
+	 * The size the form was laid out at.
+	 */
+	private Dimension m_size;
+
+	/**
+	 * The column and row origins. These contain one more element than the
+	 * number of columns and rows.
+	 */
+	private int[] m_col_origins;
+	private int[] m_row_origins;
+
+	/**
+	 * The child components in the order they were laid out.
+	 */
+	private ComponentMemento[] m_components;
+
+	/**
+	 * The bounds of the cell area occupied by each child.
+	 */
+	private Rectangle[] m_cell_bounds;
+
+	/**
+	 * The bounds of each child.
+	 */
+	private Rectangle[] m_component_bounds;
+
+	/**
+	 * The preferred size of each child.
+	 */
+	private Dimension[] m_preferred_sizes;
+
+	/**
+	 * The geometry of each child that is an embedded form. Null for all other
+	 * children.
+	 */
+	private FormGeometry[] m_children;
+
+	/**
+	 * ctor
+	 */
+	FormGeometry(FormMemento form, Dimension size, int[] colOrigins, int[] rowOrigins, ComponentMemento[] components, Rectangle[] cellBounds,
+			Rectangle[] componentBounds, Dimension[] preferredSizes, FormGeometry[] children) {
+		m_form = form;
+		m_size = size;
+		m_col_origins = colOrigins;
+		m_row_origins = rowOrigins;
+		m_components = components;
+		m_cell_bounds = cellBounds;
+		m_component_bounds = componentBounds;
+		m_preferred_sizes = preferredSizes;
+		m_children = children;
+	}
+
+	/**
+	 * @return the bounds of the cell at the given 1-based column and row
+	 */
+	public Rectangle getCellBounds(int col, int row) {
+		return new Rectangle(m_col_origins[col - 1], m_row_origins[row - 1], m_col_origins[col] - m_col_origins[col - 1], m_row_origins[row]
+				- m_row_origins[row - 1]);
+	}
+
+	/**
+	 * @return the column origins. The array contains one more element than
+	 *         the number of columns.
+	 */
+	public int[] getColumnOrigins() {
+		return (int[]) m_col_origins.clone();
+	}
+
+	/**
+	 * @return the number of child components
+	 */
+	public int getComponentCount() {
+		return m_components.length;
+	}
+
+	/**
+	 * @return the memento of the child at the given index
+	 */
+	public ComponentMemento getComponent(int index) {
+		return m_components[index];
+	}
+
+	/**
+	 * @return the bounds of the cell area occupied by the child at the given
+	 *         index
+	 */
+	public Rectangle getComponentCellBounds(int index) {
+		return new Rectangle(m_cell_bounds[index]);
+	}
+
+	/**
+	 * @return the bounds of the child at the given index
+	 */
+	public Rectangle getComponentBounds(int index) {
+		return new Rectangle(m_component_bounds[index]);
+	}
+
+	/**
+	 * @return the geometry of the child at the given index if it is an
+	 *         embedded form. Null otherwise.
+	 */
+	public FormGeometry getChildGeometry(int index) {
+		return m_children[index];
+	}
+
+	/**
+	 * @return the form that was solved
+	 */
+	public FormMemento getForm() {
+		return m_form;
+	}
+
+	/**
+	 * @return the preferred size of the child at the given index
+	 */
+	public Dimension getPreferredSize(int index) {
+		return new Dimension(m_preferred_sizes[index]);
+	}
+
+	/**
+	 * @return the row origins. The array contains one more element than the
+	 *         number of rows.
+	 */
+	public int[] getRowOrigins() {
+		return (int[]) m_row_origins.clone();
+	}
+
+	/**
+	 * @return the size the form was laid out at
+	 */
+	public Dimension getSize() {
+		return new Dimension(m_size);
+	}
+
+	/**
+	 * @return true if the child at the given index is smaller than its
+	 *         preferred size. For example, a label whose text is cut off.
+	 */
+	public boolean isClipped(int index) {
+		Rectangle bounds = m_component_bounds[index];
+		Dimension pref = m_preferred_sizes[index];
+		return bounds.width < pref.width || bounds.height < pref.height;
+	}
+
+	/**
+	 * @return true if the cell areas of the children at the given indices
+	 *         overlap.
+	 */
+	public boolean isOverlapping(int index1, int index2) {
+		return m_cell_bounds[index1].intersects(m_cell_bounds[index2]);
+	}
+}
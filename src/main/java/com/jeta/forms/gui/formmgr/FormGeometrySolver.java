@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import com.jeta.forms.gui.common.FormSpecAdapter;
+import com.jeta.forms.gui.form.StandardComponent;
+import com.jeta.forms.store.memento.BeanMemento;
+import com.jeta.forms.store.memento.ComponentMemento;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.jgoodies.forms.layout.CellConstraints;
+import com.jeta.jgoodies.forms.layout.ColumnSpec;
+import com.jeta.jgoodies.forms.layout.FormLayout;
+import com.jeta.jgoodies.forms.layout.FormLayoutSolver;
+import com.jeta.jgoodies.forms.layout.RowSpec;
+
+/**
+ * Computes the geometry of a form directly from its <code>FormMemento</code>
+ * without creating any Swing components. The column and row specs, groups
+ * and cell constraints are taken from the memento; the sizes of the child
+ * components are supplied by a {@link SizeHintProvider}. Embedded forms are
+ * solved recursively.
+ * <p>
+ * 
+ * A solver only holds its size hint provider, so a single instance can be
+ * used from any number of threads to check many forms in parallel.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormGeometrySolver {
+	/**
+	 * Supplies the sizes of the child components.
+	 */
+	private final SizeHintProvider m_hints;
+
+	/**
+	 * Creates a solver that uses a {@link DefaultSizeHintProvider}.
+	 */
+	public FormGeometrySolver() {
+		this(new DefaultSizeHintProvider());
+	}
+
+	/**
+	 * ctor
+	 * 
+	 * @param hints
+	 *            supplies the sizes of the child components
+	 */
+	public FormGeometrySolver(SizeHintProvider hints) {
+		m_hints = hints;
+	}
+
+	/**
+	 * @return the preferred size of the given form
+	 */
+	public Dimension getPreferredSize(FormMemento form) {
+		return build(form).solver.preferredLayoutSize();
+	}
+
+	/**
+	 * @return the minimum size of the given form
+	 */
+	public Dimension getMinimumSize(FormMemento form) {
+		return build(form).solver.minimumLayoutSize();
+	}
+
+	/**
+	 * Lays out the given form at its preferred size.
+	 */
+	public FormGeometry solve(FormMemento form) {
+		Node node = build(form);
+		Dimension size = node.solver.preferredLayoutSize();
+		return layout(node, size.width, size.height);
+	}
+
+	/**
+	 * Lays out the given form at the given size.
+	 */
+	public FormGeometry solve(FormMemento form, int width, int height) {
+		return layout(build(form), width, height);
+	}
+
+	/**
+	 * Creates the layout solver for the given form and, recursively, for any
+	 * embedded forms whose size is not known to the hint provider.
+	 */
+	private Node build(FormMemento form) {
+		ColumnSpec[] colspecs = ColumnSpec.decodeSpecs(FormSpecAdapter.fixupSpecs(form.getColumnSpecs()));
+		RowSpec[] rowspecs = RowSpec.decodeSpecs(FormSpecAdapter.fixupSpecs(form.getRowSpecs()));
+		Node node = new Node(form, new FormLayoutSolver(colspecs, rowspecs));
+		if (form.getColumnGroups() != null)
+			node.solver.setColumnGroups(form.getColumnGroups().toArray());
+		if (form.getRowGroups() != null)
+			node.solver.setRowGroups(form.getRowGroups().toArray());
+
+		Iterator iter = form.iterator();
+		while (iter.hasNext()) {
+			ComponentMemento cm = (ComponentMemento) iter.next();
+			if (cm.getCellConstraintsMemento() == null)
+				continue;
+
+			if (StandardComponent.class.getName().equals(cm.getComponentClass()) && cm instanceof BeanMemento) {
+				if (((BeanMemento) cm).getBeanClass() == null) {
+					// ignore empty components here.
+					continue;
+				}
+			}
+
+			Dimension minsize = m_hints.getMinimumSize(cm);
+			Dimension prefsize = m_hints.getPreferredSize(cm);
+			Node child = null;
+			if ((minsize == null || prefsize == null) && cm instanceof FormMemento && ((FormMemento) cm).size() > 0) {
+				child = build((FormMemento) cm);
+				if (minsize == null)
+					minsize = child.solver.minimumLayoutSize();
+				if (prefsize == null)
+					prefsize = child.solver.preferredLayoutSize();
+			}
+			if (minsize == null)
+				minsize = new Dimension(0, 0);
+			if (prefsize == null)
+				prefsize = minsize;
+
+			CellConstraints cc = cm.getCellConstraintsMemento().createCellConstraints();
+			node.solver.addComponent(cc, minsize.width, minsize.height, prefsize.width, prefsize.height);
+			node.components.add(cm);
+			node.preferred.add(prefsize);
+			node.children.add(child);
+		}
+		return node;
+	}
+
+	/**
+	 * Lays out the given form and its embedded forms.
+	 */
+	private FormGeometry layout(Node node, int width, int height) {
+		FormLayoutSolver solver = node.solver;
+		FormLayout.LayoutInfo info = solver.layout(width, height);
+		int count = solver.getComponentCount();
+		Rectangle[] cellbounds = new Rectangle[count];
+		Rectangle[] compbounds = new Rectangle[count];
+		FormGeometry[] children = new FormGeometry[count];
+		for (int index = 0; index < count; index++) {
+			cellbounds[index] = solver.getCellBounds(index, info);
+			compbounds[index] = solver.getComponentBounds(index, info);
+			Node child = (Node) node.children.get(index);
+			if (child != null)
+				children[index] = layout(child, compbounds[index].width, compbounds[index].height);
+		}
+
+		return new FormGeometry(node.form, new Dimension(width, height), info.columnOrigins, info.rowOrigins, (ComponentMemento[]) node.components
+				.toArray(new ComponentMemento[count]), cellbounds, compbounds, (Dimension[]) node.preferred.toArray(new Dimension[count]), children);
+	}
+
+	/**
+	 * The layout solver of a form along with the mementos, preferred sizes
+	 * and embedded form nodes of its children.
+	 */
+	private static class Node {
+		final FormMemento form;
+		final FormLayoutSolver solver;
+		final ArrayList components = new ArrayList();
+		final ArrayList preferred = new ArrayList();
+		final ArrayList children = new ArrayList();
+
+		Node(FormMemento form, FormLayoutSolver solver) {
+			this.form = form;
+			this.solver = solver;
+		}
+	}
+}
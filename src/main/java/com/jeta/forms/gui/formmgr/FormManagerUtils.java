@@ -29,6 +29,8 @@
 
 package com.jeta.forms.gui.formmgr;
 
+import java.awt.Component;
+import java.awt.Container;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -47,6 +49,7 @@ import com.jeta.forms.store.jml.JMLException;
 import com.jeta.forms.store.jml.JMLUtils;
 import com.jeta.forms.store.memento.FormMemento;
 import com.jeta.forms.store.memento.FormPackage;
+import com.jeta.forms.store.support.InternCache;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.registry.JETARegistry;
 import com.jeta.open.resources.ResourceLoader;
@@ -59,7 +62,151 @@ import com.jeta.open.resources.ResourceLoader;
 public class FormManagerUtils {
 	private static final int DEFAULT_BUFFER_SIZE = 1024 * 20;
 
+	/**
+	 * The number of forms loaded and the total load time in milliseconds
+	 * since the last call to resetLoadStats.
+	 */
+	private static long m_forms_loaded;
+	private static long m_load_time;
+
+	/**
+	 * Set to true to merge simple embedded forms into their parent grid when
+	 * opening forms in run mode. See {@link FormFlattener}.
+	 */
+	private static boolean m_flatten_forms = false;
+
+	/**
+	 * The number of forms opened with flattening enabled, the number of form
+	 * layouts and form components with and without flattening and the number
+	 * of Swing components created since the last call to resetLoadStats.
+	 */
+	private static long m_forms_flattened;
+	private static long m_layouts_before;
+	private static long m_layouts_after;
+	private static long m_components_before;
+	private static long m_components_after;
+	private static long m_swing_components;
+
+	/**
+	 * Returns the statistics gathered while loading forms. This includes the
+	 * number of shared fonts, colors, insets and borders and the estimated
+	 * heap savings.
+	 */
+	public static synchronized LoadStats getLoadStats() {
+		return new LoadStats(m_forms_loaded, m_load_time, InternCache.getRequestCount(), InternCache.getHitCount(), InternCache.getBytesSaved());
+	}
+
+	/**
+	 * Returns the statistics gathered while flattening forms. See
+	 * {@link #setFlattenEmbeddedForms(boolean)}.
+	 */
+	public static synchronized FlattenStats getFlattenStats() {
+		return new FlattenStats(m_forms_flattened, m_layouts_before, m_layouts_after, m_components_before, m_components_after, m_swing_components);
+	}
+
+	/**
+	 * Resets the load statistics.
+	 */
+	public static synchronized void resetLoadStats() {
+		m_forms_loaded = 0;
+		m_load_time = 0;
+		m_forms_flattened = 0;
+		m_layouts_before = 0;
+		m_layouts_after = 0;
+		m_components_before = 0;
+		m_components_after = 0;
+		m_swing_components = 0;
+		InternCache.resetStats();
+	}
+
+	/**
+	 * Updates the load statistics after a form has been read.
+	 */
+	private static synchronized void updateLoadStats(long startTime) {
+		m_forms_loaded++;
+		m_load_time += (System.currentTimeMillis() - startTime);
+	}
+
+	/**
+	 * Updates the flatten statistics after a form has been created.
+	 */
+	private static synchronized void updateFlattenStats(int layoutsBefore, int layoutsAfter, int componentsBefore, int componentsAfter, int swingComponents) {
+		m_forms_flattened++;
+		m_layouts_before += layoutsBefore;
+		m_layouts_after += layoutsAfter;
+		m_components_before += componentsBefore;
+		m_components_after += componentsAfter;
+		m_swing_components += swingComponents;
+	}
+
+	/**
+	 * Returns true if simple embedded forms are merged into their parent grid
+	 * when forms are opened in run mode.
+	 */
+	public static boolean isFlattenEmbeddedForms() {
+		return m_flatten_forms;
+	}
+
+	/**
+	 * Enables or disables merging of simple embedded forms into the grid of
+	 * their parent form when forms are opened in run mode. This reduces the
+	 * number of components and layout passes. Flattening is off by default
+	 * because the embedded forms no longer exist as separate components. See
+	 * {@link FormFlattener} for the forms that are merged.
+	 */
+	public static void setFlattenEmbeddedForms(boolean flatten) {
+		m_flatten_forms = flatten;
+	}
+
+	/**
+	 * Creates a form component from the given state. Embedded forms are
+	 * merged into their parent if flattening is enabled. The memento is
+	 * modified when it is flattened.
+	 * 
+	 * @param memento
+	 *            the form state returned by <code>loadForm</code>
+	 * @return a FormComponent object that is initialized from the memento
+	 */
+	public static FormComponent createForm(FormMemento memento) throws FormException {
+		boolean flatten = m_flatten_forms && !FormUtils.isDesignMode();
+		int layouts = 0;
+		int components = 0;
+		if (flatten) {
+			layouts = FormFlattener.countForms(memento);
+			components = FormFlattener.countComponents(memento);
+			FormFlattener.flatten(memento);
+		}
+
+		FormComponent fc = FormComponent.create();
+		fc.setState(memento);
+		if (flatten)
+			updateFlattenStats(layouts, FormFlattener.countForms(memento), components, FormFlattener.countComponents(memento), countComponents(fc));
+		return fc;
+	}
+
+	/**
+	 * @return the number of components in the given container including the
+	 *         container itself.
+	 */
+	private static int countComponents(Component comp) {
+		int count = 1;
+		if (comp instanceof Container) {
+			Container cc = (Container) comp;
+			for (int index = 0; index < cc.getComponentCount(); index++) {
+				count += countComponents(cc.getComponent(index));
+			}
+		}
+		return count;
+	}
+
 	public static FormMemento loadForm(InputStream is) throws ClassNotFoundException, IOException, JMLException {
+		long start_time = System.currentTimeMillis();
+		FormMemento memento = readForm(is);
+		updateLoadStats(start_time);
+		return memento;
+	}
+
+	private static FormMemento readForm(InputStream is) throws ClassNotFoundException, IOException, JMLException {
 		/**
 		 * If the input stream is an instanceof ObjectInputStream, we
 		 * automatically assume it is binary.
@@ -144,9 +291,7 @@ public class FormManagerUtils {
 	 */
 	public static FormComponent openForm(InputStream istream) throws FormException {
 		try {
-			FormMemento memento = loadForm(istream);
-			FormComponent fc = FormComponent.create();
-			fc.setState(memento);
+			FormComponent fc = createForm(loadForm(istream));
 			/**
 			 * we don't need to set the form path here because we are in
 			 * run-mode and linked vs. embedded has no meaning
@@ -197,9 +342,7 @@ public class FormManagerUtils {
 			ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
 			BufferedInputStream bis = new BufferedInputStream(loader.getResourceAsStream(relativePath), DEFAULT_BUFFER_SIZE);
 
-			FormMemento memento = loadForm(bis);
-			FormComponent fc = FormComponent.create();
-			fc.setState(memento);
+			FormComponent fc = createForm(loadForm(bis));
 			bis.close();
 
 			/**
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.gui.formmgr;
+
+/**
+ * A snapshot of the statistics gathered while loading forms. Obtained from
+ * {@link FormManagerUtils#getLoadStats()}.
+ * 
+ * @author Jeff Tassin
+ */
+public class LoadStats {
+	/**
+	 * The number of forms loaded since the last reset.
+	 */
+	private long m_forms_loaded;
+
+	/**
+	 * The total time in milliseconds spent reading form files.
+	 */
+	private long m_load_time;
+
+	/**
+	 * The number of values (fonts, colors, insets, borders) that were passed
+	 * to the intern cache.
+	 */
+	private long m_intern_requests;
+
+	/**
+	 * The number of values that were resolved to an existing shared instance.
+	 */
+	private long m_intern_hits;
+
+	/**
+	 * The estimated number of heap bytes saved by sharing values.
+	 */
+	private long m_bytes_saved;
+
+	/**
+	 * Creates a <code>LoadStats</code> instance with the specified values.
+	 */
+	public LoadStats(long formsLoaded, long loadTime, long internRequests, long internHits, long bytesSaved) {
+		m_forms_loaded = formsLoaded;
+		m_load_time = loadTime;
+		m_intern_requests = internRequests;
+		m_intern_hits = internHits;
+		m_bytes_saved = bytesSaved;
+	}
+
+	/**
+	 * Returns the number of forms loaded since the last reset.
+	 */
+	public long getFormsLoaded() {
+		return m_forms_loaded;
+	}
+
+	/**
+	 * Returns the total time in milliseconds spent reading form files.
+	 */
+	public long getLoadTime() {
+		return m_load_time;
+	}
+
+	/**
+	 * Returns the number of values passed to the intern cache.
+	 */
+	public long getInternRequests() {
+		return m_intern_requests;
+	}
+
+	/**
+	 * Returns the number of values that were resolved to a shared instance.
+	 */
+	public long getInternHits() {
+		return m_intern_hits;
+	}
+
+	/**
+	 * Returns the estimated number of heap bytes saved by sharing values.
+	 */
+	public long getBytesSaved() {
+		return m_bytes_saved;
+	}
+
+	public String toString() {
+		return "forms: " + m_forms_loaded + "  load time: " + m_load_time + "ms  interned: " + m_intern_hits + "/" + m_intern_requests + "  saved: "
+				+ m_bytes_saved + " bytes";
+	}
+}
@@ -36,6 +36,7 @@ import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.store.AbstractJETAPersistable;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 import com.jeta.jgoodies.forms.layout.CellConstraints;
 
 /**
@@ -148,7 +149,11 @@ public class CellConstraintsMemento extends AbstractJETAPersistable {
 		m_rowspan = in.readInt("rowspan");
 		m_halign = (String) in.readObject("halign");
 		m_valign = (String) in.readObject("valign");
-		m_insets = (Insets) in.readObject("insets");
+		/**
+		 * the insets are shared with other constraints that have the same
+		 * values. CellConstraints never modify their insets in place.
+		 */
+		m_insets = InternCache.intern((Insets) in.readObject("insets"));
 	}
 
 	/**
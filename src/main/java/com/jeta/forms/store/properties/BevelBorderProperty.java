@@ -93,6 +93,23 @@ public class BevelBorderProperty extends BorderProperty {
 	 *         instance.
 	 */
 	public Border createBorder(Component comp) {
+		return createTitle(createUntitledBorder(comp));
+	}
+
+	/**
+	 * BorderProperty implementation. Bevel borders are shared by type and
+	 * colors.
+	 */
+	protected String getBorderKey() {
+		return "BEVEL:" + m_type + ":" + toCacheKey(m_highlightOuter) + ":" + toCacheKey(m_highlightInner) + ":" + toCacheKey(m_shadowOuter) + ":"
+				+ toCacheKey(m_shadowInner);
+	}
+
+	/**
+	 * BorderProperty implementation. Creates the bevel border without a
+	 * title.
+	 */
+	protected Border createUntitledBorder(Component comp) {
 		Color h_outer = null;
 		Color h_inner = null;
 		Color s_outer = null;
@@ -118,8 +135,7 @@ public class BevelBorderProperty extends BorderProperty {
 			s_inner = new ColorProxy(cprop);
 		}
 
-		Border b = new BevelBorder(getBevelType(), h_outer, h_inner, s_outer, s_inner);
-		return createTitle(b);
+		return new BevelBorder(getBevelType(), h_outer, h_inner, s_outer, s_inner);
 	}
 
 	/**
@@ -39,6 +39,7 @@ import javax.swing.JComponent;
 import javax.swing.border.Border;
 import javax.swing.border.TitledBorder;
 
+import com.jeta.forms.components.border.BorderCache;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
@@ -129,6 +130,80 @@ public class BorderProperty extends JETAProperty {
 		return null;
 	}
 
+	/**
+	 * Returns a Swing border instance based on the values in this
+	 * BorderProperty instance. Unlike <code>createBorder</code>, the border
+	 * is shared with all other border properties that have the same values.
+	 * Titled borders with different titles share the same underlying border.
+	 * Borders that depend on the component (e.g. default borders) are not
+	 * shared.
+	 * 
+	 * @param comp
+	 *            the component that is the basis for the border.
+	 * @return a shared Swing border instance.
+	 */
+	public Border getBorder(Component comp) {
+		String key = getBorderKey();
+		if (key == null)
+			return createBorder(comp);
+
+		Border b = BorderCache.getBorder(key);
+		if (b == null) {
+			b = createUntitledBorder(comp);
+			BorderCache.putBorder(key, b);
+		}
+
+		if (isIncludeTitle() && b != null) {
+			String title_key = key + getTitleKey();
+			Border tb = BorderCache.getBorder(title_key);
+			if (tb == null) {
+				tb = createTitle(b);
+				BorderCache.putBorder(title_key, tb);
+			}
+			b = tb;
+		}
+		return b;
+	}
+
+	/**
+	 * Returns a key that uniquely identifies the border created by this
+	 * property excluding the title. Two properties with the same key must
+	 * create equivalent borders. Null is returned if the border cannot be
+	 * shared. This is the default.
+	 */
+	protected String getBorderKey() {
+		return null;
+	}
+
+	/**
+	 * Returns a key that encodes the title attributes of this border.
+	 */
+	protected String getTitleKey() {
+		return "|title:" + m_title + ":" + m_justification + ":" + m_position + ":" + toCacheKey(m_text_color);
+	}
+
+	/**
+	 * Creates the Swing border without the title decoration. Subclasses that
+	 * return a non-null border key must override this method.
+	 */
+	protected Border createUntitledBorder(Component comp) {
+		return createBorder(comp);
+	}
+
+	/**
+	 * Returns a key that encodes which sides of the border are painted.
+	 */
+	protected String getSidesKey() {
+		return (m_top ? "t" : "") + (m_left ? "l" : "") + (m_bottom ? "b" : "") + (m_right ? "r" : "");
+	}
+
+	/**
+	 * Returns a key that encodes the value of the given color property.
+	 */
+	protected static String toCacheKey(ColorProperty cprop) {
+		return (cprop == null ? "null" : cprop.getCacheKey());
+	}
+
 	/**
 	 * Adds a title decoration to the given border. This method will add the
 	 * title only if <code>isIncludeTitle()</code> is true.
@@ -545,7 +620,7 @@ public class BorderProperty extends JETAProperty {
 			comp = jbean.getDelegate();
 
 		if (comp instanceof JComponent) {
-			((JComponent) comp).setBorder(createBorder(comp));
+			((JComponent) comp).setBorder(getBorder(comp));
 		}
 		else {
 			assert (false);
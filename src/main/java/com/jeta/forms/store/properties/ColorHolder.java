@@ -35,6 +35,7 @@ import java.io.IOException;
 import com.jeta.forms.store.AbstractJETAPersistable;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 
 /**
  * Used for storing colors. We don't serialize java.awt.Color objects directly
@@ -89,13 +90,14 @@ public class ColorHolder extends AbstractJETAPersistable {
 	}
 
 	/**
-	 * Returns the color contained by this holder.
+	 * Returns the color contained by this holder. The color is shared with
+	 * all other holders that have the same RGB values.
 	 * 
 	 * @return the color
 	 */
 	public Color getColor() {
 		if (m_color == null) {
-			m_color = new Color(m_red, m_green, m_blue);
+			m_color = InternCache.intern(new Color(m_red, m_green, m_blue));
 		}
 		return m_color;
 	}
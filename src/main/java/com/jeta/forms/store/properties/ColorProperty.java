@@ -32,10 +32,12 @@ package com.jeta.forms.store.properties;
 import java.awt.Color;
 import java.io.IOException;
 
+import com.jeta.forms.colormgr.ColorCache;
 import com.jeta.forms.colormgr.ColorManager;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 import com.jeta.open.registry.JETARegistry;
 
 /**
@@ -90,6 +92,14 @@ public class ColorProperty extends JETAProperty {
 
 	private float m_brightness_factor = 0.7f;
 
+	/**
+	 * The resolved color (including brightness adjustments) and the
+	 * ColorCache generation it was resolved in. This prevents registry lookups
+	 * and allocations when getColor is called during painting.
+	 */
+	private transient Color m_resolved_color;
+	private transient int m_resolved_generation;
+
 	/**
 	 * The default brightness factor
 	 */
@@ -205,12 +215,19 @@ public class ColorProperty extends JETAProperty {
 	 * Returns the color specified by this property. If the this property
 	 * represents a constant color, then the constant color is returned.
 	 * Otherwise, the color is retrieved from the color manager. Currently, the
-	 * color manager merely forwards the call to the UIManager.
+	 * color manager merely forwards the call to the UIManager. The result is
+	 * cached until this property or the look and feel changes.
 	 * 
 	 * @return the color specified by this property.
 	 */
 	public Color getColor() {
-		Color result = Color.white;
+		int generation = ColorCache.getGeneration();
+		Color result = m_resolved_color;
+		if (result != null && m_resolved_generation == generation)
+			return result;
+
+		boolean cacheable = true;
+		result = Color.white;
 		if (isConstant()) {
 			result = m_constant_color;
 		}
@@ -218,11 +235,17 @@ public class ColorProperty extends JETAProperty {
 			ColorManager cmgr = (ColorManager) JETARegistry.lookup(ColorManager.COMPONENT_ID);
 			if (cmgr != null)
 				result = cmgr.getColor(m_color_key, null);
+			else
+				cacheable = false;
 		}
 		if (result == null)
 			result = Color.white;
 
 		result = modifyBrightness(result);
+		if (cacheable) {
+			m_resolved_generation = generation;
+			m_resolved_color = result;
+		}
 		return result;
 	}
 
@@ -252,6 +275,17 @@ public class ColorProperty extends JETAProperty {
 		return m_color_key;
 	}
 
+	/**
+	 * Returns a key that encodes the value of this property. Two properties
+	 * with the same key always resolve to the same color.
+	 */
+	public String getCacheKey() {
+		String color = m_color_key;
+		if (isConstant())
+			color = (m_constant_color == null ? "null" : Integer.toHexString(m_constant_color.getRGB()));
+		return color + "," + m_brightness + "," + m_brightness_factor;
+	}
+
 	public Color getConstantColor() {
 		return m_constant_color;
 	}
@@ -273,14 +307,17 @@ public class ColorProperty extends JETAProperty {
 
 	public void setBrightness(int ival) {
 		m_brightness = ival;
+		m_resolved_color = null;
 	}
 
 	public void setBrightnessFactor(float fval) {
 		m_brightness_factor = fval;
+		m_resolved_color = null;
 	}
 
 	public void setColorKey(String color_key) {
 		m_color_key = color_key;
+		m_resolved_color = null;
 	}
 
 	/**
@@ -293,6 +330,7 @@ public class ColorProperty extends JETAProperty {
 	public void setConstantColor(Color c) {
 		m_constant_color = c;
 		m_color_key = CONSTANT_COLOR;
+		m_resolved_color = null;
 	}
 
 	/**
@@ -305,6 +343,7 @@ public class ColorProperty extends JETAProperty {
 			m_constant_color = cprop.m_constant_color;
 			m_brightness = cprop.m_brightness;
 			m_brightness_factor = cprop.m_brightness_factor;
+			m_resolved_color = null;
 		}
 		else if (prop != null) {
 			assert (false);
@@ -324,10 +363,11 @@ public class ColorProperty extends JETAProperty {
 	public void read(JETAObjectInput in) throws ClassNotFoundException, IOException {
 		super.read(in.getSuperClassInput());
 		int version = in.readVersion();
+		m_resolved_color = null;
 		m_color_key = (String) in.readObject("colorkey");
 		Object color = in.readObject("constantcolor");
 		if (color instanceof Color)
-			m_constant_color = (Color) color;
+			m_constant_color = InternCache.intern((Color) color);
 		else if (color instanceof ColorHolder)
 			m_constant_color = ((ColorHolder) color).getColor();
 
@@ -11,6 +11,7 @@ import com.jeta.forms.components.ObjectConvert;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 
 /**
  * simple introduction
@@ -89,7 +90,7 @@ public class ColorProperty2 extends JETAProperty {
 	public void read(JETAObjectInput in) throws ClassNotFoundException, IOException {
 		int version = in.readVersion();
 		String value = in.readString(VALUE);
-		m_value = ObjectConvert.StringToColor(value);
+		m_value = InternCache.intern(ObjectConvert.StringToColor(value));
 	}
 
 	/**
@@ -37,6 +37,7 @@ import java.util.LinkedList;
 import javax.swing.BorderFactory;
 import javax.swing.border.Border;
 
+import com.jeta.forms.components.border.BorderCache;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
@@ -95,7 +96,7 @@ public class CompoundBorderProperty extends BorderProperty {
 		}
 		else if (m_borders.size() == 1) {
 			BorderProperty bp = (BorderProperty) m_borders.getFirst();
-			Border b = bp.createBorder(comp);
+			Border b = bp.getBorder(comp);
 			return b;
 		}
 		else {
@@ -103,7 +104,7 @@ public class CompoundBorderProperty extends BorderProperty {
 			Iterator iter = m_borders.iterator();
 			while (iter.hasNext()) {
 				BorderProperty bp = (BorderProperty) iter.next();
-				Border b = bp.createBorder(comp);
+				Border b = bp.getBorder(comp);
 				if (last_border == null) {
 					last_border = b;
 				}
@@ -115,6 +116,49 @@ public class CompoundBorderProperty extends BorderProperty {
 		}
 	}
 
+	/**
+	 * Returns a Swing border composed of all the borders specified in this
+	 * object. The border is shared with all other compound borders that have
+	 * the same values.
+	 */
+	public Border getBorder(Component comp) {
+		String key = getBorderKey();
+		if (key == null)
+			return createBorder(comp);
+
+		Border b = BorderCache.getBorder(key);
+		if (b == null) {
+			b = createBorder(comp);
+			BorderCache.putBorder(key, b);
+		}
+		return b;
+	}
+
+	/**
+	 * BorderProperty implementation. A compound border can only be shared if
+	 * all of its borders can be shared.
+	 */
+	protected String getBorderKey() {
+		if (m_borders == null)
+			return null;
+
+		StringBuffer key = new StringBuffer("COMPOUND[");
+		Iterator iter = m_borders.iterator();
+		while (iter.hasNext()) {
+			BorderProperty bp = (BorderProperty) iter.next();
+			String bkey = bp.getBorderKey();
+			if (bkey == null)
+				return null;
+
+			key.append(bkey);
+			if (bp.isIncludeTitle())
+				key.append(bp.getTitleKey());
+			key.append(';');
+		}
+		key.append(']');
+		return key.toString();
+	}
+
 	/**
 	 * Object equals implementation.
 	 */
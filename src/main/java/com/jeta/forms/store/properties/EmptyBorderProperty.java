@@ -33,10 +33,10 @@ import java.awt.Component;
 import java.io.IOException;
 
 import javax.swing.border.Border;
-import javax.swing.border.EmptyBorder;
 
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 
 /**
  * An <code>EmptyBorderProperty</code> represents an empty border for a
@@ -92,12 +92,26 @@ public class EmptyBorderProperty extends BorderProperty {
 	 * Creates an <code>EmptyBorder</code> instance with the padding values
 	 * specified by this property.
 	 * 
-	 * @return a newly created EmptyBorder instance that can be set on any Swing
-	 *         component.
+	 * @return an EmptyBorder instance that can be set on any Swing component.
+	 *         The instance is shared by all properties with the same padding.
 	 */
 	public Border createBorder(Component comp) {
-		Border b = new EmptyBorder(getTop(), getLeft(), getBottom(), getRight());
-		return createTitle(b);
+		return createTitle(createUntitledBorder(comp));
+	}
+
+	/**
+	 * BorderProperty implementation. Creates the empty border without a
+	 * title.
+	 */
+	protected Border createUntitledBorder(Component comp) {
+		return InternCache.getEmptyBorder(getTop(), getLeft(), getBottom(), getRight());
+	}
+
+	/**
+	 * BorderProperty implementation. Empty borders are shared by padding.
+	 */
+	protected String getBorderKey() {
+		return "EMPTY:" + m_top + ":" + m_left + ":" + m_bottom + ":" + m_right;
 	}
 
 	/**
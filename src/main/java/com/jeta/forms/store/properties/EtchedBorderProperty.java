@@ -94,7 +94,22 @@ public class EtchedBorderProperty extends BorderProperty {
 	 * @return an EtchedBorder instance.
 	 */
 	public Border createBorder(Component comp) {
+		return createTitle(createUntitledBorder(comp));
+	}
 
+	/**
+	 * BorderProperty implementation. Etched borders are shared by type and
+	 * colors.
+	 */
+	protected String getBorderKey() {
+		return "ETCHED:" + m_type + ":" + toCacheKey(m_highlightColor) + ":" + toCacheKey(m_shadowColor);
+	}
+
+	/**
+	 * BorderProperty implementation. Creates the etched border without a
+	 * title.
+	 */
+	protected Border createUntitledBorder(Component comp) {
 		Color h = null;
 		Color s = null;
 
@@ -112,8 +127,7 @@ public class EtchedBorderProperty extends BorderProperty {
 			s = new ColorProxy(cprop);
 		}
 
-		Border b = new EtchedBorder(getEtchType(), h, s);
-		return createTitle(b);
+		return new EtchedBorder(getEtchType(), h, s);
 	}
 
 	/**
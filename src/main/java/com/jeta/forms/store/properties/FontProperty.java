@@ -35,6 +35,7 @@ import java.io.IOException;
 import com.jeta.forms.store.AbstractJETAPersistable;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 
 /**
  * Defines the attributes for a Font object. A <code>FontProperty</code> must
@@ -68,6 +69,8 @@ public class FontProperty extends AbstractJETAPersistable {
 
 	/**
 	 * A cached font object based on the attributes defined in this property.
+	 * The font is shared with all other properties that have the same
+	 * attributes.
 	 */
 	private transient Font m_font;
 
@@ -108,7 +111,7 @@ public class FontProperty extends AbstractJETAPersistable {
 			if (m_size == 0)
 				m_size = 12;
 
-			m_font = new Font(m_family, m_style, m_size);
+			m_font = InternCache.intern(new Font(m_family, m_style, m_size));
 		}
 		return m_font;
 	}
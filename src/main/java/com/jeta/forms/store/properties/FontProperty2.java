@@ -10,6 +10,7 @@ import com.jeta.forms.components.ObjectConvert;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
+import com.jeta.forms.store.support.InternCache;
 
 /**
  * simple introduction
@@ -88,7 +89,7 @@ public class FontProperty2 extends JETAProperty {
 	public void read(JETAObjectInput in) throws ClassNotFoundException, IOException {
 		int version = in.readVersion();
 		String value = in.readString(VALUE);
-		m_value = ObjectConvert.StringToFont(value);
+		m_value = InternCache.intern(ObjectConvert.StringToFont(value));
 	}
 
 	/**
@@ -41,6 +41,8 @@ import com.jeta.forms.gui.common.FormUtils;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.resources.ImageCache;
+import com.jeta.open.resources.ImageScaler;
 import com.jeta.open.resources.ResourceLoader;
 
 /**
@@ -79,6 +81,17 @@ public class IconProperty extends JETAProperty implements Icon {
 	 */
 	private transient ImageIcon m_image;
 
+	/**
+	 * The image for the last device scale greater than one that this icon
+	 * was painted at. This saves a cache lookup with every paint.
+	 */
+	private transient ImageIcon m_scaled_image;
+
+	/**
+	 * The device scale of m_scaled_image
+	 */
+	private transient double m_scaled_scale;
+
 	/**
 	 * A description for the image. This is useful if the image is embedded.
 	 */
@@ -154,10 +167,11 @@ public class IconProperty extends JETAProperty implements Icon {
 	 * ImageIcon.
 	 */
 	public void loadImage() {
+		m_scaled_image = null;
 		try {
 			ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
 			if (loader != null && m_path != null && m_path.length() > 0) {
-				m_image = loader.loadImage(m_path);
+				m_image = ImageCache.getImage(loader, m_path);
 			}
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -169,8 +183,40 @@ public class IconProperty extends JETAProperty implements Icon {
 	 * given graphics context.
 	 */
 	public void paintIcon(Component c, Graphics g, int x, int y) {
-		if (m_image != null)
-			m_image.paintIcon(c, g, x, y);
+		if (m_image == null)
+			return;
+
+		double scale = ImageScaler.getDeviceScale(g);
+		if (scale > 1.0 && m_path != null && m_path.length() > 0) {
+			ImageIcon scaled = getScaledImage(scale);
+			if (scaled != null && ImageScaler.paintIcon(c, g, scaled, x, y, scale))
+				return;
+		}
+		m_image.paintIcon(c, g, x, y);
+	}
+
+	/**
+	 * Returns the image for the given device scale. A resolution variant is
+	 * used if one exists. Otherwise the image is scaled once and cached.
+	 */
+	private ImageIcon getScaledImage(double scale) {
+		if (m_scaled_image != null && m_scaled_scale == scale)
+			return m_scaled_image;
+
+		try {
+			ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
+			if (loader != null) {
+				ImageIcon scaled = ImageCache.getImage(loader, m_path, scale);
+				if (scaled != null) {
+					m_scaled_image = scaled;
+					m_scaled_scale = scale;
+				}
+				return scaled;
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return null;
 	}
 
 	/**
@@ -240,6 +286,7 @@ public class IconProperty extends JETAProperty implements Icon {
 			m_embedded = false;
 			m_path = iprop.m_path;
 			m_image = iprop.m_image;
+			m_scaled_image = null;
 			m_description = iprop.m_description;
 
 			if (!m_embedded && m_image == null) {
@@ -249,6 +296,7 @@ public class IconProperty extends JETAProperty implements Icon {
 		else if (prop == null) {
 			m_path = "";
 			m_image = null;
+			m_scaled_image = null;
 			m_description = "";
 		}
 		else {
@@ -34,9 +34,12 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Iterator;
 
+import javax.swing.AbstractListModel;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.DefaultListModel;
 import javax.swing.JComboBox;
 import javax.swing.JList;
+import javax.swing.event.ListDataListener;
 
 import com.jeta.forms.components.list.ListItemRenderer;
 import com.jeta.forms.gui.beans.JETABean;
@@ -144,6 +147,15 @@ public class ItemsProperty extends JETAProperty {
 		if (comp instanceof JComboBox) {
 			JComboBox jbox = (JComboBox) comp;
 			jbox.setRenderer(new ListItemRenderer());
+			if (isReplaceable(jbox.getModel(), DefaultComboBoxModel.class, jbox)) {
+				/**
+				 * set all items at once instead of firing an event for each
+				 * item
+				 */
+				jbox.setModel(new DefaultComboBoxModel(m_items == null ? new Object[0] : m_items.toArray()));
+				return;
+			}
+
 			jbox.removeAllItems();
 			if (m_items != null) {
 				Iterator iter = m_items.iterator();
@@ -157,6 +169,23 @@ public class ItemsProperty extends JETAProperty {
 			Object lm = list.getModel();
 			if (lm instanceof DefaultListModel) {
 				list.setCellRenderer(new ListItemRenderer());
+				if (isReplaceable(lm, DefaultListModel.class, list)) {
+					/**
+					 * fill a new model before setting it on the list so the
+					 * list is not notified for each item
+					 */
+					DefaultListModel lmodel = new DefaultListModel();
+					if (m_items != null) {
+						lmodel.ensureCapacity(m_items.size());
+						Iterator iter = m_items.iterator();
+						while (iter.hasNext()) {
+							lmodel.addElement(iter.next());
+						}
+					}
+					list.setModel(lmodel);
+					return;
+				}
+
 				DefaultListModel lmodel = (DefaultListModel) lm;
 				lmodel.removeAllElements();
 				if (m_items != null) {
@@ -169,6 +198,26 @@ public class ItemsProperty extends JETAProperty {
 		}
 	}
 
+	/**
+	 * Returns true if the given list model can be replaced by a new model of
+	 * the same class. This is only the case if the model is exactly of the
+	 * given class and the only listeners are the component and its UI
+	 * delegates. Models that are subclassed or that have listeners added by
+	 * the application are updated in place.
+	 */
+	private static boolean isReplaceable(Object model, Class modelClass, Component comp) {
+		if (model == null || model.getClass() != modelClass)
+			return false;
+
+		ListDataListener[] listeners = ((AbstractListModel) model).getListDataListeners();
+		for (int index = 0; index < listeners.length; index++) {
+			ListDataListener listener = listeners[index];
+			if (listener != comp && !listener.getClass().getName().startsWith("javax.swing."))
+				return false;
+		}
+		return true;
+	}
+
 	/**
 	 * JETAPersistable Implementation
 	 */
@@ -84,9 +84,23 @@ public class LineBorderProperty extends BorderProperty {
 	 *         Swing component.
 	 */
 	public Border createBorder(Component comp) {
-		Border b = new JETALineBorder(new ColorProxy(m_line_color), getLineThickness(), isCurved(), isTopPainted(), isLeftPainted(), isBottomPainted(),
+		return createTitle(createUntitledBorder(comp));
+	}
+
+	/**
+	 * BorderProperty implementation. Creates the line border without a title.
+	 */
+	protected Border createUntitledBorder(Component comp) {
+		return new JETALineBorder(new ColorProxy(m_line_color), getLineThickness(), isCurved(), isTopPainted(), isLeftPainted(), isBottomPainted(),
 				isRightPainted());
-		return createTitle(b);
+	}
+
+	/**
+	 * BorderProperty implementation. Line borders are shared by thickness,
+	 * color, curvature and painted sides.
+	 */
+	protected String getBorderKey() {
+		return "LINE:" + m_line_thickness + ":" + m_curved + ":" + getSidesKey() + ":" + toCacheKey(m_line_color);
 	}
 
 	/**
@@ -277,7 +277,7 @@ public class ScrollBarsProperty extends JETAProperty {
 
 			if (m_scroll_border != null) {
 				try {
-					scroll.setBorder(m_scroll_border.createBorder(scroll));
+					scroll.setBorder(m_scroll_border.getBorder(scroll));
 				} catch (Exception e) {
 					FormsLogger.severe(e);
 				}
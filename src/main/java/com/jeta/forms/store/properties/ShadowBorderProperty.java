@@ -34,6 +34,7 @@ import java.io.IOException;
 
 import javax.swing.border.Border;
 
+import com.jeta.forms.components.border.BorderCache;
 import com.jeta.forms.components.border.ShadowBorder;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
@@ -121,10 +122,51 @@ public class ShadowBorderProperty extends BorderProperty {
 	 * @return a border instance that can be applied to any Swing component.
 	 */
 	public Border createBorder(Component comp) {
-		Border b = new ShadowBorder(getType(), getThickness(), getStartColor(), getEndColor(), isSymmetric());
+		return createUntitledBorder(comp);
+	}
+
+	/**
+	 * BorderProperty implementation. Shadow borders never have a title, so
+	 * the shared border is returned without a title decoration.
+	 */
+	public Border getBorder(Component comp) {
+		String key = getBorderKey();
+		Border b = BorderCache.getBorder(key);
+		if (b == null) {
+			b = createUntitledBorder(comp);
+			BorderCache.putBorder(key, b);
+		}
 		return b;
 	}
 
+	/**
+	 * BorderProperty implementation. The border gets its own copy of the
+	 * colors because it is shared by all properties with the same values.
+	 */
+	protected Border createUntitledBorder(Component comp) {
+		return new ShadowBorder(getType(), getThickness(), copyColor(getStartColor()), copyColor(getEndColor()), isSymmetric());
+	}
+
+	/**
+	 * @return a copy of the given color property
+	 */
+	private static ColorProperty copyColor(ColorProperty cprop) {
+		if (cprop == null)
+			return null;
+
+		ColorProperty copy = new ColorProperty();
+		copy.setValue(cprop);
+		return copy;
+	}
+
+	/**
+	 * BorderProperty implementation. Shadow borders are shared by type,
+	 * thickness, colors and symmetry.
+	 */
+	protected String getBorderKey() {
+		return "SHADOW:" + m_type + ":" + m_thickness + ":" + m_symmetric + ":" + toCacheKey(m_start_color) + ":" + toCacheKey(m_end_color);
+	}
+
 	/**
 	 * Returns the type of shadow: SOLID or GRADIENT
 	 * 
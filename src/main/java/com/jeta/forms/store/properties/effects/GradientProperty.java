@@ -36,6 +36,7 @@ import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.effects.LinearGradientPainter;
 import com.jeta.forms.gui.effects.Paintable;
 import com.jeta.forms.gui.effects.Painter;
+import com.jeta.forms.gui.effects.PainterRegistry;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
 import com.jeta.forms.store.properties.ColorProperty;
@@ -122,15 +123,40 @@ public class GradientProperty extends JETAProperty implements PaintSupport {
 
 	/**
 	 * PaintSupport implementation. Creates a painter that renders a linear
-	 * gradient using the attributes defined by this object.
+	 * gradient using the attributes defined by this object. The painter is
+	 * shared with all other gradient properties that have the same values.
 	 */
 	public Painter createPainter() {
-		if (m_painter == null)
-			m_painter = new LinearGradientPainter(this);
-
+		if (m_painter == null) {
+			String key = getPainterKey();
+			if (key == null) {
+				m_painter = new LinearGradientPainter(this);
+			}
+			else {
+				m_painter = (LinearGradientPainter) PainterRegistry.getPainter(key);
+				if (m_painter == null) {
+					/** the shared painter gets a copy so later edits don't affect it */
+					GradientProperty gp = new GradientProperty();
+					gp.setValue(this);
+					m_painter = new LinearGradientPainter(gp);
+					PainterRegistry.putPainter(key, m_painter);
+				}
+			}
+		}
 		return m_painter;
 	}
 
+	/**
+	 * Returns a key that uniquely identifies the painter created by this
+	 * property. Null is returned if the painter cannot be shared.
+	 */
+	private String getPainterKey() {
+		if (m_start_color == null || m_end_color == null)
+			return null;
+
+		return "linear:" + m_start_color.getCacheKey() + ":" + m_end_color.getCacheKey() + ":" + m_direction + ":" + m_magnitude;
+	}
+
 	/**
 	 * Returns the direction of the gradient: valid values are: TOP_BOTTOM,
 	 * BOTTOM_TOP, LEFT_RIGHT, RIGHT_LEFT, UP_RIGHT, UP_LEFT, DOWN_RIGHT,
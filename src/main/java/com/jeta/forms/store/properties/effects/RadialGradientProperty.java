@@ -35,6 +35,7 @@ import java.io.IOException;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.effects.Paintable;
 import com.jeta.forms.gui.effects.Painter;
+import com.jeta.forms.gui.effects.PainterRegistry;
 import com.jeta.forms.gui.effects.RadialGradientPainter;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
@@ -113,15 +114,41 @@ public class RadialGradientProperty extends JETAProperty implements PaintSupport
 
 	/**
 	 * PaintSupport implementation. Creates a painter that renders a radial
-	 * gradient using the attributes defined in this object.
+	 * gradient using the attributes defined in this object. The painter is
+	 * shared with all other radial gradient properties that have the same
+	 * values.
 	 */
 	public Painter createPainter() {
-		if (m_painter == null)
-			m_painter = new RadialGradientPainter(this);
-
+		if (m_painter == null) {
+			String key = getPainterKey();
+			if (key == null) {
+				m_painter = new RadialGradientPainter(this);
+			}
+			else {
+				m_painter = (RadialGradientPainter) PainterRegistry.getPainter(key);
+				if (m_painter == null) {
+					/** the shared painter gets a copy so later edits don't affect it */
+					RadialGradientProperty gp = new RadialGradientProperty();
+					gp.setValue(this);
+					m_painter = new RadialGradientPainter(gp);
+					PainterRegistry.putPainter(key, m_painter);
+				}
+			}
+		}
 		return m_painter;
 	}
 
+	/**
+	 * Returns a key that uniquely identifies the painter created by this
+	 * property. Null is returned if the painter cannot be shared.
+	 */
+	private String getPainterKey() {
+		if (m_start_color == null || m_end_color == null)
+			return null;
+
+		return "radial:" + m_start_color.getCacheKey() + ":" + m_end_color.getCacheKey() + ":" + m_position + ":" + m_magnitude;
+	}
+
 	/**
 	 * Returns the color at the center of the radial.
 	 * 
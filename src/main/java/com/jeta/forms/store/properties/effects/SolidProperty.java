@@ -35,6 +35,7 @@ import java.io.IOException;
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.effects.Paintable;
 import com.jeta.forms.gui.effects.Painter;
+import com.jeta.forms.gui.effects.PainterRegistry;
 import com.jeta.forms.gui.effects.SolidPainter;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
@@ -75,12 +76,21 @@ public class SolidProperty extends JETAProperty implements PaintSupport {
 
 	/**
 	 * PaintSupport implementation. Creates a painter that renders a solid
-	 * background.
+	 * background. The painter is shared with all other solid properties that
+	 * have the same color.
 	 */
 	public Painter createPainter() {
-		if (m_painter == null)
-			m_painter = new SolidPainter(this);
-
+		if (m_painter == null) {
+			String key = "solid:" + m_color_prop.getCacheKey();
+			m_painter = (SolidPainter) PainterRegistry.getPainter(key);
+			if (m_painter == null) {
+				/** the shared painter gets a copy so later edits don't affect it */
+				SolidProperty sp = new SolidProperty();
+				sp.setValue(this);
+				m_painter = new SolidPainter(sp);
+				PainterRegistry.putPainter(key, m_painter);
+			}
+		}
 		return m_painter;
 	}
 
@@ -110,6 +120,7 @@ public class SolidProperty extends JETAProperty implements PaintSupport {
 	 */
 	public void setColorProperty(ColorProperty c) {
 		m_color_prop.setValue(c);
+		m_painter = null;
 	}
 
 	/**
@@ -33,15 +33,19 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
+import javax.swing.ImageIcon;
+
 import com.jeta.forms.gui.beans.JETABean;
 import com.jeta.forms.gui.effects.Paintable;
 import com.jeta.forms.gui.effects.Painter;
+import com.jeta.forms.gui.effects.PainterRegistry;
 import com.jeta.forms.gui.effects.TexturePainter;
 import com.jeta.forms.store.JETAObjectInput;
 import com.jeta.forms.store.JETAObjectOutput;
 import com.jeta.forms.store.properties.IconProperty;
 import com.jeta.forms.store.properties.JETAProperty;
 import com.jeta.open.i18n.I18N;
+import com.jeta.open.resources.AsyncImageIcon;
 
 /**
  * Property for storing settings for a texture fill effect. A texture is an
@@ -82,22 +86,53 @@ public class TextureProperty extends JETAProperty implements PaintSupport {
 
 	/**
 	 * PaintSupport implementation. Creates a TexturePainter that renders a
-	 * textured background.
+	 * textured background. The painter is shared with all other texture
+	 * properties that use the same image path.
 	 */
 	public Painter createPainter() {
-		if (m_painter == null)
-			m_painter = new TexturePainter(this);
-
+		if (m_painter == null) {
+			String key = getPainterKey();
+			if (key == null) {
+				m_painter = new TexturePainter(this);
+			}
+			else {
+				m_painter = (TexturePainter) PainterRegistry.getPainter(key);
+				if (m_painter == null) {
+					/** the shared painter gets a copy so later edits don't affect it */
+					TextureProperty tp = new TextureProperty();
+					tp.setValue(this);
+					m_painter = new TexturePainter(tp);
+					PainterRegistry.putPainter(key, m_painter);
+				}
+			}
+		}
 		return m_painter;
 	}
 
+	/**
+	 * Returns a key that uniquely identifies the painter created by this
+	 * property. Only textures that are loaded from a resource path are shared.
+	 * Null is returned if the painter cannot be shared.
+	 */
+	private String getPainterKey() {
+		if (m_icon == null || m_icon.isEmbedded() || m_icon.getRelativePath() == null || m_icon.getRelativePath().length() == 0)
+			return null;
+
+		return "texture:" + m_icon.getRelativePath();
+	}
+
 	/**
 	 * Returns a buffered image of the icon associated with this texture.
 	 * 
-	 * @return a bufferedimage of this property's icon.
+	 * @return a bufferedimage of this property's icon. Null is returned if the
+	 *         icon is still being decoded.
 	 */
 	public BufferedImage getBufferedImage() {
 		if (m_buffered_image == null && m_icon != null) {
+			ImageIcon image = m_icon.imageIcon();
+			if (image instanceof AsyncImageIcon && !((AsyncImageIcon) image).isLoaded())
+				return null;
+
 			int width = m_icon.getIconWidth();
 			int height = m_icon.getIconHeight();
 			m_buffered_image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.forms.store.support;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Insets;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.WeakHashMap;
+
+import javax.swing.border.EmptyBorder;
+
+/**
+ * A global, weakly referenced flyweight cache for the immutable values that
+ * are created when a form is deserialized (fonts, colors, insets and simple
+ * borders). A form with hundreds of labels in the same font would otherwise
+ * hold hundreds of equal <code>Font</code> instances. Values are only shared
+ * if they are of the exact same class, so a <code>ColorUIResource</code> is
+ * never substituted for a plain <code>Color</code>. Entries are discarded by
+ * the garbage collector once no component references them.
+ * 
+ * @author Jeff Tassin
+ */
+public class InternCache {
+	/**
+	 * The cache of interned values. m_values<Object,WeakReference(Object)>
+	 */
+	private static WeakHashMap m_values = new WeakHashMap();
+
+	/**
+	 * Shared empty borders keyed by their padding. The keys are held strongly
+	 * because nothing else references them, but there are only a handful of
+	 * distinct paddings in practice. m_empty_borders<Insets,WeakReference(EmptyBorder)>
+	 */
+	private static HashMap m_empty_borders = new HashMap();
+
+	/**
+	 * The number of intern requests since the last reset.
+	 */
+	private static long m_requests;
+
+	/**
+	 * The number of requests that were resolved to an existing instance.
+	 */
+	private static long m_hits;
+
+	/**
+	 * The estimated number of heap bytes saved by returning shared instances.
+	 */
+	private static long m_bytes_saved;
+
+	/**
+	 * Returns a shared instance that is equal to the given value. If no such
+	 * instance exists, the value is added to the cache and returned.
+	 * 
+	 * @param value
+	 *            the immutable value to intern. Null values are returned
+	 *            as-is.
+	 * @return the shared instance.
+	 */
+	public static synchronized Object intern(Object value) {
+		if (value == null)
+			return null;
+
+		m_requests++;
+		WeakReference ref = (WeakReference) m_values.get(value);
+		Object shared = (ref == null ? null : ref.get());
+		if (shared != null && shared.getClass() == value.getClass()) {
+			m_hits++;
+			m_bytes_saved += estimateSize(value);
+			return shared;
+		}
+
+		if (shared == null)
+			m_values.put(value, new WeakReference(value));
+
+		return value;
+	}
+
+	/**
+	 * Interns the given font.
+	 */
+	public static Font intern(Font f) {
+		return (Font) intern((Object) f);
+	}
+
+	/**
+	 * Interns the given color.
+	 */
+	public static Color intern(Color c) {
+		return (Color) intern((Object) c);
+	}
+
+	/**
+	 * Interns the given insets. The caller must not modify the insets after
+	 * this call because the instance can be shared by other components.
+	 */
+	public static Insets intern(Insets insets) {
+		return (Insets) intern((Object) insets);
+	}
+
+	/**
+	 * Returns a shared <code>EmptyBorder</code> with the given padding.
+	 * <code>EmptyBorder</code> does not implement equals, so the border is
+	 * keyed by its insets.
+	 */
+	public static synchronized EmptyBorder getEmptyBorder(int top, int left, int bottom, int right) {
+		Insets key = new Insets(top, left, bottom, right);
+		m_requests++;
+		WeakReference ref = (WeakReference) m_empty_borders.get(key);
+		EmptyBorder border = (ref == null ? null : (EmptyBorder) ref.get());
+		if (border == null) {
+			border = new EmptyBorder(top, left, bottom, right);
+			m_empty_borders.put(key, new WeakReference(border));
+		}
+		else {
+			m_hits++;
+			m_bytes_saved += estimateSize(border);
+		}
+		return border;
+	}
+
+	/**
+	 * Returns a rough estimate of the shallow heap size of an instance.
+	 */
+	private static int estimateSize(Object value) {
+		if (value instanceof Font)
+			return 64;
+		else if (value instanceof Color)
+			return 32;
+		else if (value instanceof Insets)
+			return 32;
+		else if (value instanceof EmptyBorder)
+			return 24;
+		else
+			return 16;
+	}
+
+	/**
+	 * Returns the number of intern requests since the last reset.
+	 */
+	public static synchronized long getRequestCount() {
+		return m_requests;
+	}
+
+	/**
+	 * Returns the number of requests that were resolved to a shared instance.
+	 */
+	public static synchronized long getHitCount() {
+		return m_hits;
+	}
+
+	/**
+	 * Returns the estimated number of heap bytes saved since the last reset.
+	 */
+	public static synchronized long getBytesSaved() {
+		return m_bytes_saved;
+	}
+
+	/**
+	 * Returns the number of distinct values currently in the cache.
+	 */
+	public static synchronized int size() {
+		return m_values.size() + m_empty_borders.size();
+	}
+
+	/**
+	 * Resets the statistics. The cached values are not affected.
+	 */
+	public static synchronized void resetStats() {
+		m_requests = 0;
+		m_hits = 0;
+		m_bytes_saved = 0;
+	}
+}
@@ -425,7 +425,7 @@ public abstract class AbstractFormBuilder {
 	 * @see #appendColumn(ColumnSpec)
 	 */
 	public final void appendColumn(String encodedColumnSpec) {
-		appendColumn(new ColumnSpec(encodedColumnSpec));
+		appendColumn(ColumnSpec.decode(encodedColumnSpec));
 	}
 
 	/**
@@ -499,7 +499,7 @@ public abstract class AbstractFormBuilder {
 	 * @see #appendRow(RowSpec)
 	 */
 	public final void appendRow(String encodedRowSpec) {
-		appendRow(new RowSpec(encodedRowSpec));
+		appendRow(RowSpec.decode(encodedRowSpec));
 	}
 
 	/**
@@ -837,6 +837,47 @@ public final class CellConstraints implements Cloneable, Serializable {
 		c.setBounds(x, y, w, h);
 	}
 
+	/**
+	 * Computes the bounds of a component from precomputed size hints. Performs
+	 * the same computation as <code>setBounds</code> but does not require a
+	 * component or a layout; used to lay out forms headless.
+	 * 
+	 * @param colSpec
+	 *            the column spec if the component spans a single column,
+	 *            <code>null</code> otherwise
+	 * @param rowSpec
+	 *            the row spec if the component spans a single row,
+	 *            <code>null</code> otherwise
+	 * @param cellBounds
+	 *            the cell's bounds
+	 * @param minWidth
+	 *            the component's minimum width
+	 * @param minHeight
+	 *            the component's minimum height
+	 * @param prefWidth
+	 *            the component's preferred width
+	 * @param prefHeight
+	 *            the component's preferred height
+	 * @param bounds
+	 *            receives the component bounds
+	 */
+	void computeBounds(FormSpec colSpec, FormSpec rowSpec, Rectangle cellBounds, int minWidth, int minHeight, int prefWidth, int prefHeight,
+			Rectangle bounds) {
+		Alignment concreteHAlign = concreteAlignment(this.hAlign, colSpec);
+		Alignment concreteVAlign = concreteAlignment(this.vAlign, rowSpec);
+		Insets concreteInsets = this.insets != null ? this.insets : EMPTY_INSETS;
+		int cellX = cellBounds.x + concreteInsets.left;
+		int cellY = cellBounds.y + concreteInsets.top;
+		int cellW = cellBounds.width - concreteInsets.left - concreteInsets.right;
+		int cellH = cellBounds.height - concreteInsets.top - concreteInsets.bottom;
+		int compW = componentSize(colSpec, cellW, minWidth, prefWidth);
+		int compH = componentSize(rowSpec, cellH, minHeight, prefHeight);
+		bounds.x = origin(concreteHAlign, cellX, cellW, compW);
+		bounds.y = origin(concreteVAlign, cellY, cellH, compH);
+		bounds.width = extent(concreteHAlign, cellW, compW);
+		bounds.height = extent(concreteVAlign, cellH, compH);
+	}
+
 	/**
 	 * Computes and returns the concrete alignment. Takes into account the cell
 	 * alignment and <i>the</i> <code>FormSpec</code> if applicable.
@@ -925,6 +966,35 @@ public final class CellConstraints implements Cloneable, Serializable {
 		}
 	}
 
+	/**
+	 * Computes and returns the pixel size of a component from its size hints
+	 * using the given form specification and cell size.
+	 * 
+	 * @param formSpec
+	 *            the specification of the component's column/row
+	 * @param cellSize
+	 *            the cell size
+	 * @param minSize
+	 *            the component's minimum size
+	 * @param prefSize
+	 *            the component's preferred size
+	 * @return the component size
+	 */
+	private int componentSize(FormSpec formSpec, int cellSize, int minSize, int prefSize) {
+		if (formSpec == null) {
+			return prefSize;
+		}
+		else if (formSpec.getSize() == Sizes.MINIMUM) {
+			return minSize;
+		}
+		else if (formSpec.getSize() == Sizes.PREFERRED) {
+			return prefSize;
+		}
+		else { // default mode
+			return Math.min(cellSize, prefSize);
+		}
+	}
+
 	/**
 	 * Computes and returns the component's pixel origin.
 	 * 
@@ -95,6 +95,11 @@ public final class ColumnSpec extends FormSpec {
 	 */
 	public static final DefaultAlignment DEFAULT = FILL;
 
+	/**
+	 * Holds the decoded column specs and spec lists by their encoded form.
+	 */
+	private static final SpecCache CACHE = new SpecCache();
+
 	// Instance Creation ****************************************************
 
 	/**
@@ -156,9 +161,30 @@ public final class ColumnSpec extends FormSpec {
 
 	// Parsing and Decoding of Column Descriptions **************************
 
+	/**
+	 * Returns the <code>ColumnSpec</code> for the given encoded description. The
+	 * description is parsed only once; later calls return the same immutable
+	 * instance.
+	 * 
+	 * @param encodedColumnSpec
+	 *            the encoded description
+	 * @return the decoded column specification
+	 * 
+	 * @see ColumnSpec#ColumnSpec(String)
+	 */
+	public static ColumnSpec decode(String encodedColumnSpec) {
+		ColumnSpec spec = (ColumnSpec) CACHE.getSpec(encodedColumnSpec);
+		if (spec == null) {
+			spec = new ColumnSpec(encodedColumnSpec);
+			CACHE.putSpec(encodedColumnSpec, spec);
+		}
+		return spec;
+	}
+
 	/**
 	 * Parses and splits encoded column specifications and returns an array of
-	 * <code>ColumnSpec</code> objects.
+	 * <code>ColumnSpec</code> objects. Each list is decoded only once, but
+	 * every call returns a new array.
 	 * 
 	 * @param encodedColumnSpecs
 	 *            comma separated encoded column specifications
@@ -173,13 +199,17 @@ public final class ColumnSpec extends FormSpec {
 		if (encodedColumnSpecs == null)
 			throw new NullPointerException("The column description must not be null.");
 
-		StringTokenizer tokenizer = new StringTokenizer(encodedColumnSpecs, ", ");
-		int columnCount = tokenizer.countTokens();
-		ColumnSpec[] columnSpecs = new ColumnSpec[columnCount];
-		for (int i = 0; i < columnCount; i++) {
-			columnSpecs[i] = new ColumnSpec(tokenizer.nextToken());
+		ColumnSpec[] columnSpecs = (ColumnSpec[]) CACHE.getSpecs(encodedColumnSpecs);
+		if (columnSpecs == null) {
+			StringTokenizer tokenizer = new StringTokenizer(encodedColumnSpecs, ", ");
+			int columnCount = tokenizer.countTokens();
+			columnSpecs = new ColumnSpec[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				columnSpecs[i] = decode(tokenizer.nextToken());
+			}
+			CACHE.putSpecs(encodedColumnSpecs, columnSpecs);
 		}
-		return columnSpecs;
+		return (ColumnSpec[]) columnSpecs.clone();
 	}
 
 }
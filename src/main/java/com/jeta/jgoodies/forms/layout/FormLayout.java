@@ -39,13 +39,16 @@ import java.awt.Rectangle;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
 
 /**
  * FormLayout is a powerful, flexible and precise general purpose layout
@@ -215,16 +218,101 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	// Fields used by the Layout Algorithm **********************************
 
 	/**
-	 * Holds the components that occupy exactly one column. For each column we
-	 * keep a list of these components.
+	 * Hold the components and their constraints in dense arrays indexed by
+	 * slot. Rebuilt from the constraint map whenever the specs, groups or
+	 * constraints change, so that layout passes do not iterate the map.
 	 */
-	private transient List[] colComponents;
+	private transient Component[] slotComponents;
+	private transient CellConstraints[] slotConstraints;
+	private transient int slotCount;
 
 	/**
-	 * Holds the components that occupy exactly one row. For each row we keep a
-	 * list of these components.
+	 * Index the slots of the visible components that occupy exactly one
+	 * column. The slots of column <code>i</code> (zero based) are stored in
+	 * <code>colSlots</code> from <code>colSlotStart[i]</code> up to
+	 * <code>colSlotStart[i + 1]</code>.
 	 */
-	private transient List[] rowComponents;
+	private transient int[] colSlotStart;
+	private transient int[] colSlots;
+
+	/**
+	 * Index the slots of the visible components that occupy exactly one row.
+	 * Organized like the column index.
+	 */
+	private transient int[] rowSlotStart;
+	private transient int[] rowSlots;
+
+	/**
+	 * Holds the slots of the visible components that span multiple columns or
+	 * rows.
+	 */
+	private transient int[] spanSlots;
+	private transient int spanCount;
+
+	/**
+	 * Holds the components that have been skipped by the last rebuild of the
+	 * slot indices because they were invisible. Used to detect visibility
+	 * changes.
+	 */
+	private transient Set hiddenComponents;
+
+	/**
+	 * Indicates whether the slot arrays, indices and the cached column and row
+	 * sizes reflect the current specs, groups and constraints. If
+	 * <code>false</code>, the next layout request performs a full pass.
+	 */
+	private transient boolean componentListsValid;
+
+	/**
+	 * Indicates that the layout has been invalidated since the last layout
+	 * pass. AWT calls <code>invalidateLayout</code> only when the container
+	 * turns invalid, so the components are checked for stale sizes by every
+	 * layout request until the container has been laid out again.
+	 */
+	private transient boolean staleCheckPending;
+
+	/**
+	 * Hold the maximum minimum and preferred sizes of the components that
+	 * occupy exactly one column or row. Only the entries marked as dirty are
+	 * recomputed by a layout request.
+	 */
+	private transient int[] colMinimumSizes;
+	private transient int[] colPreferredSizes;
+	private transient int[] rowMinimumSizes;
+	private transient int[] rowPreferredSizes;
+
+	/**
+	 * Mark the columns and rows whose cached sizes must be recomputed.
+	 */
+	private transient boolean[] dirtyColumns;
+	private transient boolean[] dirtyRows;
+
+	/**
+	 * Scratch buffers that are reused by every layout request, so that a
+	 * layout pass does not allocate. Sized whenever the slot indices are
+	 * rebuilt.
+	 */
+	private transient int[] colMinimumBuffer;
+	private transient int[] colSizeBuffer;
+	private transient int[] colOrigins;
+	private transient int[] rowMinimumBuffer;
+	private transient int[] rowSizeBuffer;
+	private transient int[] rowOrigins;
+	private transient int[] colFixedSpanTable;
+	private transient int[] rowFixedSpanTable;
+	private transient Rectangle cellBounds;
+	private transient SlotList slotList;
+
+	/**
+	 * Remember the column and row origins of recent layout passes, keyed by
+	 * the available size. While a window is being resized the component
+	 * sizes do not change, so sizes seen before are answered from the memo.
+	 * The memos are valid as long as the component size cache generation
+	 * equals <code>originMemoGeneration</code>.
+	 */
+	private transient OriginMemo colOriginMemo;
+	private transient OriginMemo rowOriginMemo;
+	private transient int originMemoGeneration;
 
 	/**
 	 * Caches component minimum and preferred sizes. All requests for component
@@ -365,6 +453,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new NullPointerException("The column spec must not be null.");
 		}
 		colSpecs.set(columnIndex - 1, columnSpec);
+		invalidateComponentLists();
 	}
 
 	/**
@@ -397,6 +486,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new NullPointerException("The row spec must not be null.");
 		}
 		rowSpecs.set(rowIndex - 1, rowSpec);
+		invalidateComponentLists();
 	}
 
 	/**
@@ -413,6 +503,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new NullPointerException("The column spec must not be null.");
 		}
 		colSpecs.add(columnSpec);
+		invalidateComponentLists();
 	}
 
 	/**
@@ -442,6 +533,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new IndexOutOfBoundsException("The column index " + columnIndex + "must be in the range [1, " + getColumnCount() + "].");
 		}
 		colSpecs.add(columnIndex - 1, columnSpec);
+		invalidateComponentLists();
 		shiftComponentsHorizontally(columnIndex, false);
 		adjustGroupIndices(colGroupIndices, columnIndex, false);
 	}
@@ -491,6 +583,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new IndexOutOfBoundsException("The column index " + columnIndex + " must be in the range [1, " + getColumnCount() + "].");
 		}
 		colSpecs.remove(columnIndex - 1);
+		invalidateComponentLists();
 		shiftComponentsHorizontally(columnIndex, true);
 		adjustGroupIndices(colGroupIndices, columnIndex, true);
 	}
@@ -508,6 +601,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new NullPointerException("The row spec must not be null.");
 		}
 		rowSpecs.add(rowSpec);
+		invalidateComponentLists();
 	}
 
 	/**
@@ -536,6 +630,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new IndexOutOfBoundsException("The row index " + rowIndex + " must be in the range [1, " + getRowCount() + "].");
 		}
 		rowSpecs.add(rowIndex - 1, rowSpec);
+		invalidateComponentLists();
 		shiftComponentsVertically(rowIndex, false);
 		adjustGroupIndices(rowGroupIndices, rowIndex, false);
 	}
@@ -583,6 +678,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			throw new IndexOutOfBoundsException("The row index " + rowIndex + "must be in the range [1, " + getRowCount() + "].");
 		}
 		rowSpecs.remove(rowIndex - 1);
+		invalidateComponentLists();
 		shiftComponentsVertically(rowIndex, true);
 		adjustGroupIndices(rowGroupIndices, rowIndex, true);
 	}
@@ -722,6 +818,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 
 		constraints.ensureValidGridBounds(getColumnCount(), getRowCount());
 		constraintMap.put(component, constraints.clone());
+		invalidateComponentLists();
 	}
 
 	/**
@@ -733,6 +830,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	private void removeConstraints(Component component) {
 		constraintMap.remove(component);
 		componentSizeCache.removeEntry(component);
+		invalidateComponentLists();
 	}
 
 	// Accessing Column and Row Groups **************************************
@@ -786,6 +884,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			}
 		}
 		this.colGroupIndices = deepClone(colGroupIndices);
+		invalidateComponentLists();
 	}
 
 	/**
@@ -860,6 +959,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			}
 		}
 		this.rowGroupIndices = deepClone(rowGroupIndices);
+		invalidateComponentLists();
 	}
 
 	/**
@@ -966,6 +1066,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 * @see Container#doLayout()
 	 */
 	public Dimension minimumLayoutSize(Container parent) {
+		checkStaleComponents(parent);
 		return computeLayoutSize(parent, minimumWidthMeasure, minimumHeightMeasure);
 	}
 
@@ -983,6 +1084,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 * @see Container#getPreferredSize()
 	 */
 	public Dimension preferredLayoutSize(Container parent) {
+		checkStaleComponents(parent);
 		return computeLayoutSize(parent, preferredWidthMeasure, preferredHeightMeasure);
 	}
 
@@ -1034,12 +1136,39 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	/**
 	 * Invalidates the layout, indicating that if the layout manager has cached
 	 * information it should be discarded.
+	 * <p>
+	 * 
+	 * Only the cached sizes of components that have been invalidated
+	 * themselves are discarded. Hence, changing a single component re-measures
+	 * just the columns and rows it occupies. The components are checked by
+	 * the following layout requests, not here: when several components change
+	 * at once, only the first one invalidates the layout.
 	 * 
 	 * @param target
 	 *            the container that holds the layout to be invalidated
 	 */
 	public void invalidateLayout(Container target) {
-		invalidateCaches();
+		staleCheckPending = true;
+	}
+
+	/**
+	 * Invalidates the cached sizes of the given component and marks the
+	 * columns and rows it occupies as dirty. The next layout request
+	 * re-measures only these columns and rows. Unlike
+	 * <code>invalidateLayout</code> this does not rely on the component's
+	 * valid flag, which is only maintained for displayable components.
+	 * 
+	 * @param component
+	 *            the component whose size or visibility has changed
+	 */
+	public void invalidateComponent(Component component) {
+		CellConstraints constraints = (CellConstraints) constraintMap.get(component);
+		if (constraints == null)
+			return;
+
+		if (componentListsValid && component.isVisible() == hiddenComponents.contains(component))
+			invalidateComponentLists();
+		invalidateComponent(component, constraints);
 	}
 
 	/**
@@ -1070,16 +1199,31 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 */
 	public void layoutContainer(Container parent) {
 		synchronized (parent.getTreeLock()) {
-			initializeColAndRowComponentLists();
-			Dimension size = parent.getSize();
+			if (staleCheckPending) {
+				invalidateStaleComponents();
+				staleCheckPending = false;
+			}
+			if (!componentListsValid || originMemoGeneration != componentSizeCache.getGeneration()) {
+				updateColAndRowSizes(parent);
+				colOriginMemo.clear();
+				rowOriginMemo.clear();
+				originMemoGeneration = componentSizeCache.getGeneration();
+			}
 
 			Insets insets = parent.getInsets();
-			int totalWidth = size.width - insets.left - insets.right;
-			int totalHeight = size.height - insets.top - insets.bottom;
+			int totalWidth = parent.getWidth() - insets.left - insets.right;
+			int totalHeight = parent.getHeight() - insets.top - insets.bottom;
 
-			int[] x = computeGridOrigins(parent, totalWidth, insets.left, colSpecs, colComponents, colGroupIndices, minimumWidthMeasure, preferredWidthMeasure);
-			int[] y = computeGridOrigins(parent, totalHeight, insets.top, rowSpecs, rowComponents, rowGroupIndices, minimumHeightMeasure,
-					preferredHeightMeasure);
+			int[] x = colOriginMemo.get(totalWidth, insets.left);
+			if (x == null) {
+				x = computeGridOrigins(totalWidth, insets.left, colSpecs, colMinimumSizes, colPreferredSizes, colGroupIndices, colMinimumBuffer,
+						colSizeBuffer, colOriginMemo.put(totalWidth, insets.left));
+			}
+			int[] y = rowOriginMemo.get(totalHeight, insets.top);
+			if (y == null) {
+				y = computeGridOrigins(totalHeight, insets.top, rowSpecs, rowMinimumSizes, rowPreferredSizes, rowGroupIndices, rowMinimumBuffer,
+						rowSizeBuffer, rowOriginMemo.put(totalHeight, insets.top));
+			}
 
 			layoutComponents(x, y);
 		}
@@ -1088,37 +1232,166 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	// Layout Algorithm *****************************************************
 
 	/**
-	 * Initializes two lists for columns and rows that hold a column's or row's
-	 * components that span only this column or row.
+	 * Initializes the slot arrays and the column and row indices that hold a
+	 * column's or row's components that span only this column or row.
 	 * <p>
 	 * 
-	 * Iterates over all components and their associated constraints; every
-	 * component that has a column span or row span of 1 is put into the
-	 * column's or row's component list.
+	 * Iterates over all components and their associated constraints and
+	 * assigns each one a slot; every visible component that has a column span
+	 * or row span of 1 is indexed by its column or row, all other visible
+	 * components are indexed as spanning components. The indices are stored
+	 * in compressed form: the slots of column <code>i</code> are
+	 * <code>colSlots[colSlotStart[i]]</code> up to (excluding)
+	 * <code>colSlots[colSlotStart[i + 1]]</code>. All columns and rows are
+	 * marked as dirty and the scratch buffers are sized for the new grid.
 	 */
 	private void initializeColAndRowComponentLists() {
-		colComponents = new LinkedList[getColumnCount()];
-		for (int i = 0; i < getColumnCount(); i++) {
-			colComponents[i] = new LinkedList();
-		}
-
-		rowComponents = new LinkedList[getRowCount()];
-		for (int i = 0; i < getRowCount(); i++) {
-			rowComponents[i] = new LinkedList();
-		}
-
-		for (Iterator i = constraintMap.entrySet().iterator(); i.hasNext();) {
+		int colCount = getColumnCount();
+		int rowCount = getRowCount();
+		int componentCount = constraintMap.size();
+
+		slotComponents = new Component[componentCount];
+		slotConstraints = new CellConstraints[componentCount];
+		colSlotStart = new int[colCount + 1];
+		rowSlotStart = new int[rowCount + 1];
+		spanSlots = new int[componentCount];
+		spanCount = 0;
+		if (hiddenComponents == null)
+			hiddenComponents = new HashSet();
+		else
+			hiddenComponents.clear();
+
+		// First pass: fill the slots and count the components per column/row.
+		int slot = 0;
+		int colSlotCount = 0;
+		int rowSlotCount = 0;
+		for (Iterator i = constraintMap.entrySet().iterator(); i.hasNext(); slot++) {
 			Map.Entry entry = (Map.Entry) i.next();
 			Component component = (Component) entry.getKey();
-			if (!component.isVisible())
+			CellConstraints constraints = (CellConstraints) entry.getValue();
+			slotComponents[slot] = component;
+			slotConstraints[slot] = constraints;
+			if (!component.isVisible()) {
+				hiddenComponents.add(component);
 				continue;
+			}
 
-			CellConstraints constraints = (CellConstraints) entry.getValue();
-			if (constraints.gridWidth == 1)
-				colComponents[constraints.gridX - 1].add(component);
+			if (constraints.gridWidth == 1) {
+				colSlotStart[constraints.gridX]++;
+				colSlotCount++;
+			}
+			if (constraints.gridHeight == 1) {
+				rowSlotStart[constraints.gridY]++;
+				rowSlotCount++;
+			}
+			if (constraints.gridWidth > 1 || constraints.gridHeight > 1)
+				spanSlots[spanCount++] = slot;
+		}
+		slotCount = slot;
+
+		// Second pass: convert the counts to offsets and fill the indices.
+		for (int i = 0; i < colCount; i++)
+			colSlotStart[i + 1] += colSlotStart[i];
+		for (int i = 0; i < rowCount; i++)
+			rowSlotStart[i + 1] += rowSlotStart[i];
+
+		colSlots = new int[colSlotCount];
+		rowSlots = new int[rowSlotCount];
+		int[] colFill = (int[]) colSlotStart.clone();
+		int[] rowFill = (int[]) rowSlotStart.clone();
+		for (slot = 0; slot < slotCount; slot++) {
+			if (!slotComponents[slot].isVisible())
+				continue;
 
+			CellConstraints constraints = slotConstraints[slot];
+			if (constraints.gridWidth == 1)
+				colSlots[colFill[constraints.gridX - 1]++] = slot;
 			if (constraints.gridHeight == 1)
-				rowComponents[constraints.gridY - 1].add(component);
+				rowSlots[rowFill[constraints.gridY - 1]++] = slot;
+		}
+
+		colMinimumSizes = new int[colCount];
+		colPreferredSizes = new int[colCount];
+		dirtyColumns = new boolean[colCount];
+		Arrays.fill(dirtyColumns, true);
+
+		rowMinimumSizes = new int[rowCount];
+		rowPreferredSizes = new int[rowCount];
+		dirtyRows = new boolean[rowCount];
+		Arrays.fill(dirtyRows, true);
+
+		colMinimumBuffer = new int[colCount];
+		colSizeBuffer = new int[colCount];
+		colOrigins = new int[colCount + 1];
+		rowMinimumBuffer = new int[rowCount];
+		rowSizeBuffer = new int[rowCount];
+		rowOrigins = new int[rowCount + 1];
+		colFixedSpanTable = computeMaximumFixedSpanTable(colSpecs);
+		rowFixedSpanTable = computeMaximumFixedSpanTable(rowSpecs);
+		if (cellBounds == null) {
+			cellBounds = new Rectangle();
+			slotList = new SlotList();
+		}
+		colOriginMemo = new OriginMemo(colCount + 1);
+		rowOriginMemo = new OriginMemo(rowCount + 1);
+
+		componentListsValid = true;
+	}
+
+	/**
+	 * Brings the cached column and row sizes up to date. Rebuilds the slot
+	 * arrays and indices if the specs, groups or constraints have changed;
+	 * otherwise recomputes only the dirty columns and rows.
+	 * 
+	 * @param container
+	 *            the layout container
+	 */
+	private void updateColAndRowSizes(Container container) {
+		if (!componentListsValid)
+			initializeColAndRowComponentLists();
+
+		updateSizes(container, colSpecs, colSlotStart, colSlots, dirtyColumns, colMinimumSizes, colPreferredSizes, minimumWidthMeasure,
+				preferredWidthMeasure);
+		updateSizes(container, rowSpecs, rowSlotStart, rowSlots, dirtyRows, rowMinimumSizes, rowPreferredSizes, minimumHeightMeasure,
+				preferredHeightMeasure);
+	}
+
+	/**
+	 * Recomputes the minimum and preferred sizes of the dirty columns or rows.
+	 * Specs with a constant size do not depend on components and are cheap to
+	 * compute, so they are always recomputed.
+	 * 
+	 * @param container
+	 *            the layout container
+	 * @param formSpecs
+	 *            the column or row specs, resp.
+	 * @param slotStart
+	 *            the offsets of each col/row into <code>slots</code>
+	 * @param slots
+	 *            the component slots of all cols/rows
+	 * @param dirty
+	 *            the dirty flags for each col/row; cleared on return
+	 * @param minSizes
+	 *            the cached minimum sizes to update
+	 * @param prefSizes
+	 *            the cached preferred sizes to update
+	 * @param minMeasure
+	 *            the measure used to determin min sizes
+	 * @param prefMeasure
+	 *            the measure used to determin pref sizes
+	 */
+	private void updateSizes(Container container, List formSpecs, int[] slotStart, int[] slots, boolean[] dirty, int[] minSizes, int[] prefSizes,
+			Measure minMeasure, Measure prefMeasure) {
+		FormSpec formSpec;
+		int size = formSpecs.size();
+		for (int i = 0; i < size; i++) {
+			formSpec = (FormSpec) formSpecs.get(i);
+			if (dirty[i] || formSpec.getSize() instanceof ConstantSize) {
+				slotList.reset(slotComponents, slots, slotStart[i], slotStart[i + 1]);
+				minSizes[i] = formSpec.maximumSize(container, slotList, minMeasure, prefMeasure, minMeasure);
+				prefSizes[i] = formSpec.maximumSize(container, slotList, minMeasure, prefMeasure, prefMeasure);
+				dirty[i] = false;
+			}
 		}
 	}
 
@@ -1136,15 +1409,19 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 */
 	private Dimension computeLayoutSize(Container parent, Measure defaultWidthMeasure, Measure defaultHeightMeasure) {
 		synchronized (parent.getTreeLock()) {
-			initializeColAndRowComponentLists();
-			int[] colWidths = maximumSizes(parent, colSpecs, colComponents, minimumWidthMeasure, preferredWidthMeasure, defaultWidthMeasure);
-			int[] rowHeights = maximumSizes(parent, rowSpecs, rowComponents, minimumHeightMeasure, preferredHeightMeasure, defaultHeightMeasure);
-			int[] groupedWidths = groupedSizes(colGroupIndices, colWidths);
-			int[] groupedHeights = groupedSizes(rowGroupIndices, rowHeights);
+			updateColAndRowSizes(parent);
+			int[] colWidths = defaultWidthMeasure == minimumWidthMeasure ? colMinimumSizes : colPreferredSizes;
+			int[] rowHeights = defaultHeightMeasure == minimumHeightMeasure ? rowMinimumSizes : rowPreferredSizes;
+			int[] groupedWidths = colSizeBuffer;
+			int[] groupedHeights = rowSizeBuffer;
+			System.arraycopy(colWidths, 0, groupedWidths, 0, groupedWidths.length);
+			System.arraycopy(rowHeights, 0, groupedHeights, 0, groupedHeights.length);
+			groupSizes(colGroupIndices, groupedWidths);
+			groupSizes(rowGroupIndices, groupedHeights);
 
 			// Convert sizes to origins.
-			int[] xOrigins = computeOrigins(groupedWidths, 0);
-			int[] yOrigins = computeOrigins(groupedHeights, 0);
+			int[] xOrigins = computeOrigins(groupedWidths, 0, colOrigins);
+			int[] yOrigins = computeOrigins(groupedHeights, 0, rowOrigins);
 
 			int width1 = sum(groupedWidths);
 			int height1 = sum(groupedHeights);
@@ -1154,21 +1431,18 @@ public final class FormLayout implements LayoutManager2, Serializable {
 			/*
 			 * Take components that span multiple columns or rows into account.
 			 * This shall be done if and only if a component spans an interval
-			 * that can grow.
+			 * that can grow. The maximum number of cols/rows a component can
+			 * span without spanning a growing column is precomputed in the
+			 * fixed span tables.
 			 */
-			// First computes the maximum number of cols/rows a component
-			// can span without spanning a growing column.
-			int[] maxFixedSizeColsTable = computeMaximumFixedSpanTable(colSpecs);
-			int[] maxFixedSizeRowsTable = computeMaximumFixedSpanTable(rowSpecs);
-
-			for (Iterator i = constraintMap.entrySet().iterator(); i.hasNext();) {
-				Map.Entry entry = (Map.Entry) i.next();
-				Component component = (Component) entry.getKey();
+			for (int i = 0; i < spanCount; i++) {
+				int slot = spanSlots[i];
+				Component component = slotComponents[slot];
 				if (!component.isVisible())
 					continue;
 
-				CellConstraints constraints = (CellConstraints) entry.getValue();
-				if ((constraints.gridWidth > 1) && (constraints.gridWidth > maxFixedSizeColsTable[constraints.gridX - 1])) {
+				CellConstraints constraints = slotConstraints[slot];
+				if ((constraints.gridWidth > 1) && (constraints.gridWidth > colFixedSpanTable[constraints.gridX - 1])) {
 					// int compWidth = minimumWidthMeasure.sizeOf(component);
 					int compWidth = defaultWidthMeasure.sizeOf(component);
 					// int compWidth = preferredWidthMeasure.sizeOf(component);
@@ -1182,7 +1456,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 					}
 				}
 
-				if ((constraints.gridHeight > 1) && (constraints.gridHeight > maxFixedSizeRowsTable[constraints.gridY - 1])) {
+				if ((constraints.gridHeight > 1) && (constraints.gridHeight > rowFixedSpanTable[constraints.gridY - 1])) {
 					// int compHeight = minimumHeightMeasure.sizeOf(component);
 					int compHeight = defaultHeightMeasure.sizeOf(component);
 					// int compHeight =
@@ -1205,44 +1479,47 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	}
 
 	/**
-	 * Computes and returns the grid's origins.
+	 * Computes the grid's origins. All intermediate results are stored in the
+	 * given buffers, so this method does not allocate.
 	 * 
-	 * @param container
-	 *            the layout container
 	 * @param totalSize
 	 *            the total size to assign
 	 * @param offset
 	 *            the offset from left or top margin
 	 * @param formSpecs
 	 *            the column or row specs, resp.
-	 * @param componentLists
-	 *            the components list for each col/row
-	 * @param minMeasure
-	 *            the measure used to determin min sizes
-	 * @param prefMeasure
-	 *            the measure used to determin pre sizes
+	 * @param minSizes
+	 *            the maximum component minimum size for each col/row
+	 * @param prefSizes
+	 *            the maximum component preferred size for each col/row
 	 * @param groupIndices
 	 *            the group specification
-	 * @return an int array with the origins
-	 */
-	private int[] computeGridOrigins(Container container, int totalSize, int offset, List formSpecs, List[] componentLists, int[][] groupIndices,
-			Measure minMeasure, Measure prefMeasure) {
-		/*
-		 * For each spec compute the minimum and preferred size that is the
-		 * maximum of all component minimum and preferred sizes resp.
-		 */
-		int[] minSizes = maximumSizes(container, formSpecs, componentLists, minMeasure, prefMeasure, minMeasure);
-		int[] prefSizes = maximumSizes(container, formSpecs, componentLists, minMeasure, prefMeasure, prefMeasure);
+	 * @param minBuffer
+	 *            a scratch buffer for the grouped minimum sizes
+	 * @param sizeBuffer
+	 *            a scratch buffer for the col/row sizes
+	 * @param origins
+	 *            receives the origins
+	 * @return the <code>origins</code> array
+	 */
+	static int[] computeGridOrigins(int totalSize, int offset, List formSpecs, int[] minSizes, int[] prefSizes, int[][] groupIndices, int[] minBuffer,
+			int[] sizeBuffer, int[] origins) {
+		int count = minSizes.length;
+		int[] groupedMinSizes = minBuffer;
+		System.arraycopy(minSizes, 0, groupedMinSizes, 0, count);
+		groupSizes(groupIndices, groupedMinSizes);
+
+		int[] sizes = sizeBuffer;
+		System.arraycopy(prefSizes, 0, sizes, 0, count);
+		groupSizes(groupIndices, sizes);
 
-		int[] groupedMinSizes = groupedSizes(groupIndices, minSizes);
-		int[] groupedPrefSizes = groupedSizes(groupIndices, prefSizes);
 		int totalMinSize = sum(groupedMinSizes);
-		int totalPrefSize = sum(groupedPrefSizes);
-		int[] compressedSizes = compressedSizes(formSpecs, totalSize, totalMinSize, totalPrefSize, groupedMinSizes, prefSizes);
-		int[] groupedSizes = groupedSizes(groupIndices, compressedSizes);
-		int totalGroupedSize = sum(groupedSizes);
-		int[] sizes = distributedSizes(formSpecs, totalSize, totalGroupedSize, groupedSizes);
-		return computeOrigins(sizes, offset);
+		int totalPrefSize = sum(sizes);
+		compressSizes(formSpecs, totalSize, totalMinSize, totalPrefSize, groupedMinSizes, prefSizes, sizes);
+		groupSizes(groupIndices, sizes);
+		int totalGroupedSize = sum(sizes);
+		distributeSizes(formSpecs, totalSize, totalGroupedSize, sizes);
+		return computeOrigins(sizes, offset, origins);
 	}
 
 	/**
@@ -1252,11 +1529,12 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 *            the array of sizes
 	 * @param offset
 	 *            an offset for the first origin
-	 * @return an array of origins
+	 * @param origins
+	 *            receives the origins; one longer than <code>sizes</code>
+	 * @return the <code>origins</code> array
 	 */
-	private int[] computeOrigins(int[] sizes, int offset) {
+	static int[] computeOrigins(int[] sizes, int offset, int[] origins) {
 		int count = sizes.length;
-		int origins[] = new int[count + 1];
 		origins[0] = offset;
 		for (int i = 1; i <= count; i++) {
 			origins[i] = origins[i - 1] + sizes[i - 1];
@@ -1283,11 +1561,10 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 *            an int array of the vertical origins
 	 */
 	private void layoutComponents(int[] x, int[] y) {
-		Rectangle cellBounds = new Rectangle();
-		for (Iterator i = constraintMap.entrySet().iterator(); i.hasNext();) {
-			Map.Entry entry = (Map.Entry) i.next();
-			Component component = (Component) entry.getKey();
-			CellConstraints constraints = (CellConstraints) entry.getValue();
+		Rectangle cellBounds = this.cellBounds;
+		for (int slot = 0; slot < slotCount; slot++) {
+			Component component = slotComponents[slot];
+			CellConstraints constraints = slotConstraints[slot];
 
 			int gridX = constraints.gridX - 1;
 			int gridY = constraints.gridY - 1;
@@ -1307,41 +1584,84 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 */
 	private void invalidateCaches() {
 		componentSizeCache.invalidate();
+		invalidateComponentLists();
+	}
+
+	/**
+	 * Forces the next layout request to rebuild the slot arrays and indices
+	 * and to recompute all column and row sizes. Called whenever specs, groups
+	 * or constraints change.
+	 */
+	private void invalidateComponentLists() {
+		componentListsValid = false;
 	}
 
 	/**
-	 * Computes and returns the sizes for the given form specs, component lists
-	 * and measures fot minimum, preferred, and default size.
+	 * Checks the components for stale sizes if the layout has been
+	 * invalidated since the last layout pass.
 	 * 
-	 * @param container
-	 *            the layout container
-	 * @param formSpecs
-	 *            the column or row specs, resp.
-	 * @param componentLists
-	 *            the components list for each col/row
-	 * @param minMeasure
-	 *            the measure used to determin min sizes
-	 * @param prefMeasure
-	 *            the measure used to determin pre sizes
-	 * @param defaultMeasure
-	 *            the measure used to determin default sizes
-	 * @return the column or row sizes
+	 * @param parent
+	 *            the container in which to do the layout
 	 */
-	private int[] maximumSizes(Container container, List formSpecs, List[] componentLists, Measure minMeasure, Measure prefMeasure, Measure defaultMeasure) {
-		FormSpec formSpec;
-		int size = formSpecs.size();
-		int result[] = new int[size];
-		for (int i = 0; i < size; i++) {
-			formSpec = (FormSpec) formSpecs.get(i);
-			result[i] = formSpec.maximumSize(container, componentLists[i], minMeasure, prefMeasure, defaultMeasure);
+	private void checkStaleComponents(Container parent) {
+		synchronized (parent.getTreeLock()) {
+			if (staleCheckPending)
+				invalidateStaleComponents();
+		}
+	}
+
+	/**
+	 * Discards the cached sizes of all components that are no longer valid
+	 * or that have an explicit minimum or preferred size, and marks their
+	 * columns and rows as dirty. A component that has been shown or hidden
+	 * since the last layout forces a rebuild of the slot arrays.
+	 */
+	private void invalidateStaleComponents() {
+		if (!componentListsValid) {
+			for (Iterator i = constraintMap.entrySet().iterator(); i.hasNext();) {
+				Map.Entry entry = (Map.Entry) i.next();
+				Component component = (Component) entry.getKey();
+				if (!component.isValid() || component.isPreferredSizeSet() || component.isMinimumSizeSet())
+					componentSizeCache.removeEntry(component);
+			}
+			return;
+		}
+
+		for (int slot = 0; slot < slotCount; slot++) {
+			Component component = slotComponents[slot];
+			if (component.isVisible() == hiddenComponents.contains(component))
+				invalidateComponentLists();
+
+			if (!component.isValid() || component.isPreferredSizeSet() || component.isMinimumSizeSet())
+				invalidateComponent(component, slotConstraints[slot]);
 		}
-		return result;
 	}
 
 	/**
-	 * Computes and returns the compressed sizes. Compresses space for columns
-	 * and rows iff the available space is less than the total preferred size
-	 * but more than the total minimum size.
+	 * Discards the cached sizes of the given component and marks the column
+	 * and row it occupies as dirty. Components that span multiple columns or
+	 * rows do not contribute to the column and row sizes.
+	 * 
+	 * @param component
+	 *            the component to invalidate
+	 * @param constraints
+	 *            the component's constraints
+	 */
+	private void invalidateComponent(Component component, CellConstraints constraints) {
+		componentSizeCache.removeEntry(component);
+		if (!componentListsValid)
+			return;
+
+		if (constraints.gridWidth == 1)
+			dirtyColumns[constraints.gridX - 1] = true;
+		if (constraints.gridHeight == 1)
+			dirtyRows[constraints.gridY - 1] = true;
+	}
+
+	/**
+	 * Computes the compressed sizes. Compresses space for columns and rows iff
+	 * the available space is less than the total preferred size but more than
+	 * the total minimum size.
 	 * <p>
 	 * 
 	 * Only columns and row that are specified to be compressable will be
@@ -1360,19 +1680,22 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 *            an int array of column/row minimum sizes
 	 * @param prefSizes
 	 *            an int array of column/row preferred sizes
-	 * @return an int array of compressed column/row sizes
+	 * @param sizes
+	 *            receives the compressed column/row sizes
 	 */
-	private int[] compressedSizes(List formSpecs, int totalSize, int totalMinSize, int totalPrefSize, int[] minSizes, int[] prefSizes) {
+	private static void compressSizes(List formSpecs, int totalSize, int totalMinSize, int totalPrefSize, int[] minSizes, int[] prefSizes, int[] sizes) {
+		int count = formSpecs.size();
 
 		// If we have less space than the total min size answer the min sizes.
-		if (totalSize < totalMinSize)
-			return minSizes;
+		if (totalSize < totalMinSize) {
+			System.arraycopy(minSizes, 0, sizes, 0, count);
+			return;
+		}
 		// If we have more space than the total pref size answer the pref sizes.
-		if (totalSize >= totalPrefSize)
-			return prefSizes;
-
-		int count = formSpecs.size();
-		int[] sizes = new int[count];
+		if (totalSize >= totalPrefSize) {
+			System.arraycopy(prefSizes, 0, sizes, 0, count);
+			return;
+		}
 
 		double totalCompressionSpace = totalPrefSize - totalSize;
 		double maxCompressionSpace = totalPrefSize - totalMinSize;
@@ -1390,29 +1713,22 @@ public final class FormLayout implements LayoutManager2, Serializable {
 				sizes[i] -= (int) Math.round((prefSizes[i] - minSizes[i]) * compressionFactor);
 			}
 		}
-		return sizes;
 	}
 
 	/**
-	 * Computes and returns the grouped sizes. Gives grouped columns and rows
-	 * the same size.
+	 * Gives grouped columns and rows the same size. The sizes are equalized
+	 * in place.
 	 * 
 	 * @param groups
 	 *            the group specification
-	 * @param rawSizes
-	 *            the raw sizes before the grouping
-	 * @return the grouped sizes
+	 * @param sizes
+	 *            the raw sizes before the grouping; receives the grouped
+	 *            sizes
 	 */
-	private int[] groupedSizes(int[][] groups, int[] rawSizes) {
-		// Return the compressed sizes if there are no groups.
+	static void groupSizes(int[][] groups, int[] sizes) {
+		// Keep the sizes if there are no groups.
 		if (groups == null || groups.length == 0) {
-			return rawSizes;
-		}
-
-		// Initialize the result with the given compressed sizes.
-		int[] sizes = new int[rawSizes.length];
-		for (int i = 0; i < sizes.length; i++) {
-			sizes[i] = rawSizes[i];
+			return;
 		}
 
 		// For each group equalize the sizes.
@@ -1430,12 +1746,11 @@ public final class FormLayout implements LayoutManager2, Serializable {
 				sizes[index] = groupMaxSize;
 			}
 		}
-		return sizes;
 	}
 
 	/**
-	 * Distributes free space over columns and rows and returns the sizes after
-	 * this distribution process.
+	 * Distributes free space over columns and rows. The sizes are updated in
+	 * place.
 	 * 
 	 * @param formSpecs
 	 *            the column/row specifications to work with
@@ -1443,15 +1758,14 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 *            the total available size
 	 * @param totalPrefSize
 	 *            the sum of all preferred sizes
-	 * @param inputSizes
-	 *            the input sizes
-	 * @return the distributed sizes
+	 * @param sizes
+	 *            the input sizes; receives the distributed sizes
 	 */
-	private int[] distributedSizes(List formSpecs, int totalSize, int totalPrefSize, int[] inputSizes) {
+	private static void distributeSizes(List formSpecs, int totalSize, int totalPrefSize, int[] sizes) {
 		double totalFreeSpace = totalSize - totalPrefSize;
 		// Do nothing if there's no free space.
 		if (totalFreeSpace < 0)
-			return inputSizes;
+			return;
 
 		// Compute the total weight.
 		int count = formSpecs.size();
@@ -1463,29 +1777,23 @@ public final class FormLayout implements LayoutManager2, Serializable {
 
 		// Do nothing if there's no resizing column.
 		if (totalWeight == 0.0)
-			return inputSizes;
-
-		int[] sizes = new int[count];
+			return;
 
 		double restSpace = totalFreeSpace;
 		int roundedRestSpace = (int) totalFreeSpace;
 		for (int i = 0; i < count; i++) {
 			FormSpec formSpec = (FormSpec) formSpecs.get(i);
 			double weight = formSpec.getResizeWeight();
-			if (weight == FormSpec.NO_GROW) {
-				sizes[i] = inputSizes[i];
-			}
-			else {
+			if (weight != FormSpec.NO_GROW) {
 				double roundingCorrection = restSpace - roundedRestSpace;
 				double extraSpace = totalFreeSpace * weight / totalWeight;
 				double correctedExtraSpace = extraSpace - roundingCorrection;
 				int roundedExtraSpace = (int) Math.round(correctedExtraSpace);
-				sizes[i] = inputSizes[i] + roundedExtraSpace;
+				sizes[i] += roundedExtraSpace;
 				restSpace -= extraSpace;
 				roundedRestSpace -= roundedExtraSpace;
 			}
 		}
-		return sizes;
 	}
 
 	/**
@@ -1495,7 +1803,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 *            an array of ints to sum up
 	 * @return the sum of ints in the array
 	 */
-	private int sum(int[] sizes) {
+	static int sum(int[] sizes) {
 		int sum = 0;
 		for (int i = sizes.length - 1; i >= 0; i--) {
 			sum += sizes[i];
@@ -1530,7 +1838,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 *    fixed size specs
 	 * 
 	 */
-	private int[] computeMaximumFixedSpanTable(List formSpecs) {
+	static int[] computeMaximumFixedSpanTable(List formSpecs) {
 		int size = formSpecs.size();
 		int[] table = new int[size];
 		int maximumFixedSpan = Integer.MAX_VALUE; // Could be 1
@@ -1627,6 +1935,110 @@ public final class FormLayout implements LayoutManager2, Serializable {
 		}
 	}
 
+	/**
+	 * A read-only list view of the components of one column or row. The view
+	 * is re-targeted for every column and row, so that measuring the specs
+	 * does not allocate component lists.
+	 */
+	private static final class SlotList extends AbstractList implements RandomAccess {
+
+		private Component[] components;
+		private int[] slots;
+		private int start;
+		private int end;
+
+		/**
+		 * Re-targets this view to the given range of the slot index.
+		 * 
+		 * @param components
+		 *            the components indexed by slot
+		 * @param slots
+		 *            the slot index
+		 * @param start
+		 *            the first index into <code>slots</code>
+		 * @param end
+		 *            the index after the last index into <code>slots</code>
+		 */
+		void reset(Component[] components, int[] slots, int start, int end) {
+			this.components = components;
+			this.slots = slots;
+			this.start = start;
+			this.end = end;
+		}
+
+		public Object get(int index) {
+			return components[slots[start + index]];
+		}
+
+		public int size() {
+			return end - start;
+		}
+	}
+
+	/**
+	 * A small memo that maps an available size and offset to the origins
+	 * computed for them. Holds a fixed number of entries that are replaced
+	 * round robin; the origin arrays are allocated once and reused.
+	 */
+	private static final class OriginMemo {
+
+		/** The number of remembered sizes. */
+		private static final int SIZE = 32;
+
+		private final int[] totalSizes = new int[SIZE];
+		private final int[] offsets = new int[SIZE];
+		private final int[][] origins;
+		private int count;
+		private int next;
+
+		/**
+		 * Constructs an <code>OriginMemo</code>
+		 * 
+		 * @param length
+		 *            the length of the origin arrays
+		 */
+		OriginMemo(int length) {
+			origins = new int[SIZE][length];
+		}
+
+		/**
+		 * Returns the origins remembered for the given size and offset.
+		 * 
+		 * @return the origins or <code>null</code> if not remembered
+		 */
+		int[] get(int totalSize, int offset) {
+			for (int i = 0; i < count; i++) {
+				if (totalSizes[i] == totalSize && offsets[i] == offset)
+					return origins[i];
+			}
+			return null;
+		}
+
+		/**
+		 * Reserves an entry for the given size and offset. The caller must
+		 * fill the returned array with the origins.
+		 * 
+		 * @return the origin array to fill
+		 */
+		int[] put(int totalSize, int offset) {
+			int index = next;
+			next = (next + 1) % SIZE;
+			if (count < SIZE)
+				count++;
+			totalSizes[index] = totalSize;
+			offsets[index] = offset;
+			return origins[index];
+		}
+
+		/**
+		 * Forgets all remembered origins.
+		 */
+		void clear() {
+			count = 0;
+			next = 0;
+		}
+	}
+
 	// Caching Component Sizes **********************************************
 
 	/*
@@ -1641,6 +2053,13 @@ public final class FormLayout implements LayoutManager2, Serializable {
 		/** Maps components to their preferred sizes. */
 		private final Map preferredSizes;
 
+		/**
+		 * Incremented whenever cached sizes are discarded. Results derived
+		 * from the cached sizes are valid as long as the generation does not
+		 * change.
+		 */
+		private int generation;
+
 		/**
 		 * Constructs a <code>ComponentSizeCache</code>
 		 * 
@@ -1658,6 +2077,16 @@ public final class FormLayout implements LayoutManager2, Serializable {
 		void invalidate() {
 			minimumSizes.clear();
 			preferredSizes.clear();
+			generation++;
+		}
+
+		/**
+		 * Returns the cache generation.
+		 * 
+		 * @return the number of times cached sizes have been discarded
+		 */
+		int getGeneration() {
+			return generation;
 		}
 
 		/**
@@ -1699,6 +2128,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 		void removeEntry(Component component) {
 			minimumSizes.remove(component);
 			preferredSizes.remove(component);
+			generation++;
 		}
 	}
 
@@ -1720,16 +2150,17 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	 */
 	public LayoutInfo getLayoutInfo(Container parent) {
 		synchronized (parent.getTreeLock()) {
-			initializeColAndRowComponentLists();
+			updateColAndRowSizes(parent);
 			Dimension size = parent.getSize();
 
 			Insets insets = parent.getInsets();
 			int totalWidth = size.width - insets.left - insets.right;
 			int totalHeight = size.height - insets.top - insets.bottom;
 
-			int[] x = computeGridOrigins(parent, totalWidth, insets.left, colSpecs, colComponents, colGroupIndices, minimumWidthMeasure, preferredWidthMeasure);
-			int[] y = computeGridOrigins(parent, totalHeight, insets.top, rowSpecs, rowComponents, rowGroupIndices, minimumHeightMeasure,
-					preferredHeightMeasure);
+			int[] x = computeGridOrigins(totalWidth, insets.left, colSpecs, colMinimumSizes, colPreferredSizes, colGroupIndices, colMinimumBuffer,
+					colSizeBuffer, new int[colOrigins.length]);
+			int[] y = computeGridOrigins(totalHeight, insets.top, rowSpecs, rowMinimumSizes, rowPreferredSizes, rowGroupIndices, rowMinimumBuffer,
+					rowSizeBuffer, new int[rowOrigins.length]);
 			return new LayoutInfo(x, y);
 		}
 	}
@@ -1749,7 +2180,7 @@ public final class FormLayout implements LayoutManager2, Serializable {
 		 */
 		public final int[] rowOrigins;
 
-		private LayoutInfo(int[] xOrigins, int[] yOrigins) {
+		LayoutInfo(int[] xOrigins, int[] yOrigins) {
 			this.columnOrigins = xOrigins;
 			this.rowOrigins = yOrigins;
 		}
@@ -1821,9 +2252,8 @@ public final class FormLayout implements LayoutManager2, Serializable {
 	/**
 	 * In addition to the default serialization mechanism this class invalidates
 	 * the component size cache. The cache will be populated again after the
-	 * deserialization. Also, the fields <code>colComponents</code> and
-	 * <code>rowComponents</code> have been marked as transient to exclude
-	 * them from the serialization.
+	 * deserialization. Also, the slot arrays, indices and scratch buffers
+	 * have been marked as transient to exclude them from the serialization.
 	 */
 	private void writeObject(ObjectOutputStream out) throws IOException {
 		invalidateCaches();
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.jgoodies.forms.layout;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs the <code>FormLayout</code> algorithm on plain arrays of component
+ * size hints. No components or container are required, so forms can be laid
+ * out headless and in parallel. Dialog units are converted with the global
+ * dialog base units.
+ * <p>
+ * 
+ * A solver is not thread safe; use one instance per thread. Instances do not
+ * share any state, so any number of solvers can run concurrently.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormLayoutSolver {
+
+	/**
+	 * Stands in for all components of a column or row when the specs are
+	 * measured. Never displayed or measured.
+	 */
+	private static final Component PLACEHOLDER = new Component() {
+	};
+
+	private static final List OCCUPIED = Collections.singletonList(PLACEHOLDER);
+
+	/**
+	 * The column and row specs
+	 */
+	private final List m_colspecs;
+	private final List m_rowspecs;
+
+	/**
+	 * The column and row groups
+	 */
+	private int[][] m_colgroups = new int[][] {};
+	private int[][] m_rowgroups = new int[][] {};
+
+	/**
+	 * The constraints and size hints of the components indexed in the order
+	 * they were added.
+	 */
+	private CellConstraints[] m_constraints = new CellConstraints[16];
+	private int[] m_min_widths = new int[16];
+	private int[] m_min_heights = new int[16];
+	private int[] m_pref_widths = new int[16];
+	private int[] m_pref_heights = new int[16];
+	private int m_count;
+
+	/**
+	 * Measures that answer the current value regardless of the component.
+	 */
+	private final ValueMeasure m_min_measure = new ValueMeasure();
+	private final ValueMeasure m_pref_measure = new ValueMeasure();
+
+	/**
+	 * ctor
+	 * 
+	 * @param colSpecs
+	 *            the column specs
+	 * @param rowSpecs
+	 *            the row specs
+	 */
+	public FormLayoutSolver(ColumnSpec[] colSpecs, RowSpec[] rowSpecs) {
+		m_colspecs = Arrays.asList((Object[]) colSpecs.clone());
+		m_rowspecs = Arrays.asList((Object[]) rowSpecs.clone());
+	}
+
+	/**
+	 * Adds a component to the layout.
+	 * 
+	 * @param cc
+	 *            the component's constraints
+	 * @param minWidth
+	 *            the component's minimum width
+	 * @param minHeight
+	 *            the component's minimum height
+	 * @param prefWidth
+	 *            the component's preferred width
+	 * @param prefHeight
+	 *            the component's preferred height
+	 * @return the index of the component
+	 */
+	public int addComponent(CellConstraints cc, int minWidth, int minHeight, int prefWidth, int prefHeight) {
+		cc.ensureValidGridBounds(getColumnCount(), getRowCount());
+		if (m_count == m_constraints.length) {
+			int size = m_count * 2;
+			CellConstraints[] constraints = new CellConstraints[size];
+			System.arraycopy(m_constraints, 0, constraints, 0, m_count);
+			m_constraints = constraints;
+			m_min_widths = grow(m_min_widths, size);
+			m_min_heights = grow(m_min_heights, size);
+			m_pref_widths = grow(m_pref_widths, size);
+			m_pref_heights = grow(m_pref_heights, size);
+		}
+		m_constraints[m_count] = cc;
+		m_min_widths[m_count] = minWidth;
+		m_min_heights[m_count] = minHeight;
+		m_pref_widths[m_count] = prefWidth;
+		m_pref_heights[m_count] = prefHeight;
+		return m_count++;
+	}
+
+	/**
+	 * @return the number of columns
+	 */
+	public int getColumnCount() {
+		return m_colspecs.size();
+	}
+
+	/**
+	 * @return the number of components added to this solver
+	 */
+	public int getComponentCount() {
+		return m_count;
+	}
+
+	/**
+	 * @return the constraints of the component at the given index
+	 */
+	public CellConstraints getConstraints(int index) {
+		return m_constraints[index];
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int getRowCount() {
+		return m_rowspecs.size();
+	}
+
+	/**
+	 * Computes the minimum size of the layout.
+	 */
+	public Dimension minimumLayoutSize() {
+		return computeLayoutSize(false);
+	}
+
+	/**
+	 * Computes the preferred size of the layout.
+	 */
+	public Dimension preferredLayoutSize() {
+		return computeLayoutSize(true);
+	}
+
+	/**
+	 * Computes the column and row origins for the given layout size.
+	 * 
+	 * @param width
+	 *            the width available to the layout
+	 * @param height
+	 *            the height available to the layout
+	 * @return the column and row origins
+	 */
+	public FormLayout.LayoutInfo layout(int width, int height) {
+		int[] x = computeGridOrigins(m_colspecs, m_colgroups, width, true);
+		int[] y = computeGridOrigins(m_rowspecs, m_rowgroups, height, false);
+		return new FormLayout.LayoutInfo(x, y);
+	}
+
+	/**
+	 * Returns the bounds of the cell area occupied by the given component.
+	 * 
+	 * @param index
+	 *            the index of the component
+	 * @param info
+	 *            the origins returned by {@link #layout(int, int)}
+	 * @return the cell bounds
+	 */
+	public Rectangle getCellBounds(int index, FormLayout.LayoutInfo info) {
+		CellConstraints cc = m_constraints[index];
+		int[] x = info.columnOrigins;
+		int[] y = info.rowOrigins;
+		int gridX = cc.gridX - 1;
+		int gridY = cc.gridY - 1;
+		return new Rectangle(x[gridX], y[gridY], x[gridX + cc.gridWidth] - x[gridX], y[gridY + cc.gridHeight] - y[gridY]);
+	}
+
+	/**
+	 * Returns the bounds of the given component.
+	 * 
+	 * @param index
+	 *            the index of the component
+	 * @param info
+	 *            the origins returned by {@link #layout(int, int)}
+	 * @return the component bounds
+	 */
+	public Rectangle getComponentBounds(int index, FormLayout.LayoutInfo info) {
+		CellConstraints cc = m_constraints[index];
+		FormSpec colspec = cc.gridWidth == 1 ? (FormSpec) m_colspecs.get(cc.gridX - 1) : null;
+		FormSpec rowspec = cc.gridHeight == 1 ? (FormSpec) m_rowspecs.get(cc.gridY - 1) : null;
+		Rectangle bounds = new Rectangle();
+		cc.computeBounds(colspec, rowspec, getCellBounds(index, info), m_min_widths[index], m_min_heights[index], m_pref_widths[index],
+				m_pref_heights[index], bounds);
+		return bounds;
+	}
+
+	/**
+	 * Sets the column groups. See {@link FormLayout#setColumnGroups(int[][])}
+	 */
+	public void setColumnGroups(int[][] colGroupIndices) {
+		m_colgroups = colGroupIndices == null ? new int[][] {} : colGroupIndices;
+	}
+
+	/**
+	 * Sets the row groups. See {@link FormLayout#setRowGroups(int[][])}
+	 */
+	public void setRowGroups(int[][] rowGroupIndices) {
+		m_rowgroups = rowGroupIndices == null ? new int[][] {} : rowGroupIndices;
+	}
+
+	/**
+	 * Computes the sizes of the columns or rows using the given measure as
+	 * default. The largest hint of the components that occupy exactly one
+	 * column or row is handed to the spec in place of the components.
+	 */
+	private int[] computeSpecSizes(List specs, boolean horizontal, boolean preferred) {
+		int count = specs.size();
+		int[] minsizes = new int[count];
+		int[] prefsizes = new int[count];
+		boolean[] occupied = new boolean[count];
+		int[] mins = horizontal ? m_min_widths : m_min_heights;
+		int[] prefs = horizontal ? m_pref_widths : m_pref_heights;
+		for (int index = 0; index < m_count; index++) {
+			CellConstraints cc = m_constraints[index];
+			int span = horizontal ? cc.gridWidth : cc.gridHeight;
+			if (span == 1) {
+				int spec = (horizontal ? cc.gridX : cc.gridY) - 1;
+				minsizes[spec] = Math.max(minsizes[spec], mins[index]);
+				prefsizes[spec] = Math.max(prefsizes[spec], prefs[index]);
+				occupied[spec] = true;
+			}
+		}
+
+		int[] sizes = new int[count];
+		for (int spec = 0; spec < count; spec++) {
+			m_min_measure.value = minsizes[spec];
+			m_pref_measure.value = prefsizes[spec];
+			List components = occupied[spec] ? OCCUPIED : Collections.EMPTY_LIST;
+			FormSpec formspec = (FormSpec) specs.get(spec);
+			sizes[spec] = formspec.maximumSize(null, components, m_min_measure, m_pref_measure, preferred ? m_pref_measure : m_min_measure);
+		}
+		return sizes;
+	}
+
+	/**
+	 * Computes the column or row origins for the given total size.
+	 */
+	private int[] computeGridOrigins(List specs, int[][] groups, int totalSize, boolean horizontal) {
+		int count = specs.size();
+		int[] minsizes = computeSpecSizes(specs, horizontal, false);
+		int[] prefsizes = computeSpecSizes(specs, horizontal, true);
+		return FormLayout.computeGridOrigins(totalSize, 0, specs, minsizes, prefsizes, groups, new int[count], new int[count], new int[count + 1]);
+	}
+
+	/**
+	 * Computes the layout size. Mirrors <code>FormLayout</code>: components
+	 * that span multiple columns or rows are only taken into account if they
+	 * span a growing column or row.
+	 */
+	private Dimension computeLayoutSize(boolean preferred) {
+		int[] widths = computeSpecSizes(m_colspecs, true, preferred);
+		int[] heights = computeSpecSizes(m_rowspecs, false, preferred);
+		FormLayout.groupSizes(m_colgroups, widths);
+		FormLayout.groupSizes(m_rowgroups, heights);
+		int[] xorigins = FormLayout.computeOrigins(widths, 0, new int[widths.length + 1]);
+		int[] yorigins = FormLayout.computeOrigins(heights, 0, new int[heights.length + 1]);
+		int width1 = FormLayout.sum(widths);
+		int height1 = FormLayout.sum(heights);
+		int maxwidth = width1;
+		int maxheight = height1;
+
+		int[] colspans = FormLayout.computeMaximumFixedSpanTable(m_colspecs);
+		int[] rowspans = FormLayout.computeMaximumFixedSpanTable(m_rowspecs);
+		for (int index = 0; index < m_count; index++) {
+			CellConstraints cc = m_constraints[index];
+			if (cc.gridWidth > 1 && cc.gridWidth > colspans[cc.gridX - 1]) {
+				int compwidth = preferred ? m_pref_widths[index] : m_min_widths[index];
+				int lead = xorigins[cc.gridX - 1];
+				int trail = width1 - xorigins[cc.gridX - 1 + cc.gridWidth];
+				maxwidth = Math.max(maxwidth, lead + compwidth + trail);
+			}
+			if (cc.gridHeight > 1 && cc.gridHeight > rowspans[cc.gridY - 1]) {
+				int compheight = preferred ? m_pref_heights[index] : m_min_heights[index];
+				int lead = yorigins[cc.gridY - 1];
+				int trail = height1 - yorigins[cc.gridY - 1 + cc.gridHeight];
+				maxheight = Math.max(maxheight, lead + compheight + trail);
+			}
+		}
+		return new Dimension(maxwidth, maxheight);
+	}
+
+	private static int[] grow(int[] array, int size) {
+		int[] result = new int[size];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	/**
+	 * A measure that answers a preset value for any component.
+	 */
+	private static class ValueMeasure implements FormLayout.Measure {
+		int value;
+
+		public int sizeOf(Component component) {
+			return value;
+		}
+	}
+}
@@ -90,6 +90,11 @@ public final class RowSpec extends FormSpec {
 	 */
 	public static final DefaultAlignment DEFAULT = CENTER;
 
+	/**
+	 * Holds the decoded row specs and spec lists by their encoded form.
+	 */
+	private static final SpecCache CACHE = new SpecCache();
+
 	// Instance Creation ****************************************************
 
 	/**
@@ -149,9 +154,30 @@ public final class RowSpec extends FormSpec {
 
 	// Parsing and Decoding of Row Descriptions *****************************
 
+	/**
+	 * Returns the <code>RowSpec</code> for the given encoded description. The
+	 * description is parsed only once; later calls return the same immutable
+	 * instance.
+	 * 
+	 * @param encodedRowSpec
+	 *            the encoded description
+	 * @return the decoded row specification
+	 * 
+	 * @see RowSpec#RowSpec(String)
+	 */
+	public static RowSpec decode(String encodedRowSpec) {
+		RowSpec spec = (RowSpec) CACHE.getSpec(encodedRowSpec);
+		if (spec == null) {
+			spec = new RowSpec(encodedRowSpec);
+			CACHE.putSpec(encodedRowSpec, spec);
+		}
+		return spec;
+	}
+
 	/**
 	 * Parses and splits encoded row specifications and returns an array of
-	 * <code>RowSpec</code> objects.
+	 * <code>RowSpec</code> objects. Each list is decoded only once, but every
+	 * call returns a new array.
 	 * 
 	 * @param encodedRowSpecs
 	 *            comma separated encoded row specifications
@@ -165,13 +191,17 @@ public final class RowSpec extends FormSpec {
 		if (encodedRowSpecs == null)
 			throw new NullPointerException("The row description must not be null.");
 
-		StringTokenizer tokenizer = new StringTokenizer(encodedRowSpecs, ", ");
-		int rowCount = tokenizer.countTokens();
-		RowSpec[] rowSpecs = new RowSpec[rowCount];
-		for (int i = 0; i < rowCount; i++) {
-			rowSpecs[i] = new RowSpec(tokenizer.nextToken());
+		RowSpec[] rowSpecs = (RowSpec[]) CACHE.getSpecs(encodedRowSpecs);
+		if (rowSpecs == null) {
+			StringTokenizer tokenizer = new StringTokenizer(encodedRowSpecs, ", ");
+			int rowCount = tokenizer.countTokens();
+			rowSpecs = new RowSpec[rowCount];
+			for (int i = 0; i < rowCount; i++) {
+				rowSpecs[i] = decode(tokenizer.nextToken());
+			}
+			CACHE.putSpecs(encodedRowSpecs, rowSpecs);
 		}
-		return rowSpecs;
+		return (RowSpec[]) rowSpecs.clone();
 	}
 
 }
@@ -35,6 +35,7 @@ import java.awt.Container;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import com.jeta.jgoodies.forms.util.DefaultUnitConverter;
 import com.jeta.jgoodies.forms.util.UnitConverter;
@@ -360,6 +361,14 @@ public final class Sizes {
 
 			FormLayout.Measure measure = this == MINIMUM ? minMeasure : (this == PREFERRED ? prefMeasure : defaultMeasure);
 			int maximum = 0;
+			if (components instanceof RandomAccess) {
+				// Avoids the iterator in the layout hot path.
+				for (int i = 0, size = components.size(); i < size; i++) {
+					Component c = (Component) components.get(i);
+					maximum = Math.max(maximum, measure.sizeOf(c));
+				}
+				return maximum;
+			}
 			for (Iterator i = components.iterator(); i.hasNext();) {
 				Component c = (Component) i.next();
 				maximum = Math.max(maximum, measure.sizeOf(c));
@@ -383,4 +392,4 @@ public final class Sizes {
 
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
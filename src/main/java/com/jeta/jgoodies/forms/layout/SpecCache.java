@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.jgoodies.forms.layout;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds decoded column or row specs keyed by their encoded description so
+ * that each description is parsed only once. Forms use a small set of specs
+ * such as "FILL:DEFAULT:NONE" over and over, so almost every lookup is a
+ * hit. Specs are immutable and can be shared by any number of layouts; the
+ * spec arrays are never handed out directly because arrays can be modified.
+ * <p>
+ * 
+ * The cache is cleared if it ever grows beyond a fixed number of entries,
+ * which only happens if specs are generated programmatically.
+ * 
+ * @author Jeff Tassin
+ */
+final class SpecCache {
+
+	/**
+	 * The maximum number of entries in each map.
+	 */
+	private static final int MAX_ENTRIES = 2048;
+
+	/**
+	 * Maps an encoded spec to its decoded FormSpec. specs<String,FormSpec>
+	 */
+	private final Map specs = new HashMap();
+
+	/**
+	 * Maps a comma separated list of encoded specs to the decoded array.
+	 * lists<String,FormSpec[]>
+	 */
+	private final Map lists = new HashMap();
+
+	/**
+	 * Returns the decoded spec for the given description or null if it has
+	 * not been decoded yet.
+	 */
+	synchronized FormSpec getSpec(String encodedSpec) {
+		return (FormSpec) specs.get(encodedSpec);
+	}
+
+	synchronized void putSpec(String encodedSpec, FormSpec spec) {
+		if (specs.size() >= MAX_ENTRIES)
+			specs.clear();
+		specs.put(encodedSpec, spec);
+	}
+
+	/**
+	 * Returns the decoded specs for the given list or null if the list has
+	 * not been decoded yet. The caller must copy the array before returning
+	 * it to clients.
+	 */
+	synchronized FormSpec[] getSpecs(String encodedSpecs) {
+		return (FormSpec[]) lists.get(encodedSpecs);
+	}
+
+	synchronized void putSpecs(String encodedSpecs, FormSpec[] decoded) {
+		if (lists.size() >= MAX_ENTRIES)
+			lists.clear();
+		lists.put(encodedSpecs, decoded);
+	}
+}
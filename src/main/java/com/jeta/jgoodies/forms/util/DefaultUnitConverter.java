@@ -33,6 +33,8 @@ package com.jeta.jgoodies.forms.util;
 import java.awt.Component;
 import java.awt.Font;
 import java.awt.FontMetrics;
+import java.awt.HeadlessException;
+import java.awt.Toolkit;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
@@ -58,6 +60,13 @@ import javax.swing.UIManager;
  * a test string for the average character width. You can configure the font and
  * the test string via the bound Bean properties <em>defaultDialogFont</em>
  * and <em>averageCharacterWidthTestString</em>.
+ * <p>
+ * 
+ * The dialog base units are cached per dialog font and screen resolution
+ * together with tables that map small dialog unit values to pixels, so a
+ * conversion during layout is usually a field compare and an array read. The
+ * converter can be used from any thread; the caches are replaced rather than
+ * modified and are discarded when the look&amp;feel changes.
  * 
  * @version $Revision$
  * @author Karsten Lentzsch
@@ -89,7 +98,13 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	 * default it is lazily created in method #getDefaultDialogFont, which in
 	 * turn looks up a font in method #lookupDefaultDialogFont.
 	 */
-	private Font defaultDialogFont;
+	private volatile Font defaultDialogFont;
+
+	/**
+	 * The largest dialog unit value that is held in the precomputed pixel
+	 * tables. Larger values are computed.
+	 */
+	private static final int MAX_TABLE_DLU = 128;
 
 	/**
 	 * If any <code>PropertyChangeListeners</code> have been registered, the
@@ -109,14 +124,26 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	 * Holds the cached global dialog base units that are used if a component is
 	 * not (yet) available - for example in a Border.
 	 */
-	private DialogBaseUnits cachedGlobalDialogBaseUnits = computeGlobalDialogBaseUnits();
+	private volatile DialogBaseUnits cachedGlobalDialogBaseUnits = computeGlobalDialogBaseUnits();
 
 	/**
-	 * Maps <code>FontMetrics</code> to horizontal dialog base units. This is
-	 * a second-level cache, that stores dialog base units for a
-	 * <code>FontMetrics</code> object.
+	 * Maps a <code>FontKey</code> (dialog font family, style, size and screen
+	 * resolution) to dialog base units. This is a second-level cache. The map
+	 * is never modified once published; a new map is created to add an entry.
 	 */
-	private Map cachedDialogBaseUnits = new HashMap();
+	private volatile Map cachedDialogBaseUnits = new HashMap();
+
+	/**
+	 * The dialog base units returned by the last lookup. Nearly all components
+	 * share the same dialog font and screen, so this avoids the map lookup.
+	 */
+	private volatile DialogBaseUnits lastDialogBaseUnits;
+
+	/**
+	 * The last toolkit that was asked for its screen resolution and the
+	 * answer. Components without a peer all use the default toolkit.
+	 */
+	private volatile ToolkitResolution lastToolkitResolution;
 
 	// Instance Creation and Access *******************************************
 
@@ -134,7 +161,7 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	 * 
 	 * @return the lazily instantiated sole instance
 	 */
-	public static DefaultUnitConverter getInstance() {
+	public static synchronized DefaultUnitConverter getInstance() {
 		if (instance == null) {
 			instance = new DefaultUnitConverter();
 		}
@@ -178,6 +205,7 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 
 		String oldTestString = averageCharWidthTestString;
 		averageCharWidthTestString = newTestString;
+		invalidateCaches();
 		changeSupport.firePropertyChange("averageCharacterWidthTestString", oldTestString, newTestString);
 	}
 
@@ -203,11 +231,46 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	public void setDefaultDialogFont(Font newFont) {
 		Font oldFont = defaultDialogFont; // Don't use the getter
 		defaultDialogFont = newFont;
+		invalidateCaches();
 		changeSupport.firePropertyChange("defaultDialogFont", oldFont, newFont);
 	}
 
 	// Implementing Abstract Superclass Behavior ******************************
 
+	/**
+	 * Converts horizontal dialog units to pixels using the precomputed table
+	 * for the component's dialog base units.
+	 * 
+	 * @param dluX
+	 *            the horizontal dialog units
+	 * @param c
+	 *            a Component that provides the font and graphics
+	 * @return the given horizontal dialog units as pixels
+	 */
+	public int dialogUnitXAsPixel(int dluX, Component c) {
+		DialogBaseUnits units = getDialogBaseUnits(c);
+		if (dluX >= 0 && dluX < units.xPixels.length)
+			return units.xPixels[dluX];
+		return dialogUnitXAsPixel(dluX, units.x);
+	}
+
+	/**
+	 * Converts vertical dialog units to pixels using the precomputed table
+	 * for the component's dialog base units.
+	 * 
+	 * @param dluY
+	 *            the vertical dialog units
+	 * @param c
+	 *            a Component that provides the font and graphics
+	 * @return the given vertical dialog units as pixels
+	 */
+	public int dialogUnitYAsPixel(int dluY, Component c) {
+		DialogBaseUnits units = getDialogBaseUnits(c);
+		if (dluY >= 0 && dluY < units.yPixels.length)
+			return units.yPixels[dluY];
+		return dialogUnitYAsPixel(dluY, units.y);
+	}
+
 	/**
 	 * Returns the cached or computed horizontal dialog base units.
 	 * 
@@ -241,10 +304,12 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	 *         available
 	 */
 	private DialogBaseUnits getGlobalDialogBaseUnits() {
-		if (cachedGlobalDialogBaseUnits == null) {
-			cachedGlobalDialogBaseUnits = computeGlobalDialogBaseUnits();
+		DialogBaseUnits units = cachedGlobalDialogBaseUnits;
+		if (units == null) {
+			units = computeGlobalDialogBaseUnits();
+			cachedGlobalDialogBaseUnits = units;
 		}
-		return cachedGlobalDialogBaseUnits;
+		return units;
 	}
 
 	/**
@@ -254,8 +319,8 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	 * <p>
 	 * 
 	 * Before we compute the dialog base units we check whether they have been
-	 * computed and cached before - for the same component
-	 * <code>FontMetrics</code>.
+	 * computed and cached before - for the same dialog font and screen
+	 * resolution.
 	 * 
 	 * @param c
 	 *            the component that provides the graphics object
@@ -266,15 +331,53 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 			logInfo("Missing font metrics: " + c);
 			return getGlobalDialogBaseUnits();
 		}
-		FontMetrics fm = c.getFontMetrics(getDefaultDialogFont());
-		DialogBaseUnits dialogBaseUnits = (DialogBaseUnits) cachedDialogBaseUnits.get(fm);
+		Font font = getDefaultDialogFont();
+		int resolution = getCachedScreenResolution(c);
+		DialogBaseUnits dialogBaseUnits = lastDialogBaseUnits;
+		if (dialogBaseUnits != null && dialogBaseUnits.font == font && dialogBaseUnits.resolution == resolution)
+			return dialogBaseUnits;
+
+		FontKey key = new FontKey(font, resolution);
+		dialogBaseUnits = (DialogBaseUnits) cachedDialogBaseUnits.get(key);
 		if (dialogBaseUnits == null) {
-			dialogBaseUnits = computeDialogBaseUnits(fm);
-			cachedDialogBaseUnits.put(fm, dialogBaseUnits);
+			dialogBaseUnits = computeDialogBaseUnits(c.getFontMetrics(font), resolution);
+			synchronized (this) {
+				Map map = new HashMap(cachedDialogBaseUnits);
+				map.put(key, dialogBaseUnits);
+				cachedDialogBaseUnits = map;
+			}
 		}
+		else if (dialogBaseUnits.font != font) {
+			/** an equal font from a different source */
+			dialogBaseUnits = dialogBaseUnits.forFont(font);
+		}
+		lastDialogBaseUnits = dialogBaseUnits;
 		return dialogBaseUnits;
 	}
 
+	/**
+	 * Returns the screen resolution for the component's toolkit. The
+	 * resolution of the last toolkit is cached because asking the toolkit can
+	 * be expensive. Returns 0 if the resolution is not available, for example
+	 * in a headless environment.
+	 */
+	private int getCachedScreenResolution(Component c) {
+		Toolkit toolkit = c.getToolkit();
+		ToolkitResolution last = lastToolkitResolution;
+		if (last != null && last.toolkit == toolkit)
+			return last.resolution;
+
+		int resolution = 0;
+		try {
+			if (toolkit != null)
+				resolution = toolkit.getScreenResolution();
+		} catch (HeadlessException e) {
+			// no screen
+		}
+		lastToolkitResolution = new ToolkitResolution(toolkit, resolution);
+		return resolution;
+	}
+
 	/**
 	 * Computes and returns the horizontal dialog base units. Honors the font,
 	 * font size and resolution.
@@ -292,13 +395,15 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 	 * 
 	 * @param metrics
 	 *            the FontMetrics used to measure the dialog font
+	 * @param resolution
+	 *            the screen resolution the units are computed for
 	 * @return the horizontal and vertical dialog base units
 	 */
-	private DialogBaseUnits computeDialogBaseUnits(FontMetrics metrics) {
+	private DialogBaseUnits computeDialogBaseUnits(FontMetrics metrics, int resolution) {
 		double averageCharWidth = computeAverageCharWidth(metrics, averageCharWidthTestString);
 		int ascent = metrics.getAscent();
 		double height = ascent > 14 ? ascent : ascent + (15 - ascent) / 3;
-		DialogBaseUnits dialogBaseUnits = new DialogBaseUnits(averageCharWidth, height);
+		DialogBaseUnits dialogBaseUnits = new DialogBaseUnits(metrics.getFont(), resolution, averageCharWidth, height);
 		logInfo("Computed dialog base units " + dialogBaseUnits + " for: " + metrics.getFont());
 		return dialogBaseUnits;
 	}
@@ -318,7 +423,7 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 		logInfo("Computing global dialog base units...");
 		Font dialogFont = getDefaultDialogFont();
 		FontMetrics metrics = createDefaultGlobalComponent().getFontMetrics(dialogFont);
-		DialogBaseUnits globalDialogBaseUnits = computeDialogBaseUnits(metrics);
+		DialogBaseUnits globalDialogBaseUnits = computeDialogBaseUnits(metrics, 0);
 		return globalDialogBaseUnits;
 	}
 
@@ -353,12 +458,14 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 
 	/**
 	 * Invalidates the caches. Resets the global dialog base units and clears
-	 * the Map from <code>FontMetrics</code> to dialog base units. This is
-	 * invoked after a change of the look&amp;feel.
+	 * the Map from font and resolution to dialog base units. This is invoked
+	 * after a change of the look&amp;feel or of the test string.
 	 */
-	private void invalidateCaches() {
+	private synchronized void invalidateCaches() {
 		cachedGlobalDialogBaseUnits = null;
-		cachedDialogBaseUnits.clear();
+		cachedDialogBaseUnits = new HashMap();
+		lastDialogBaseUnits = null;
+		lastToolkitResolution = null;
 	}
 
 	// Managing Property Change Listeners **********************************
@@ -458,15 +565,42 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 		// System.out.println("INFO (DefaultUnitConverter) " + message);
 	}
 
-	// Describes horizontal and vertical dialog base units.
-	private static class DialogBaseUnits {
+	// Describes horizontal and vertical dialog base units and holds the
+	// pixel sizes for the first MAX_TABLE_DLU dialog units.
+	private final class DialogBaseUnits {
 
+		final Font font;
+		final int resolution;
 		final double x;
 		final double y;
+		final int[] xPixels;
+		final int[] yPixels;
 
-		DialogBaseUnits(double dialogBaseUnitsX, double dialogBaseUnitsY) {
+		DialogBaseUnits(Font font, int resolution, double dialogBaseUnitsX, double dialogBaseUnitsY) {
+			this.font = font;
+			this.resolution = resolution;
 			this.x = dialogBaseUnitsX;
 			this.y = dialogBaseUnitsY;
+			this.xPixels = new int[MAX_TABLE_DLU + 1];
+			this.yPixels = new int[MAX_TABLE_DLU + 1];
+			for (int dlu = 0; dlu <= MAX_TABLE_DLU; dlu++) {
+				xPixels[dlu] = dialogUnitXAsPixel(dlu, x);
+				yPixels[dlu] = dialogUnitYAsPixel(dlu, y);
+			}
+		}
+
+		private DialogBaseUnits(Font font, DialogBaseUnits units) {
+			this.font = font;
+			this.resolution = units.resolution;
+			this.x = units.x;
+			this.y = units.y;
+			this.xPixels = units.xPixels;
+			this.yPixels = units.yPixels;
+		}
+
+		// Returns these units for an equal font instance
+		DialogBaseUnits forFont(Font newFont) {
+			return new DialogBaseUnits(newFont, this);
 		}
 
 		public String toString() {
@@ -474,6 +608,46 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 		}
 	}
 
+	// Identifies the dialog font and screen resolution of a set of dialog base
+	// units.
+	private static final class FontKey {
+
+		private final String family;
+		private final int style;
+		private final int size;
+		private final int resolution;
+
+		FontKey(Font font, int resolution) {
+			this.family = font.getFamily();
+			this.style = font.getStyle();
+			this.size = font.getSize();
+			this.resolution = resolution;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof FontKey))
+				return false;
+			FontKey key = (FontKey) o;
+			return size == key.size && style == key.style && resolution == key.resolution && family.equals(key.family);
+		}
+
+		public int hashCode() {
+			return ((family.hashCode() * 31 + style) * 31 + size) * 31 + resolution;
+		}
+	}
+
+	// Holds the screen resolution of a toolkit.
+	private static final class ToolkitResolution {
+
+		final Toolkit toolkit;
+		final int resolution;
+
+		ToolkitResolution(Toolkit toolkit, int resolution) {
+			this.toolkit = toolkit;
+			this.resolution = resolution;
+		}
+	}
+
 	// Listens to changes of the Look and Feel and invalidates the cache
 	private class LookAndFeelChangeHandler implements PropertyChangeListener {
 		public void propertyChange(PropertyChangeEvent evt) {
@@ -481,4 +655,4 @@ public final class DefaultUnitConverter extends AbstractUnitConverter {
 		}
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -32,7 +32,6 @@ package com.jeta.open.resources;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Hashtable;
 
 import javax.swing.ImageIcon;
 
@@ -52,9 +51,6 @@ public class AppResourceLoader implements ResourceLoader {
 	/** an empty icon if a resource cannot be loaded */
 	private static ImageIcon m_empty_icon;
 
-	/** cache of images */
-	private static Hashtable m_imagecache = new Hashtable();
-
 	public AppResourceLoader() {
 
 	}
@@ -109,26 +105,21 @@ public class AppResourceLoader implements ResourceLoader {
 
 	/**
 	 * Loads an image from disk. The image is loaded relative to the application
-	 * directory.
-	 *
-	 * @todo we need to cache these images
+	 * directory. Images are shared through the {@link ImageCache}.
 	 */
 	public static ImageIcon getImage(String imageName) {
 		if (imageName != null) {
-			ImageIcon icon = (ImageIcon) m_imagecache.get(imageName);
+			ImageIcon icon = null;
+			try {
+				ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
+				assert (loader != null);
+				icon = ImageCache.getImage(loader, imageName);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+
 			if (icon == null) {
-				try {
-					ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
-					assert (loader != null);
-					icon = loader.loadImage(imageName);
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-
-				if (icon == null) {
-					icon = new ImageIcon();
-				}
-				m_imagecache.put(imageName, icon);
+				icon = new ImageIcon();
 			}
 			return icon;
 		}
@@ -156,7 +147,7 @@ public class AppResourceLoader implements ResourceLoader {
 			ClassLoader classloader = getClassLoader();
 			java.net.URL url = classloader.getResource(imageName);
 			if (url != null) {
-				ImageIcon icon = new ImageIcon(url);
+				ImageIcon icon = ImageDecoder.loadImage(url);
 				return icon;
 			}
 			else {
@@ -169,6 +160,43 @@ public class AppResourceLoader implements ResourceLoader {
 		return getEmptyIcon();
 	}
 
+	/**
+	 * Loads the resolution variant of an image for the given scale. The
+	 * variant has the scale appended to the file name. For example, the 2x
+	 * variant of <code>images/logo.png</code> is
+	 * <code>images/logo@2x.png</code> and the 1.5x variant is
+	 * <code>images/logo@1.5x.png</code>.
+	 *
+	 * @param imageName
+	 *            the name of the unscaled image
+	 * @param scale
+	 *            the device scale
+	 * @return the variant image or null if there is no variant for the scale
+	 */
+	public ImageIcon loadImageVariant(String imageName, double scale) {
+		if (imageName.contains("jeta.resources/")) {
+			imageName = imageName.replace("jeta.resources/", "");
+		}
+
+		String suffix = (scale == Math.floor(scale)) ? String.valueOf((int) scale) : String.valueOf(scale);
+		int dot = imageName.lastIndexOf('.');
+		int slash = Math.max(imageName.lastIndexOf('/'), imageName.lastIndexOf('\\'));
+		String variant;
+		if (dot > slash)
+			variant = imageName.substring(0, dot) + "@" + suffix + "x" + imageName.substring(dot);
+		else
+			variant = imageName + "@" + suffix + "x";
+
+		try {
+			java.net.URL url = getClassLoader().getResource(variant);
+			if (url != null)
+				return ImageDecoder.loadImage(url);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
 	@Override
     public void setClassLoader(ClassLoader loader) {
 		m_classloader = loader;
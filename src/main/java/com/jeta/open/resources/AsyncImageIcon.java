@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.resources;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.net.URL;
+import java.util.LinkedList;
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+/**
+ * An ImageIcon whose image is decoded in the background by the
+ * {@link ImageDecoder}. Until the image is decoded, the icon reports the size
+ * read from the image file header so that layouts are stable, and paints
+ * nothing. <code>getImage</code> returns a transparent placeholder of that
+ * size, so code that derives images from the icon (e.g. disabled icons) does
+ * not get null. Components that paint the icon before it is decoded are repainted
+ * when the image becomes available.
+ * 
+ * @author Jeff Tassin
+ */
+public class AsyncImageIcon extends ImageIcon {
+	/**
+	 * The location of the image
+	 */
+	private URL m_url;
+
+	/**
+	 * The size of the image read from the file header.
+	 */
+	private int m_width;
+	private int m_height;
+
+	/**
+	 * Set to true when the image has been decoded.
+	 */
+	private volatile boolean m_loaded;
+
+	/**
+	 * The components to repaint when the image has been decoded.
+	 * m_components<Component>
+	 */
+	private LinkedList m_components;
+
+	/**
+	 * Creates an <code>AsyncImageIcon</code> for the image at the given url.
+	 * The image is not decoded until the icon is passed to the ImageDecoder.
+	 * 
+	 * @param url
+	 *            the location of the image
+	 * @param width
+	 *            the width of the image read from the file header
+	 * @param height
+	 *            the height of the image read from the file header
+	 */
+	AsyncImageIcon(URL url, int width, int height) {
+		m_url = url;
+		m_width = width;
+		m_height = height;
+		setImage(createPlaceholder(width, height));
+		setDescription(url.toExternalForm());
+	}
+
+	/**
+	 * Creates a fully transparent image of the given size. One bit per pixel
+	 * is used because the placeholder can be as large as the decoded image.
+	 */
+	private static Image createPlaceholder(int width, int height) {
+		byte[] rgb = new byte[2];
+		IndexColorModel model = new IndexColorModel(1, 2, rgb, rgb, rgb, 0);
+		return new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_BYTE_BINARY, model);
+	}
+
+	/**
+	 * Returns the location of the image.
+	 */
+	URL getURL() {
+		return m_url;
+	}
+
+	/**
+	 * Returns the height of the icon. This is the size from the file header
+	 * until the image is decoded.
+	 */
+	public int getIconHeight() {
+		return m_loaded ? super.getIconHeight() : m_height;
+	}
+
+	/**
+	 * Returns the width of the icon. This is the size from the file header
+	 * until the image is decoded.
+	 */
+	public int getIconWidth() {
+		return m_loaded ? super.getIconWidth() : m_width;
+	}
+
+	/**
+	 * Returns true if the image has been decoded.
+	 */
+	public boolean isLoaded() {
+		return m_loaded;
+	}
+
+	/**
+	 * Paints the icon if the image has been decoded. Otherwise, the component
+	 * is repainted when the image has been decoded.
+	 */
+	public void paintIcon(Component c, Graphics g, int x, int y) {
+		if (!m_loaded) {
+			repaintWhenLoaded(c);
+			if (!m_loaded)
+				return;
+		}
+		super.paintIcon(c, g, x, y);
+	}
+
+	/**
+	 * Registers a component to repaint when the image has been decoded. If
+	 * the image is already decoded, this method does nothing.
+	 */
+	public synchronized void repaintWhenLoaded(Component c) {
+		if (m_loaded || c == null)
+			return;
+
+		if (m_components == null)
+			m_components = new LinkedList();
+		if (!m_components.contains(c))
+			m_components.add(c);
+	}
+
+	/**
+	 * Called by the decoder thread when the image has been decoded. Repaints
+	 * any components that painted this icon before it was decoded.
+	 */
+	void imageLoaded(Image image) {
+		final LinkedList components;
+		synchronized (this) {
+			setImage(image);
+			m_loaded = true;
+			components = m_components;
+			m_components = null;
+		}
+
+		if (components != null) {
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					for (int index = 0; index < components.size(); index++) {
+						((Component) components.get(index)).repaint();
+					}
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.resources;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.ImageIcon;
+
+/**
+ * A bounded cache of decoded images shared by all icon, texture, and image
+ * properties as well as the designer. Images are keyed by the class loader
+ * used to load them, their resource path, and their scale. The cache keeps a
+ * memory budget and discards the least recently used images when the budget
+ * is exceeded. Components that already reference an evicted image are not
+ * affected; the image is simply decoded again the next time it is requested.
+ * 
+ * The designer should call {@link #invalidate(String)} when an image file
+ * changes so the next request loads the new image.
+ * 
+ * @author Jeff Tassin
+ */
+public class ImageCache {
+	/**
+	 * The default memory budget in bytes.
+	 */
+	public static final long DEFAULT_MEMORY_BUDGET = 16 * 1024 * 1024;
+
+	/**
+	 * The maximum number of bytes in all cached images.
+	 */
+	private static long m_budget = DEFAULT_MEMORY_BUDGET;
+
+	/**
+	 * The current number of bytes in all cached images.
+	 */
+	private static long m_size;
+
+	/**
+	 * A map of Key objects to Entry objects. The map is in access order so the
+	 * first entry is the least recently used.
+	 */
+	private static LinkedHashMap m_images = new LinkedHashMap(16, 0.75f, true);
+
+	/**
+	 * Cache statistics
+	 */
+	private static long m_hits;
+	private static long m_misses;
+	private static long m_evictions;
+
+	/**
+	 * Returns the image for the given path. If the image is not in the cache,
+	 * it is loaded with the given resource loader and added to the cache.
+	 * 
+	 * @param loader
+	 *            the resource loader used to load the image
+	 * @param path
+	 *            the path of the image relative to the loader's classpath
+	 * @return the image. Null is returned if the loader returns null.
+	 */
+	public static ImageIcon getImage(ResourceLoader loader, String path) {
+		ClassLoader classloader = loader.getClassLoader();
+		ImageIcon icon = getImage(classloader, path, 1);
+		if (icon == null) {
+			icon = loader.loadImage(path);
+			if (icon != null)
+				putImage(classloader, path, 1, icon);
+		}
+		return icon;
+	}
+
+	/**
+	 * Returns the image for the given path at the given device scale. A
+	 * resolution variant such as <code>icon@2x.png</code> is used if the
+	 * loader can find one. Otherwise, the image is scaled once from the
+	 * unscaled image so that painting is a 1:1 copy at the device scale.
+	 * 
+	 * @param loader
+	 *            the resource loader used to load the image
+	 * @param path
+	 *            the path of the unscaled image
+	 * @param scale
+	 *            the device scale such as 1.5 or 2.0
+	 * @return the image at the given scale. Null is returned if the unscaled
+	 *         image is not available or is still being decoded.
+	 */
+	public static ImageIcon getImage(ResourceLoader loader, String path, double scale) {
+		if (scale == 1.0)
+			return getImage(loader, path);
+
+		ClassLoader classloader = loader.getClassLoader();
+		ImageIcon icon = getImage(classloader, path, scale);
+		if (icon == null) {
+			if (loader instanceof AppResourceLoader)
+				icon = ((AppResourceLoader) loader).loadImageVariant(path, scale);
+
+			if (icon == null) {
+				ImageIcon base = getImage(loader, path);
+				if (base != null)
+					icon = ImageScaler.scale(base, scale);
+			}
+
+			if (icon != null)
+				putImage(classloader, path, scale, icon);
+		}
+		return icon;
+	}
+
+	/**
+	 * Returns the cached image for the given class loader, path, and scale.
+	 * Null is returned if the image is not in the cache.
+	 */
+	public static synchronized ImageIcon getImage(ClassLoader loader, String path, double scale) {
+		if (path == null)
+			return null;
+
+		Entry entry = (Entry) m_images.get(new Key(loader, path, scale));
+		if (entry == null) {
+			m_misses++;
+			return null;
+		}
+		m_hits++;
+		return entry.m_icon;
+	}
+
+	/**
+	 * Adds an image to the cache and evicts the least recently used images if
+	 * the cache exceeds its budget.
+	 */
+	public static synchronized void putImage(ClassLoader loader, String path, double scale, ImageIcon icon) {
+		if (path == null || icon == null)
+			return;
+
+		long bytes = (long) Math.max(icon.getIconWidth(), 1) * (long) Math.max(icon.getIconHeight(), 1) * 4;
+		Entry old = (Entry) m_images.put(new Key(loader, path, scale), new Entry(icon, bytes));
+		if (old != null)
+			m_size -= old.m_bytes;
+		m_size += bytes;
+		evict();
+	}
+
+	/**
+	 * Removes all images with the given path from the cache regardless of the
+	 * class loader or scale. The designer calls this when an image file
+	 * changes.
+	 */
+	public static synchronized void invalidate(String path) {
+		if (path == null)
+			return;
+
+		Iterator iter = m_images.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry me = (Map.Entry) iter.next();
+			if (path.equals(((Key) me.getKey()).m_path)) {
+				m_size -= ((Entry) me.getValue()).m_bytes;
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all images with the given scale from the cache. This is called
+	 * when the scale of a screen changes. Unscaled images are not affected.
+	 */
+	public static synchronized void invalidateScale(double scale) {
+		Iterator iter = m_images.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry me = (Map.Entry) iter.next();
+			if (((Key) me.getKey()).m_scale == scale) {
+				m_size -= ((Entry) me.getValue()).m_bytes;
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all images from the cache.
+	 */
+	public static synchronized void clear() {
+		m_images.clear();
+		m_size = 0;
+	}
+
+	/**
+	 * Returns the maximum number of bytes used by all cached images.
+	 */
+	public static synchronized long getMemoryBudget() {
+		return m_budget;
+	}
+
+	/**
+	 * Sets the maximum number of bytes used by all cached images.
+	 */
+	public static synchronized void setMemoryBudget(long budget) {
+		m_budget = Math.max(0, budget);
+		evict();
+	}
+
+	/**
+	 * Returns the number of bytes currently used by all cached images.
+	 */
+	public static synchronized long getMemorySize() {
+		return m_size;
+	}
+
+	/**
+	 * Returns the number of images in the cache.
+	 */
+	public static synchronized int size() {
+		return m_images.size();
+	}
+
+	/**
+	 * Returns the number of requests that found their image in the cache.
+	 */
+	public static synchronized long getHitCount() {
+		return m_hits;
+	}
+
+	/**
+	 * Returns the number of requests that did not find their image in the
+	 * cache.
+	 */
+	public static synchronized long getMissCount() {
+		return m_misses;
+	}
+
+	/**
+	 * Returns the number of images that were discarded because the cache
+	 * exceeded its budget.
+	 */
+	public static synchronized long getEvictionCount() {
+		return m_evictions;
+	}
+
+	/**
+	 * Resets the hit, miss, and eviction counts.
+	 */
+	public static synchronized void resetStatistics() {
+		m_hits = 0;
+		m_misses = 0;
+		m_evictions = 0;
+	}
+
+	/**
+	 * Removes the least recently used images until the cache is within its
+	 * budget.
+	 */
+	private static void evict() {
+		Iterator iter = m_images.entrySet().iterator();
+		while (m_size > m_budget && iter.hasNext()) {
+			Map.Entry me = (Map.Entry) iter.next();
+			m_size -= ((Entry) me.getValue()).m_bytes;
+			iter.remove();
+			m_evictions++;
+		}
+	}
+
+	/**
+	 * A cached image along with its approximate size in bytes.
+	 */
+	private static class Entry {
+		ImageIcon m_icon;
+		long m_bytes;
+
+		Entry(ImageIcon icon, long bytes) {
+			m_icon = icon;
+			m_bytes = bytes;
+		}
+	}
+
+	/**
+	 * Identifies a cached image
+	 */
+	private static class Key {
+		private ClassLoader m_loader;
+		private String m_path;
+		private double m_scale;
+
+		Key(ClassLoader loader, String path, double scale) {
+			m_loader = loader;
+			m_path = path;
+			m_scale = scale;
+		}
+
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+
+			Key key = (Key) obj;
+			return m_loader == key.m_loader && m_scale == key.m_scale && m_path.equals(key.m_path);
+		}
+
+		public int hashCode() {
+			long bits = Double.doubleToLongBits(m_scale);
+			return (System.identityHashCode(m_loader) * 31 + m_path.hashCode()) * 31 + (int) (bits ^ (bits >>> 32));
+		}
+	}
+}
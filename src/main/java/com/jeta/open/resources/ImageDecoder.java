@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.resources;
+
+import java.awt.Dimension;
+import java.awt.Image;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.ImageIcon;
+
+import com.jeta.forms.logger.FormsLogger;
+
+/**
+ * Decodes images on a small pool of background threads so that opening a
+ * form with large images does not block the event dispatch thread. The size
+ * of an image is read from the file header and an {@link AsyncImageIcon} of
+ * that size is returned immediately. Images that are smaller than a threshold
+ * and GIF images (which may be animated) are decoded synchronously.
+ * 
+ * @author Jeff Tassin
+ */
+public class ImageDecoder {
+	/**
+	 * The number of background decoder threads.
+	 */
+	public static final int POOL_SIZE = 2;
+
+	/**
+	 * The default number of pixels at or below which images are decoded
+	 * synchronously.
+	 */
+	public static final int DEFAULT_SYNCHRONOUS_THRESHOLD = 64 * 64;
+
+	/**
+	 * Flag that indicates if images are decoded in the background.
+	 */
+	private static boolean m_asynchronous = true;
+
+	/**
+	 * Images with no more pixels than this are decoded synchronously.
+	 */
+	private static int m_threshold = DEFAULT_SYNCHRONOUS_THRESHOLD;
+
+	/**
+	 * The icons waiting to be decoded. m_queue<AsyncImageIcon>
+	 */
+	private static LinkedList m_queue = new LinkedList();
+
+	/**
+	 * The number of icons that are queued or being decoded.
+	 */
+	private static int m_pending;
+
+	/**
+	 * The number of decoder threads that are running.
+	 */
+	private static int m_workers;
+
+	/**
+	 * Loads the image at the given url. If the image is large, an icon of the
+	 * correct size is returned immediately and the image is decoded in the
+	 * background.
+	 * 
+	 * @param url
+	 *            the location of the image
+	 * @return an icon for the image
+	 */
+	public static ImageIcon loadImage(URL url) {
+		if (!isAsynchronous())
+			return new ImageIcon(url);
+
+		String[] format = new String[1];
+		Dimension size = readSize(url, format);
+		if (size == null || "gif".equalsIgnoreCase(format[0]) || (long) size.width * (long) size.height <= getSynchronousThreshold())
+			return new ImageIcon(url);
+
+		AsyncImageIcon icon = new AsyncImageIcon(url, size.width, size.height);
+		synchronized (m_queue) {
+			m_queue.add(icon);
+			m_pending++;
+			if (m_workers < POOL_SIZE)
+				startWorker();
+			m_queue.notifyAll();
+		}
+		return icon;
+	}
+
+	/**
+	 * Starts a decoder thread. The caller must hold the queue lock.
+	 */
+	private static void startWorker() {
+		m_workers++;
+		Thread thread = new Thread(new Worker(), "ImageDecoder-" + m_workers);
+		thread.setDaemon(true);
+		thread.setPriority(Thread.NORM_PRIORITY - 1);
+		thread.start();
+	}
+
+	/**
+	 * Returns true if large images are decoded in the background.
+	 */
+	public static synchronized boolean isAsynchronous() {
+		return m_asynchronous;
+	}
+
+	/**
+	 * Sets the flag that indicates if large images are decoded in the
+	 * background. Applications that render forms off screen should set this
+	 * to false or call {@link #waitForAll(long)} before rendering.
+	 */
+	public static synchronized void setAsynchronous(boolean async) {
+		m_asynchronous = async;
+	}
+
+	/**
+	 * Returns the number of pixels at or below which images are decoded
+	 * synchronously.
+	 */
+	public static synchronized int getSynchronousThreshold() {
+		return m_threshold;
+	}
+
+	/**
+	 * Sets the number of pixels at or below which images are decoded
+	 * synchronously. Small images such as button icons are decoded
+	 * immediately so they never appear blank.
+	 */
+	public static synchronized void setSynchronousThreshold(int pixels) {
+		m_threshold = pixels;
+	}
+
+	/**
+	 * Waits until all queued images have been decoded.
+	 * 
+	 * @param timeout
+	 *            the maximum time to wait in milliseconds. Zero waits forever.
+	 * @return true if all images have been decoded
+	 */
+	public static boolean waitForAll(long timeout) throws InterruptedException {
+		long end = System.currentTimeMillis() + timeout;
+		synchronized (m_queue) {
+			while (m_pending > 0) {
+				if (timeout == 0) {
+					m_queue.wait();
+				}
+				else {
+					long remaining = end - System.currentTimeMillis();
+					if (remaining <= 0)
+						return false;
+					m_queue.wait(remaining);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the size and format of an image from its file header without
+	 * decoding the image.
+	 * 
+	 * @return the size of the image or null if the header cannot be read
+	 */
+	private static Dimension readSize(URL url, String[] format) {
+		InputStream in = null;
+		ImageInputStream iis = null;
+		try {
+			in = url.openStream();
+			iis = ImageIO.createImageInputStream(in);
+			if (iis == null)
+				return null;
+
+			Iterator readers = ImageIO.getImageReaders(iis);
+			if (readers.hasNext()) {
+				ImageReader reader = (ImageReader) readers.next();
+				try {
+					reader.setInput(iis, true, true);
+					format[0] = reader.getFormatName();
+					return new Dimension(reader.getWidth(0), reader.getHeight(0));
+				} finally {
+					reader.dispose();
+				}
+			}
+		} catch (Exception e) {
+			// fall through and decode synchronously
+		} finally {
+			try {
+				if (iis != null)
+					iis.close();
+				if (in != null)
+					in.close();
+			} catch (Exception e) {
+				// ignore
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Decodes the image for the given icon.
+	 */
+	private static void decode(AsyncImageIcon icon) {
+		Image image = null;
+		try {
+			image = ImageIO.read(icon.getURL());
+		} catch (Exception e) {
+			FormsLogger.severe("ImageDecoder failed: " + icon.getURL());
+			FormsLogger.severe(e);
+		}
+
+		if (image == null) {
+			/** fall back to the toolkit for formats that ImageIO cannot read */
+			ImageIcon fallback = new ImageIcon(icon.getURL());
+			if (fallback.getIconWidth() > 0)
+				image = fallback.getImage();
+			else
+				image = AppResourceLoader.getEmptyIcon().getImage();
+		}
+		icon.imageLoaded(image);
+	}
+
+	/**
+	 * A decoder thread. Takes icons from the queue and decodes them. When the
+	 * thread is interrupted or fails, it gives up its slot in the pool so
+	 * that the next icon starts a new thread.
+	 */
+	private static class Worker implements Runnable {
+		public void run() {
+			try {
+				while (true) {
+					AsyncImageIcon icon;
+					synchronized (m_queue) {
+						while (m_queue.isEmpty()) {
+							try {
+								m_queue.wait();
+							} catch (InterruptedException e) {
+								return;
+							}
+						}
+						icon = (AsyncImageIcon) m_queue.removeFirst();
+					}
+
+					try {
+						decode(icon);
+					} finally {
+						synchronized (m_queue) {
+							m_pending--;
+							m_queue.notifyAll();
+						}
+					}
+				}
+			} finally {
+				synchronized (m_queue) {
+					m_workers--;
+					/** don't leave queued icons without a thread */
+					if (!m_queue.isEmpty() && m_workers < POOL_SIZE)
+						startWorker();
+				}
+			}
+		}
+	}
+}
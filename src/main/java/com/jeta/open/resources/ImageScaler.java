@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.open.resources;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Utility methods for painting images on high resolution screens. Graphics
+ * contexts for scaled screens have a scaling transform, so an unscaled image
+ * would be scaled with every paint. Instead, images are resolved or scaled
+ * once for the device scale (see
+ * {@link ImageCache#getImage(ResourceLoader, String, double)}) and painted 1:1
+ * in device space.
+ * 
+ * @author Jeff Tassin
+ */
+public class ImageScaler {
+	/**
+	 * The last scale seen for each screen device. m_device_scales<GraphicsDevice,Double>
+	 */
+	private static HashMap m_device_scales = new HashMap();
+
+	/**
+	 * Returns the uniform device scale of the given graphics context. One is
+	 * returned if the context is not scaled or if it is rotated, sheared, or
+	 * scaled differently in x and y.
+	 */
+	public static double getDeviceScale(Graphics g) {
+		if (!(g instanceof Graphics2D))
+			return 1.0;
+
+		Graphics2D g2 = (Graphics2D) g;
+		AffineTransform tx = g2.getTransform();
+		if ((tx.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE)) != 0)
+			return 1.0;
+
+		double scale = tx.getScaleX();
+		if (scale <= 0)
+			return 1.0;
+
+		GraphicsConfiguration gc = g2.getDeviceConfiguration();
+		if (gc != null && gc.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN)
+			deviceScaleChanged(gc.getDevice(), scale);
+
+		return scale;
+	}
+
+	/**
+	 * Records the scale of a screen device. If the scale has changed (e.g.
+	 * the user changed the display scaling) and no other screen uses the old
+	 * scale, the images for the old scale are removed from the image cache.
+	 */
+	private static synchronized void deviceScaleChanged(GraphicsDevice device, double scale) {
+		Double old_scale = (Double) m_device_scales.get(device);
+		if (old_scale != null && old_scale.doubleValue() == scale)
+			return;
+
+		m_device_scales.put(device, new Double(scale));
+		if (old_scale != null && old_scale.doubleValue() != 1.0 && !m_device_scales.containsValue(old_scale))
+			ImageCache.invalidateScale(old_scale.doubleValue());
+	}
+
+	/**
+	 * Creates a copy of the given image scaled by the given factor. Bicubic
+	 * interpolation is used since this is done only once for each image and
+	 * scale.
+	 * 
+	 * @return the scaled image or null if the image is not available or is
+	 *         still being decoded.
+	 */
+	public static ImageIcon scale(ImageIcon icon, double scale) {
+		if (icon instanceof AsyncImageIcon && !((AsyncImageIcon) icon).isLoaded())
+			return null;
+
+		int width = icon.getIconWidth();
+		int height = icon.getIconHeight();
+		if (width <= 0 || height <= 0 || icon.getImage() == null)
+			return null;
+
+		int scaled_width = (int) Math.round(width * scale);
+		int scaled_height = (int) Math.round(height * scale);
+		BufferedImage img = new BufferedImage(scaled_width, scaled_height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D bg = img.createGraphics();
+		bg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		bg.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		bg.drawImage(icon.getImage(), 0, 0, scaled_width, scaled_height, null);
+		bg.dispose();
+
+		ImageIcon result = new ImageIcon(img);
+		result.setDescription(icon.getDescription());
+		return result;
+	}
+
+	/**
+	 * Paints an image that has already been scaled for the device scale of
+	 * the given graphics context. The image is copied 1:1 to the device.
+	 * 
+	 * @param c
+	 *            the component that is painting the image
+	 * @param g
+	 *            the graphics context
+	 * @param icon
+	 *            the scaled image
+	 * @param x
+	 *            the x position of the image in user space
+	 * @param y
+	 *            the y position of the image in user space
+	 * @param scale
+	 *            the device scale returned by <code>getDeviceScale</code>
+	 * @return false if the image could not be painted because it is still
+	 *         being decoded. In this case, the caller should paint the
+	 *         unscaled image.
+	 */
+	public static boolean paintIcon(Component c, Graphics g, ImageIcon icon, int x, int y, double scale) {
+		if (icon instanceof AsyncImageIcon && !((AsyncImageIcon) icon).isLoaded()) {
+			((AsyncImageIcon) icon).repaintWhenLoaded(c);
+			return false;
+		}
+
+		Graphics2D g2 = (Graphics2D) g;
+		AffineTransform tx = g2.getTransform();
+		g2.setTransform(AffineTransform.getTranslateInstance(tx.getTranslateX(), tx.getTranslateY()));
+		g2.drawImage(icon.getImage(), (int) Math.floor(x * scale), (int) Math.floor(y * scale), c);
+		g2.setTransform(tx);
+		return true;
+	}
+}
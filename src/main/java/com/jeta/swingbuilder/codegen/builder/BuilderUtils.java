@@ -298,7 +298,9 @@ public class BuilderUtils {
 		}
 		declMgr.addImport("com.jeta.forms.components.SwingComponentBindingSupport");
 		declMgr.addImport("com.jeta.forms.components.SwingComponentBindingListener");
+		declMgr.addImport("com.jeta.forms.components.CoalescingBindingUpdater");
 		declMgr.addImport("java.awt.Component");
+		declMgr.addImport("java.util.Map");
 		
 		VariableDeclaration ds = new MemberVariableDeclaration(declMgr, SwingComponentBindingSupport.class,true);
 		declMgr.addMemberVariable(ds);
@@ -344,6 +346,36 @@ public class BuilderUtils {
 		method_writer.addSegment(block);
 		declMgr.addMethod(method_writer);
 		
+		method_writer = new MethodWriter(declMgr, null, "setValues") {
+			protected String getSignature() {
+				return "public void setValues(Map<String,Object> values)";
+			}
+		};
+		block = new Block();
+		block.addCode(ds.getVariable()+".setValues(values);");
+		method_writer.addSegment(block);
+		declMgr.addMethod(method_writer);
+		
+		method_writer = new MethodWriter(declMgr, null, "getValues") {
+			protected String getSignature() {
+				return "public Map<String,Object> getValues()";
+			}
+		};
+		block = new Block();
+		block.addCode("return "+ds.getVariable()+".getValues();");
+		method_writer.addSegment(block);
+		declMgr.addMethod(method_writer);
+		
+		method_writer = new MethodWriter(declMgr, null, "createCoalescingUpdater") {
+			protected String getSignature() {
+				return "public CoalescingBindingUpdater createCoalescingUpdater(int framesPerSecond)";
+			}
+		};
+		block = new Block();
+		block.addCode("return new CoalescingBindingUpdater("+ds.getVariable()+", framesPerSecond);");
+		method_writer.addSegment(block);
+		declMgr.addMethod(method_writer);
+		
 		
 		
 		
@@ -59,7 +59,7 @@ public class PanelWriter implements BasePanelWriter {
 			FormLayout formlayout = new FormLayout(FormSpecAdapter.fixupSpecs(fm.getColumnSpecs()), FormSpecAdapter.fixupSpecs(fm.getRowSpecs()));
 			boolean canLocation = true;
 			for (int i = 0; i < formlayout.getColumnCount(); i++) {
-				FormSpecAdapter fspec = new FormSpecAdapter(formlayout.getColumnSpec(i + 1));
+				FormSpecAdapter fspec = FormSpecAdapter.getAdapter(formlayout.getColumnSpec(i + 1));
 				if(fspec.isConstantSize() && "PX".equals(fspec.getConstantUnits())){
 					
 				}else{
@@ -69,7 +69,7 @@ public class PanelWriter implements BasePanelWriter {
 			}
 			if(canLocation){
 				for (int i = 0; i < formlayout.getRowCount(); i++) {
-					FormSpecAdapter fspec = new FormSpecAdapter(formlayout.getRowSpec(i + 1));
+					FormSpecAdapter fspec = FormSpecAdapter.getAdapter(formlayout.getRowSpec(i + 1));
 					if(fspec.isConstantSize() && "PX".equals(fspec.getConstantUnits())){
 						
 					}else{
@@ -114,15 +114,20 @@ public class PanelWriter implements BasePanelWriter {
 			}
 		}
 
+		/** decode the row heights once instead of once per column */
+		double[] row_heights = new double[rowCount];
+		for (int j = 0; j < rowCount; j++) {
+			row_heights[j] = FormSpecAdapter.getAdapter(formlayout.getRowSpec(j + 1)).getConstantSize();
+		}
+
 		double x = 0, y = 0,cx = 0,cy = 0;
 		x = 0;
 		for (int i = 0; i < columnCount; i++) {
-			FormSpecAdapter cspec = new FormSpecAdapter(formlayout.getColumnSpec(i + 1));
+			FormSpecAdapter cspec = FormSpecAdapter.getAdapter(formlayout.getColumnSpec(i + 1));
 			cx = cspec.getConstantSize();
 			y = 0;
 			for (int j = 0; j < rowCount; j++) {
-				FormSpecAdapter rspec = new FormSpecAdapter(formlayout.getRowSpec(j + 1));
-				cy = rspec.getConstantSize();
+				cy = row_heights[j];
 				bounds[i][j].x = x;
 				bounds[i][j].y = y;
 				bounds[i][j].w = cx;
@@ -133,13 +138,12 @@ public class PanelWriter implements BasePanelWriter {
 		}
 		cx = 0;
 		for (int i = 0; i < columnCount; i++) {
-			FormSpecAdapter cspec = new FormSpecAdapter(formlayout.getColumnSpec(i + 1));
+			FormSpecAdapter cspec = FormSpecAdapter.getAdapter(formlayout.getColumnSpec(i + 1));
 			cx += cspec.getConstantSize();
 		}
 		cy = 0;
 		for (int j = 0; j < rowCount; j++) {
-			FormSpecAdapter rspec = new FormSpecAdapter(formlayout.getRowSpec(j + 1));
-			cy += rspec.getConstantSize();
+			cy += row_heights[j];
 		}
 		
 		StringBuffer sbPreferredSize = new StringBuffer();
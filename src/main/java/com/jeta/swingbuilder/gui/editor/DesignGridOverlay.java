@@ -114,15 +114,7 @@ public class DesignGridOverlay extends JPanel implements GridCellListener, GridO
 	 * @return the grid cell that contains the given mouse point
 	 */
 	public GridComponent getCell(Point mousePt) {
-		// @todo change to faster algorigthm if possible
-		for (int index = 0; index < m_view.getGridComponentCount(); index++) {
-			GridComponent gc = m_view.getGridComponent(index);
-			if (mousePt.x >= gc.getCellX() && (mousePt.x < gc.getCellX() + gc.getCellWidth()) && mousePt.y >= gc.getCellY()
-					&& (mousePt.y < gc.getCellY() + gc.getCellHeight())) {
-				return gc;
-			}
-		}
-		return null;
+		return m_view.getGeometry().getComponentAt(mousePt.x, mousePt.y);
 	}
 
 	/**
@@ -201,75 +193,16 @@ public class DesignGridOverlay extends JPanel implements GridCellListener, GridO
 
 		m_clip_rect.setBounds(clip_rect.x - 1, clip_rect.y - 1, clip_rect.width + 2, clip_rect.height + 2);
 		g.setClip(m_clip_rect.x, m_clip_rect.y, m_clip_rect.width, m_clip_rect.height);
-		int clip_x1 = m_clip_rect.x;
-		int clip_x2 = m_clip_rect.x + m_clip_rect.width;
-		int clip_y1 = m_clip_rect.y;
-		int clip_y2 = m_clip_rect.y + m_clip_rect.height;
 
 		/** now find the cells that need to be repainted */
-		int min_row = -1;
-		int max_row = -1;
-
-		int min_col = -1;
-		int max_col = -1;
-
-		for (int row = 1; row <= m_view.getRowCount(); row++) {
-			int row_y1 = m_view.getRowOrgY(row);
-			int row_y2 = row_y1 + m_view.getRowHeight(row);
-			if (clip_y1 >= row_y1 && clip_y1 <= row_y2) {
-				if (min_row < 0)
-					min_row = row;
-				else
-					max_row = row;
-			}
-			else if (clip_y2 >= row_y1 && clip_y2 <= row_y2) {
-				if (min_row < 0)
-					min_row = row;
-				else
-					max_row = row;
-
-			}
-			else if (row_y1 >= clip_y1 && row_y2 <= clip_y2) {
-				// here, the row is contained entirely in the clip
-				if (min_row < 0)
-					min_row = row;
-				else
-					max_row = row;
-			}
-		}
-
-		for (int col = 1; col <= m_view.getColumnCount(); col++) {
-			int col_x1 = m_view.getColumnOrgX(col);
-			int col_x2 = col_x1 + m_view.getColumnWidth(col);
-			if (clip_x1 >= col_x1 && clip_x1 <= col_x2) {
-				if (min_col < 0)
-					min_col = col;
-				else
-					max_col = col;
-			}
-			else if (clip_x2 >= col_x1 && clip_x2 <= col_x2) {
-				if (min_col < 0)
-					min_col = col;
-				else
-					max_col = col;
-
-			}
-			else if (col_x1 >= clip_x1 && col_x2 <= clip_x2) {
-				// here, the col is contained entirely in the clip
-				if (min_col < 0)
-					min_col = col;
-				else
-					max_col = col;
-			}
-		}
-
-		if (min_row < 0 || min_col < 0)
+		Rectangle cells = m_view.getGeometry().cellsIntersecting(m_clip_rect);
+		if (cells == null)
 			return;
 
-		if (max_row < 0)
-			max_row = min_row;
-		if (max_col < 0)
-			max_col = min_col;
+		int min_row = cells.y;
+		int max_row = cells.y + cells.height - 1;
+		int min_col = cells.x;
+		int max_col = cells.x + cells.width - 1;
 
 		if (isGridVisible()) {
 			for (int row = min_row; row <= max_row; row++) {
@@ -22,6 +22,7 @@ import java.awt.Component;
 import java.io.File;
 
 import com.jeta.forms.store.properties.IconProperty;
+import com.jeta.open.resources.ImageCache;
 import com.jeta.swingbuilder.gui.filechooser.FileChooserConfig;
 import com.jeta.swingbuilder.gui.filechooser.TSFileChooserFactory;
 import com.jeta.swingbuilder.gui.filechooser.TSFileFilter;
@@ -43,6 +44,8 @@ public class ImageUtils {
 
 		File f = TSFileChooserFactory.showOpenDialog(fcc);
 		if (f != null) {
+			/** the file may have changed since it was last loaded */
+			ImageCache.invalidate(f.getPath());
 			iprop.setRelativePath(f.getPath());
 			iprop.setDescription(f.getName());
 			bresult = true;
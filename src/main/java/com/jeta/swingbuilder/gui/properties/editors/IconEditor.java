@@ -30,6 +30,7 @@ import javax.swing.UIManager;
 
 import com.jeta.forms.store.properties.IconProperty;
 import com.jeta.open.i18n.I18N;
+import com.jeta.open.resources.ImageCache;
 import com.jeta.swingbuilder.gui.filechooser.FileChooserConfig;
 import com.jeta.swingbuilder.gui.filechooser.TSFileChooserFactory;
 import com.jeta.swingbuilder.gui.filechooser.TSFileFilter;
@@ -68,6 +69,8 @@ public class IconEditor extends JETAPropertyEditor {
 		if (f != null) {
 			try {
 				String relativepath = f.getPath();
+				/** the file may have changed since it was last loaded */
+				ImageCache.invalidate(relativepath);
 				IconProperty iprop = new IconProperty();
 				iprop.setValue((IconProperty) getValue());
 				iprop.setRelativePath(relativepath);
@@ -33,7 +33,6 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +59,7 @@ import com.jeta.forms.store.xml.writer.XMLWriter;
 import com.jeta.jgoodies.forms.layout.CellConstraints;
 import com.jeta.open.i18n.I18N;
 import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.resources.ImageCache;
 import com.jeta.swingbuilder.codegen.builder.SourceBuilder;
 import com.jeta.swingbuilder.gui.commands.CommandUtils;
 import com.jeta.swingbuilder.gui.commands.SetConstraintsCommand;
@@ -84,8 +84,6 @@ public class FormDesignerUtils {
 
 	private static Object[] ENV_VARS = null;
 
-	/** cache of images */
-	private static Hashtable m_imagecache = new Hashtable();
 	
 	private static Map<String,Object> m_formprops = new HashMap<String, Object>();  
 
@@ -189,26 +187,26 @@ public class FormDesignerUtils {
 
 	/**
 	 * Loads an image from disk. The image is loaded relative to the application
-	 * directory.
-	 * 
-	 * @todo we need to cache these images
+	 * directory. Images are shared through the {@link ImageCache}.
 	 */
 	public static ImageIcon loadImage(String imageName) {
 		if (imageName != null) {
-			ImageIcon icon = (ImageIcon) m_imagecache.get(imageName);
-			if (icon == null) {
-				try {
-					ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
-					assert (loader != null);
+			ImageIcon icon = null;
+			try {
+				ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
+				assert (loader != null);
+				ClassLoader classloader = loader.getClassLoader();
+				icon = ImageCache.getImage(classloader, imageName, 1);
+				if (icon == null) {
 					icon = loader.loadImage(imageName);
-				} catch (Exception e) {
-					e.printStackTrace();
+					ImageCache.putImage(classloader, imageName, 1, icon);
 				}
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
 
-				if (icon == null) {
-					icon = new ImageIcon();
-				}
-				m_imagecache.put(imageName, icon);
+			if (icon == null) {
+				icon = new ImageIcon();
 			}
 			return icon;
 		}
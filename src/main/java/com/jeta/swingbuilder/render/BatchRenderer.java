@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.render;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Renders all forms in a directory tree into PNG images. The forms are
+ * processed by a pool of worker threads. Each worker has its own FormRenderer
+ * and loads, stores and compares its forms in parallel with the other workers.
+ * Only building and painting the components is serialized (see FormRenderer).
+ * <p>
+ * 
+ * The image of a form is stored in the output directory at the same relative
+ * path as the form with a <code>.png</code> extension. If a baseline directory
+ * is set, each image is compared with the image at the same path in the
+ * baseline directory. A diff image (<code>.diff.png</code>) is stored for
+ * images that do not match.
+ * 
+ * @author Jeff Tassin
+ */
+public class BatchRenderer {
+	/**
+	 * The status of a rendered form
+	 */
+	public static final int RENDERED = 0;
+	public static final int MATCHED = 1;
+	public static final int DIFFERENT = 2;
+	public static final int NO_BASELINE = 3;
+	public static final int FAILED = 4;
+
+	private static final String[] STATUS_NAMES = { "rendered", "matched", "different", "no baseline", "failed" };
+
+	/**
+	 * The directory with the forms
+	 */
+	private File m_input_dir;
+
+	/**
+	 * The directory the images are stored in
+	 */
+	private File m_output_dir;
+
+	/**
+	 * The directory with the baseline images. Null if the images should not
+	 * be compared.
+	 */
+	private File m_baseline_dir;
+
+	/**
+	 * The tolerance used for comparing images (see ImageComparison)
+	 */
+	private int m_tolerance;
+
+	/**
+	 * The number of worker threads
+	 */
+	private int m_threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The renderer whose settings (size, scale, locale, background) are used
+	 * by the workers.
+	 */
+	private FormRenderer m_settings = new FormRenderer();
+
+	/**
+	 * The forms that have not been rendered yet. m_queue<File>
+	 */
+	private LinkedList m_queue = new LinkedList();
+
+	/**
+	 * The results of the rendered forms. m_results<Result>
+	 */
+	private LinkedList m_results = new LinkedList();
+
+	/**
+	 * Creates a batch renderer for the forms in the given directory.
+	 * 
+	 * @param inputDir
+	 *            the directory tree that contains the forms
+	 * @param outputDir
+	 *            the directory the images are stored in
+	 */
+	public BatchRenderer(File inputDir, File outputDir) {
+		m_input_dir = inputDir;
+		m_output_dir = outputDir;
+	}
+
+	/**
+	 * Returns the renderer whose settings are used for all forms. Change the
+	 * size, scale, locale or background on this object before calling run.
+	 */
+	public FormRenderer getSettings() {
+		return m_settings;
+	}
+
+	public void setBaselineDirectory(File dir) {
+		m_baseline_dir = dir;
+	}
+
+	public void setTolerance(int tolerance) {
+		m_tolerance = tolerance;
+	}
+
+	public void setThreadCount(int threads) {
+		m_threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Renders all forms and waits until they are done.
+	 * 
+	 * @return the results sorted by path
+	 */
+	public Result[] run() throws InterruptedException {
+		FormRenderer.initialize();
+
+		LinkedList files = new LinkedList();
+		findForms(m_input_dir, "", files);
+		synchronized (this) {
+			m_queue.addAll(files);
+			m_results.clear();
+		}
+
+		int threads = Math.min(m_threads, Math.max(1, files.size()));
+		Worker[] workers = new Worker[threads];
+		for (int index = 0; index < workers.length; index++) {
+			workers[index] = new Worker(index);
+			workers[index].start();
+		}
+		for (int index = 0; index < workers.length; index++)
+			workers[index].join();
+
+		Result[] results;
+		synchronized (this) {
+			results = (Result[]) m_results.toArray(new Result[m_results.size()]);
+		}
+		Arrays.sort(results, new Comparator() {
+			public int compare(Object o1, Object o2) {
+				return ((Result) o1).getPath().compareTo(((Result) o2).getPath());
+			}
+		});
+		return results;
+	}
+
+	/**
+	 * Adds the relative paths of all form files (*.jfrm and *.xml) in the
+	 * given directory tree to the list.
+	 */
+	private static void findForms(File dir, String prefix, LinkedList files) {
+		File[] children = dir.listFiles();
+		if (children == null)
+			return;
+
+		Arrays.sort(children);
+		for (int index = 0; index < children.length; index++) {
+			File child = children[index];
+			String path = prefix + child.getName();
+			if (child.isDirectory())
+				findForms(child, path + "/", files);
+			else if (isFormFile(child.getName()))
+				files.add(path);
+		}
+	}
+
+	/**
+	 * @return the name of the given status
+	 */
+	public static String getStatusName(int status) {
+		return STATUS_NAMES[status];
+	}
+
+	/**
+	 * @return true if the file name has a form extension
+	 */
+	public static boolean isFormFile(String name) {
+		String lname = name.toLowerCase();
+		return lname.endsWith(".jfrm") || lname.endsWith(".xml");
+	}
+
+	/**
+	 * @return the next form to render or null if all forms have been taken
+	 */
+	private synchronized String nextForm() {
+		return m_queue.isEmpty() ? null : (String) m_queue.removeFirst();
+	}
+
+	private synchronized void addResult(Result result) {
+		m_results.add(result);
+	}
+
+	/**
+	 * Renders a single form and compares it with the baseline.
+	 */
+	private Result renderForm(FormRenderer renderer, String path) {
+		Result result = new Result(path);
+		long start = System.currentTimeMillis();
+		try {
+			BufferedImage image = renderer.render(renderer.loadForm(new File(m_input_dir, path)));
+			result.m_width = image.getWidth();
+			result.m_height = image.getHeight();
+
+			String image_path = getImagePath(path);
+			writeImage(image, new File(m_output_dir, image_path + ".png"));
+			result.m_status = RENDERED;
+
+			if (m_baseline_dir != null) {
+				File baseline_file = new File(m_baseline_dir, image_path + ".png");
+				BufferedImage baseline = baseline_file.isFile() ? ImageIO.read(baseline_file) : null;
+				if (baseline == null) {
+					result.m_status = NO_BASELINE;
+				}
+				else {
+					ImageComparison cmp = ImageComparison.compare(baseline, image, m_tolerance);
+					result.m_diff_pixels = cmp.getDiffPixels();
+					result.m_max_delta = cmp.getMaxDelta();
+					if (cmp.isMatch()) {
+						result.m_status = MATCHED;
+					}
+					else {
+						result.m_status = DIFFERENT;
+						writeImage(cmp.getDiffImage(), new File(m_output_dir, image_path + ".diff.png"));
+					}
+				}
+			}
+		} catch (Throwable e) {
+			result.m_status = FAILED;
+			result.m_error = String.valueOf(e);
+		}
+		result.m_time = System.currentTimeMillis() - start;
+		return result;
+	}
+
+	/**
+	 * @return the path of the image for the given form path without the png
+	 *         extension
+	 */
+	public static String getImagePath(String path) {
+		int pos = path.lastIndexOf('.');
+		return (pos > path.lastIndexOf('/')) ? path.substring(0, pos) : path;
+	}
+
+	/**
+	 * Stores an image as a PNG file. The parent directories are created.
+	 */
+	static void writeImage(BufferedImage image, File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		if (!ImageIO.write(image, "png", file))
+			throw new IOException("No PNG writer available");
+	}
+
+	/**
+	 * Writes an HTML report of the given results. Forms that differ from the
+	 * baseline or failed are listed first. The report links to the images in
+	 * the output directory, so it should be stored in that directory.
+	 */
+	public static void writeReport(Result[] results, File file) throws IOException {
+		PrintWriter writer = new PrintWriter(new FileWriter(file));
+		try {
+			int[] counts = new int[STATUS_NAMES.length];
+			for (int index = 0; index < results.length; index++)
+				counts[results[index].getStatus()]++;
+
+			writer.println("<html><head><title>Form images</title></head><body>");
+			writer.print("<p>" + results.length + " forms:");
+			for (int status = 0; status < counts.length; status++) {
+				if (counts[status] > 0)
+					writer.print(" " + counts[status] + " " + STATUS_NAMES[status]);
+			}
+			writer.println("</p>");
+
+			writer.println("<table border=\"1\">");
+			writer.println("<tr><th>Form</th><th>Status</th><th>Size</th><th>Differing pixels</th><th>Image</th><th>Diff</th></tr>");
+			for (int pass = 0; pass < 2; pass++) {
+				for (int index = 0; index < results.length; index++) {
+					Result result = results[index];
+					boolean problem = (result.getStatus() == DIFFERENT || result.getStatus() == FAILED);
+					if (problem != (pass == 0))
+						continue;
+
+					String image_path = escape(getImagePath(result.getPath()));
+					writer.print("<tr><td>" + escape(result.getPath()) + "</td><td>" + STATUS_NAMES[result.getStatus()]);
+					if (result.getError() != null)
+						writer.print(": " + escape(result.getError()));
+					writer.print("</td><td>" + result.getWidth() + "x" + result.getHeight() + "</td><td>" + result.getDiffPixels() + "</td>");
+					if (result.getStatus() == FAILED)
+						writer.print("<td></td>");
+					else
+						writer.print("<td><a href=\"" + image_path + ".png\">image</a></td>");
+					if (result.getStatus() == DIFFERENT)
+						writer.print("<td><a href=\"" + image_path + ".diff.png\"><img src=\"" + image_path + ".diff.png\" height=\"100\"></a></td>");
+					else
+						writer.print("<td></td>");
+					writer.println("</tr>");
+				}
+			}
+			writer.println("</table></body></html>");
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static String escape(String text) {
+		StringBuffer sbuff = new StringBuffer();
+		for (int index = 0; index < text.length(); index++) {
+			char c = text.charAt(index);
+			if (c == '<')
+				sbuff.append("&lt;");
+			else if (c == '>')
+				sbuff.append("&gt;");
+			else if (c == '&')
+				sbuff.append("&amp;");
+			else if (c == '"')
+				sbuff.append("&quot;");
+			else
+				sbuff.append(c);
+		}
+		return sbuff.toString();
+	}
+
+	/**
+	 * Renders forms from the queue until it is empty.
+	 */
+	private class Worker extends Thread {
+		private FormRenderer m_renderer = new FormRenderer();
+
+		Worker(int index) {
+			super("FormRenderer-" + index);
+			setDaemon(true);
+			m_renderer.setSize(m_settings.getWidth(), m_settings.getHeight());
+			m_renderer.setScale(m_settings.getScale());
+			m_renderer.setLocale(m_settings.getLocale());
+			m_renderer.setBackground(m_settings.getBackground());
+		}
+
+		public void run() {
+			String path = nextForm();
+			while (path != null) {
+				addResult(renderForm(m_renderer, path));
+				path = nextForm();
+			}
+		}
+	}
+
+	/**
+	 * The result of rendering a single form.
+	 */
+	public static class Result {
+		private String m_path;
+		private int m_status = FAILED;
+		private String m_error;
+		private int m_width;
+		private int m_height;
+		private int m_diff_pixels;
+		private int m_max_delta;
+		private long m_time;
+
+		Result(String path) {
+			m_path = path;
+		}
+
+		/**
+		 * @return the path of the form relative to the input directory
+		 */
+		public String getPath() {
+			return m_path;
+		}
+
+		/**
+		 * @return the status: RENDERED, MATCHED, DIFFERENT, NO_BASELINE or
+		 *         FAILED
+		 */
+		public int getStatus() {
+			return m_status;
+		}
+
+		/**
+		 * @return the name of the status
+		 */
+		public String getStatusName() {
+			return STATUS_NAMES[m_status];
+		}
+
+		/**
+		 * @return the error message if the form could not be rendered
+		 */
+		public String getError() {
+			return m_error;
+		}
+
+		public int getWidth() {
+			return m_width;
+		}
+
+		public int getHeight() {
+			return m_height;
+		}
+
+		/**
+		 * @return the number of pixels that differ from the baseline
+		 */
+		public int getDiffPixels() {
+			return m_diff_pixels;
+		}
+
+		/**
+		 * @return the largest difference of a channel from the baseline
+		 */
+		public int getMaxDelta() {
+			return m_max_delta;
+		}
+
+		/**
+		 * @return the time to load, render, store and compare the form in
+		 *         milliseconds
+		 */
+		public long getTime() {
+			return m_time;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.render;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.ComponentOrientation;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Locale;
+
+import com.jeta.forms.gui.common.FormException;
+import com.jeta.forms.gui.form.FormComponent;
+import com.jeta.forms.gui.formmgr.FormManagerUtils;
+import com.jeta.forms.store.memento.FormMemento;
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.resources.ImageDecoder;
+import com.jeta.swingbuilder.app.MemoryUserProperties;
+import com.jeta.swingbuilder.interfaces.userprops.TSUserProperties;
+
+/**
+ * Renders forms into images without showing a window. A form is loaded, laid
+ * out at a given size and painted into a <code>BufferedImage</code>. This is
+ * used to create thumbnails of forms and for visual regression tests. The
+ * renderer works in a headless AWT environment.
+ * <p>
+ * 
+ * Loading a form can be done on any thread. Building, laying out and painting
+ * the components is serialized across all renderers because the look and feel
+ * shares UI delegates between components and these are not thread safe.
+ * 
+ * @author Jeff Tassin
+ */
+public class FormRenderer {
+	/**
+	 * The lock used to build, lay out and paint forms.
+	 */
+	private static final Object RENDER_LOCK = new Object();
+
+	/**
+	 * The size of the buffer used to read form files.
+	 */
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	/**
+	 * The size of the rendered form. If zero, the preferred size of the form
+	 * is used.
+	 */
+	private int m_width;
+	private int m_height;
+
+	/**
+	 * The scale of the image. For example, 0.25 for thumbnails or 2.0 for a
+	 * high resolution screen.
+	 */
+	private double m_scale = 1.0;
+
+	/**
+	 * The locale of the form. Sets the component orientation. If null, the
+	 * default locale is used.
+	 */
+	private Locale m_locale;
+
+	/**
+	 * The color used to fill the image before painting. If null, the image is
+	 * transparent where the form is not opaque.
+	 */
+	private Color m_background;
+
+	/**
+	 * Creates a renderer that renders forms at their preferred size.
+	 */
+	public FormRenderer() {
+	}
+
+	/**
+	 * Registers the components needed to load forms without starting the
+	 * designer. Images are decoded synchronously so they are painted in the
+	 * first pass.
+	 */
+	public static void initialize() {
+		synchronized (RENDER_LOCK) {
+			if (JETARegistry.lookup(TSUserProperties.COMPONENT_ID) == null)
+				JETARegistry.rebind(TSUserProperties.COMPONENT_ID, new MemoryUserProperties());
+
+			com.jeta.forms.defaults.DefaultInitializer.initialize();
+			ImageDecoder.setAsynchronous(false);
+		}
+	}
+
+	/**
+	 * Sets the size the form is laid out at. If either value is zero or less,
+	 * the preferred size of the form is used.
+	 */
+	public void setSize(int width, int height) {
+		m_width = width;
+		m_height = height;
+	}
+
+	public int getWidth() {
+		return m_width;
+	}
+
+	public int getHeight() {
+		return m_height;
+	}
+
+	/**
+	 * Sets the scale of the rendered image. The form is laid out at its
+	 * unscaled size.
+	 */
+	public void setScale(double scale) {
+		if (scale <= 0)
+			throw new IllegalArgumentException("Invalid scale: " + scale);
+		m_scale = scale;
+	}
+
+	public double getScale() {
+		return m_scale;
+	}
+
+	public void setLocale(Locale locale) {
+		m_locale = locale;
+	}
+
+	public Locale getLocale() {
+		return m_locale;
+	}
+
+	public void setBackground(Color c) {
+		m_background = c;
+	}
+
+	public Color getBackground() {
+		return m_background;
+	}
+
+	/**
+	 * Loads the form from the given file. This can be called on any thread.
+	 */
+	public FormMemento loadForm(File file) throws FormException {
+		try {
+			InputStream is = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+			try {
+				return FormManagerUtils.loadForm(is);
+			} finally {
+				is.close();
+			}
+		} catch (Exception e) {
+			if (e instanceof FormException)
+				throw (FormException) e;
+
+			throw new FormException(e);
+		}
+	}
+
+	/**
+	 * Loads and renders the form in the given file.
+	 */
+	public BufferedImage render(File file) throws FormException {
+		return render(loadForm(file));
+	}
+
+	/**
+	 * Renders the given form. The memento should not be used again because it
+	 * is modified if embedded forms are flattened.
+	 * 
+	 * @param memento
+	 *            the form to render
+	 * @return the image of the form
+	 */
+	public BufferedImage render(FormMemento memento) throws FormException {
+		synchronized (RENDER_LOCK) {
+			FormComponent fc = FormManagerUtils.createForm(memento);
+			if (m_locale != null) {
+				fc.setLocale(m_locale);
+				fc.applyComponentOrientation(ComponentOrientation.getOrientation(m_locale));
+			}
+
+			Dimension size;
+			if (m_width > 0 && m_height > 0)
+				size = new Dimension(m_width, m_height);
+			else
+				size = fc.getPreferredSize();
+
+			size.width = Math.max(1, size.width);
+			size.height = Math.max(1, size.height);
+			fc.setSize(size);
+			layoutTree(fc);
+
+			int img_width = Math.max(1, (int) Math.ceil(size.width * m_scale));
+			int img_height = Math.max(1, (int) Math.ceil(size.height * m_scale));
+			BufferedImage image = new BufferedImage(img_width, img_height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = image.createGraphics();
+			try {
+				if (m_background != null) {
+					g.setColor(m_background);
+					g.fillRect(0, 0, img_width, img_height);
+				}
+				if (m_scale != 1.0)
+					g.scale(m_scale, m_scale);
+				g.setClip(0, 0, size.width, size.height);
+				fc.paint(g);
+			} finally {
+				g.dispose();
+			}
+			return image;
+		}
+	}
+
+	/**
+	 * Lays out the given container and all of its children. The form is not
+	 * displayed, so it is never validated by the toolkit.
+	 */
+	private static void layoutTree(Container cc) {
+		cc.doLayout();
+		for (int index = 0; index < cc.getComponentCount(); index++) {
+			Component comp = cc.getComponent(index);
+			if (comp instanceof Container)
+				layoutTree((Container) comp);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.render;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The result of a pixel by pixel comparison of a rendered form with a
+ * baseline image. Two pixels match if no color or alpha channel differs by
+ * more than the tolerance. The comparison also creates a diff image that shows
+ * the matching pixels faded and the differing pixels in red.
+ * 
+ * @author Jeff Tassin
+ */
+public class ImageComparison {
+	/**
+	 * The color of differing pixels in the diff image
+	 */
+	private static final int DIFF_COLOR = 0xFFFF0000;
+
+	/**
+	 * The number of pixels that differ. If the images have different sizes,
+	 * the pixels outside of the common area are counted as differing.
+	 */
+	private int m_diff_pixels;
+
+	/**
+	 * The largest difference of a single channel
+	 */
+	private int m_max_delta;
+
+	/**
+	 * True if the images have different sizes
+	 */
+	private boolean m_size_changed;
+
+	/**
+	 * The diff image. Null if the images match.
+	 */
+	private BufferedImage m_diff_image;
+
+	private ImageComparison() {
+	}
+
+	/**
+	 * Compares two images.
+	 * 
+	 * @param expected
+	 *            the baseline image
+	 * @param actual
+	 *            the rendered image
+	 * @param tolerance
+	 *            the largest difference of a color or alpha channel (0-255)
+	 *            that is still counted as a match
+	 * @return the result of the comparison
+	 */
+	public static ImageComparison compare(BufferedImage expected, BufferedImage actual, int tolerance) {
+		ImageComparison result = new ImageComparison();
+		int width = Math.max(expected.getWidth(), actual.getWidth());
+		int height = Math.max(expected.getHeight(), actual.getHeight());
+		result.m_size_changed = (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight());
+
+		int[] diff = new int[width * height];
+		int[] expected_row = new int[width];
+		int[] actual_row = new int[width];
+		for (int y = 0; y < height; y++) {
+			int expected_width = (y < expected.getHeight()) ? expected.getWidth() : 0;
+			int actual_width = (y < actual.getHeight()) ? actual.getWidth() : 0;
+			if (expected_width > 0)
+				expected.getRGB(0, y, expected_width, 1, expected_row, 0, width);
+			if (actual_width > 0)
+				actual.getRGB(0, y, actual_width, 1, actual_row, 0, width);
+
+			for (int x = 0; x < width; x++) {
+				int offset = y * width + x;
+				if (x >= expected_width || x >= actual_width) {
+					diff[offset] = DIFF_COLOR;
+					result.m_diff_pixels++;
+					continue;
+				}
+
+				int delta = maxDelta(expected_row[x], actual_row[x]);
+				if (delta > result.m_max_delta)
+					result.m_max_delta = delta;
+
+				if (delta > tolerance) {
+					diff[offset] = DIFF_COLOR;
+					result.m_diff_pixels++;
+				}
+				else {
+					diff[offset] = fade(actual_row[x]);
+				}
+			}
+		}
+
+		if (result.m_diff_pixels > 0) {
+			result.m_diff_image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			result.m_diff_image.setRGB(0, 0, width, height, diff, 0, width);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the largest difference of the color and alpha channels of two
+	 *         pixels
+	 */
+	private static int maxDelta(int rgb1, int rgb2) {
+		if (rgb1 == rgb2)
+			return 0;
+
+		int delta = 0;
+		for (int shift = 0; shift < 32; shift += 8) {
+			int d = Math.abs(((rgb1 >>> shift) & 0xFF) - ((rgb2 >>> shift) & 0xFF));
+			if (d > delta)
+				delta = d;
+		}
+		return delta;
+	}
+
+	/**
+	 * @return a light gray version of the given pixel used for matching pixels
+	 *         in the diff image
+	 */
+	private static int fade(int rgb) {
+		int gray = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+		gray = 192 + gray / 4;
+		return 0xFF000000 | (gray << 16) | (gray << 8) | gray;
+	}
+
+	/**
+	 * @return true if all pixels match and the images have the same size
+	 */
+	public boolean isMatch() {
+		return m_diff_pixels == 0;
+	}
+
+	/**
+	 * @return the number of pixels that differ
+	 */
+	public int getDiffPixels() {
+		return m_diff_pixels;
+	}
+
+	/**
+	 * @return the largest difference of a color or alpha channel in the
+	 *         common area of the images
+	 */
+	public int getMaxDelta() {
+		return m_max_delta;
+	}
+
+	/**
+	 * @return true if the images have different sizes
+	 */
+	public boolean isSizeChanged() {
+		return m_size_changed;
+	}
+
+	/**
+	 * @return the diff image or null if the images match
+	 */
+	public BufferedImage getDiffImage() {
+		return m_diff_image;
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2004 JETA Software, Inc.  All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, 
+ * are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JETA Software nor the names of its contributors may 
+ *    be used to endorse or promote products derived from this software without 
+ *    specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE 
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+ * INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeta.swingbuilder.render;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Locale;
+import java.util.StringTokenizer;
+
+import javax.imageio.ImageIO;
+
+import com.jeta.open.registry.JETARegistry;
+import com.jeta.open.resources.ResourceLoader;
+
+/**
+ * Renders forms into PNG images from the command line without showing a
+ * window. If the input is a directory, all forms in the directory tree are
+ * rendered by a BatchRenderer.
+ * <p>
+ * 
+ * Usage: <code>RenderRunner -in path -out path [options]</code>
+ * <ul>
+ * <li>-in path the form file or a directory of forms
+ * <li>-out path the PNG file or the output directory
+ * <li>-size 800x600 the size the forms are laid out at. The default is the
+ * preferred size of each form.
+ * <li>-scale 0.25 the scale of the images, e.g. for thumbnails
+ * <li>-locale de_DE the locale of the forms
+ * <li>-background ffffff the color used to fill the images
+ * <li>-classpath dir1:dir2 the paths used to load images and linked forms
+ * <li>-threads 8 the number of worker threads for a directory
+ * <li>-baseline path the baseline image or directory of baseline images
+ * <li>-tolerance 0 the channel difference that still counts as a match
+ * <li>-report file write an HTML report of a directory to the file
+ * </ul>
+ * The runner exits with status 1 if a form could not be rendered or differs
+ * from its baseline image.
+ * 
+ * @author Jeff Tassin
+ */
+public class RenderRunner {
+	private File m_input;
+	private File m_output;
+	private File m_baseline;
+	private File m_report;
+	private String m_classpath;
+	private int m_width;
+	private int m_height;
+	private double m_scale = 1.0;
+	private Locale m_locale;
+	private Color m_background;
+	private int m_threads = Runtime.getRuntime().availableProcessors();
+	private int m_tolerance;
+
+	public static void main(String[] args) {
+		if (System.getProperty("java.awt.headless") == null)
+			System.setProperty("java.awt.headless", "true");
+
+		try {
+			RenderRunner runner = new RenderRunner();
+			runner.parseArgs(args);
+			System.exit(runner.run() ? 0 : 1);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * Parses the command line options
+	 */
+	private void parseArgs(String[] args) {
+		for (int index = 0; index < args.length; index++) {
+			String arg = args[index];
+			if (index + 1 >= args.length)
+				throw new IllegalArgumentException("Missing value for option: " + arg);
+
+			String value = args[++index];
+			try {
+				if (arg.equals("-in"))
+					m_input = new File(value);
+				else if (arg.equals("-out"))
+					m_output = new File(value);
+				else if (arg.equals("-size"))
+					parseSize(value);
+				else if (arg.equals("-scale"))
+					m_scale = Double.parseDouble(value);
+				else if (arg.equals("-locale"))
+					m_locale = parseLocale(value);
+				else if (arg.equals("-background"))
+					m_background = new Color(Integer.parseInt(value.startsWith("#") ? value.substring(1) : value, 16));
+				else if (arg.equals("-classpath"))
+					m_classpath = value;
+				else if (arg.equals("-threads"))
+					m_threads = Math.max(1, Integer.parseInt(value));
+				else if (arg.equals("-baseline"))
+					m_baseline = new File(value);
+				else if (arg.equals("-tolerance"))
+					m_tolerance = Integer.parseInt(value);
+				else if (arg.equals("-report"))
+					m_report = new File(value);
+				else
+					throw new IllegalArgumentException("Unknown option: " + arg);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid value for option " + arg + ": " + value);
+			}
+		}
+
+		if (m_input == null || m_output == null)
+			throw new IllegalArgumentException("Usage: RenderRunner -in path -out path [options]");
+		if (m_scale <= 0)
+			throw new IllegalArgumentException("Invalid value for option -scale: " + m_scale);
+	}
+
+	private void parseSize(String value) {
+		int pos = value.indexOf('x');
+		if (pos < 0)
+			throw new NumberFormatException(value);
+		m_width = Integer.parseInt(value.substring(0, pos).trim());
+		m_height = Integer.parseInt(value.substring(pos + 1).trim());
+	}
+
+	private static Locale parseLocale(String value) {
+		StringTokenizer st = new StringTokenizer(value, "_-");
+		String language = st.hasMoreTokens() ? st.nextToken() : "";
+		String country = st.hasMoreTokens() ? st.nextToken() : "";
+		String variant = st.hasMoreTokens() ? st.nextToken() : "";
+		return new Locale(language, country, variant);
+	}
+
+	/**
+	 * Renders the form or the directory of forms.
+	 * 
+	 * @return false if a form failed or differs from its baseline
+	 */
+	private boolean run() throws Exception {
+		FormRenderer.initialize();
+		if (m_classpath != null)
+			setClassPath(m_classpath);
+
+		if (m_input.isDirectory())
+			return renderDirectory();
+		else
+			return renderFile();
+	}
+
+	/**
+	 * Sets the class loader used to load images and linked forms.
+	 */
+	private static void setClassPath(String classpath) throws Exception {
+		StringTokenizer st = new StringTokenizer(classpath, File.pathSeparator);
+		URL[] urls = new URL[st.countTokens()];
+		for (int index = 0; index < urls.length; index++)
+			urls[index] = new File(st.nextToken()).toURI().toURL();
+
+		ResourceLoader loader = (ResourceLoader) JETARegistry.lookup(ResourceLoader.COMPONENT_ID);
+		loader.setClassLoader(new URLClassLoader(urls, RenderRunner.class.getClassLoader()));
+	}
+
+	private void configure(FormRenderer renderer) {
+		renderer.setSize(m_width, m_height);
+		renderer.setScale(m_scale);
+		renderer.setLocale(m_locale);
+		renderer.setBackground(m_background);
+	}
+
+	private boolean renderFile() throws Exception {
+		FormRenderer renderer = new FormRenderer();
+		configure(renderer);
+		BufferedImage image = renderer.render(m_input);
+		BatchRenderer.writeImage(image, m_output);
+		System.out.println(m_input + " -> " + m_output + " " + image.getWidth() + "x" + image.getHeight());
+
+		if (m_baseline != null) {
+			BufferedImage baseline = ImageIO.read(m_baseline);
+			if (baseline == null)
+				throw new IllegalArgumentException("Cannot read baseline image: " + m_baseline);
+
+			ImageComparison cmp = ImageComparison.compare(baseline, image, m_tolerance);
+			if (!cmp.isMatch()) {
+				String diff_path = BatchRenderer.getImagePath(m_output.getPath()) + ".diff.png";
+				BatchRenderer.writeImage(cmp.getDiffImage(), new File(diff_path));
+				System.out.println("different: " + cmp.getDiffPixels() + " pixels, max delta " + cmp.getMaxDelta() + " -> " + diff_path);
+				return false;
+			}
+			System.out.println("matched");
+		}
+		return true;
+	}
+
+	private boolean renderDirectory() throws Exception {
+		BatchRenderer batch = new BatchRenderer(m_input, m_output);
+		configure(batch.getSettings());
+		batch.setThreadCount(m_threads);
+		batch.setBaselineDirectory(m_baseline);
+		batch.setTolerance(m_tolerance);
+
+		long start = System.currentTimeMillis();
+		BatchRenderer.Result[] results = batch.run();
+		long elapsed = System.currentTimeMillis() - start;
+
+		boolean passed = true;
+		int[] counts = new int[BatchRenderer.FAILED + 1];
+		for (int index = 0; index < results.length; index++) {
+			BatchRenderer.Result result = results[index];
+			counts[result.getStatus()]++;
+			if (result.getStatus() == BatchRenderer.DIFFERENT || result.getStatus() == BatchRenderer.FAILED) {
+				passed = false;
+				System.out.println(result.getPath() + ": " + result.getStatusName()
+						+ (result.getError() == null ? " (" + result.getDiffPixels() + " pixels)" : " " + result.getError()));
+			}
+		}
+
+		StringBuffer sbuff = new StringBuffer();
+		sbuff.append(results.length).append(" forms in ").append(elapsed).append(" ms:");
+		for (int status = 0; status < counts.length; status++) {
+			if (counts[status] > 0)
+				sbuff.append(' ').append(counts[status]).append(' ').append(BatchRenderer.getStatusName(status));
+		}
+		System.out.println(sbuff.toString());
+
+		if (m_report != null) {
+			BatchRenderer.writeReport(results, m_report);
+			System.out.println("report: " + m_report);
+		}
+		return passed;
+	}
+}